@@ -1,12 +1,18 @@
 package com.ispydeer.WorkPlanner.controllers;
 
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryBulkItemDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryBulkResultDto;
 import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
 import com.ispydeer.WorkPlanner.services.PlanEntryService;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
+import com.ispydeer.WorkPlanner.services.statements.StatementBudget;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,14 +25,27 @@ public class PlanEntryController {
     }
 
     /**
-     * Retrieves all plan entries
+     * Retrieves a page of all plan entries sorted by start time, optionally limited to those
+     * overlapping a time window.
      *
-     * @return a list of PlanEntryDto objects and HTTP 200 OK status.
+     * @param from      the inclusive start of the time window, given together with {@code to}.
+     * @param to        the exclusive end of the time window, given together with {@code from}.
+     * @param pageToken the token of the page to retrieve, taken from the previous page's response header.
+     * @param size      the maximum number of plan entries on the page.
+     * @return a list of PlanEntryDto objects, the next page token header and HTTP 200 OK status.
      */
+    @StatementBudget(2)
     @GetMapping("/plan-entries")
-    public ResponseEntity<List<PlanEntryDto>> retrieveAllPlanEntries() {
-        List<PlanEntryDto> planEntries = planEntryService.retrieveAllPlanEntries();
-        return new ResponseEntity<>(planEntries, HttpStatus.OK);
+    public ResponseEntity<List<PlanEntryDto>> retrieveAllPlanEntries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_PAGE_SIZE) int size
+    ) {
+        CursorPage<PlanEntryDto> planEntries = (from == null && to == null)
+                ? planEntryService.retrieveAllPlanEntries(pageToken, size)
+                : planEntryService.retrievePlanEntriesInTimeWindow(from, to, pageToken, size);
+        return new ResponseEntity<>(planEntries.items(), planEntries.nextPageHeaders(), HttpStatus.OK);
     }
 
     /**
@@ -35,6 +54,7 @@ public class PlanEntryController {
      * @param planEntryId the ID of the plan entry to retrieve.
      * @return the PlanEntryDto object corresponding to the given ID and HTTP 200 OK status.
      */
+    @StatementBudget(2)
     @GetMapping("/plan-entries/{planEntryId}")
     public ResponseEntity<PlanEntryDto> retrievePlanEntry(@PathVariable Integer planEntryId) {
         PlanEntryDto planEntryDto = planEntryService.retrievePlanEntryById(planEntryId);
@@ -42,45 +62,96 @@ public class PlanEntryController {
     }
 
     /**
-     * Retrieves plan entries for a specific team and user.
+     * Retrieves plan entries for a specific team and user, optionally limited to those overlapping a time window.
      *
      * @param teamId the ID of the team.
      * @param userId the ID of the user.
+     * @param from   the inclusive start of the time window, given together with {@code to}.
+     * @param to     the exclusive end of the time window, given together with {@code from}.
      * @return a list of PlanEntryDto objects filtered by teamId and userId, and HTTP 200 OK status.
      */
+    @StatementBudget(3)
     @GetMapping("/plan-entries/teams/{teamId}/users/{userId}")
     public ResponseEntity<List<PlanEntryDto>> retrievePlanEntriesByTeamAndUser(
             @PathVariable Integer teamId,
-            @PathVariable Integer userId
+            @PathVariable Integer userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
     ) {
-        List<PlanEntryDto> planEntries = planEntryService.retrievePlanEntriesByTeamIdAndUserId(teamId, userId);
+        List<PlanEntryDto> planEntries = (from == null && to == null)
+                ? planEntryService.retrievePlanEntriesByTeamIdAndUserId(teamId, userId)
+                : planEntryService.retrievePlanEntriesByTeamIdAndUserIdInTimeWindow(teamId, userId, from, to);
         return new ResponseEntity<>(planEntries, HttpStatus.OK);
     }
 
+    /**
+     * Retrieves the plan entries of a user, in any team, that a new plan entry in the given time window
+     * would conflict with.
+     *
+     * @param userId the ID of the user.
+     * @param from   the inclusive start of the time window.
+     * @param to     the exclusive end of the time window.
+     * @return a list of conflicting PlanEntryDto objects sorted by start time and HTTP 200 OK status.
+     */
+    @StatementBudget(3)
+    @GetMapping("/plan-entries/users/{userId}/conflicts")
+    public ResponseEntity<List<PlanEntryDto>> retrievePlanEntryConflicts(
+            @PathVariable Integer userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        List<PlanEntryDto> conflicts = planEntryService.retrievePlanEntryConflicts(userId, from, to);
+        return new ResponseEntity<>(conflicts, HttpStatus.OK);
+    }
+
     /**
      * Creates a new plan entry associated with specific team and user.
+     * A plan entry overlapping another plan entry of the user, or an occurrence of their recurring plan entries,
+     * is rejected unless conflicts are allowed.
      *
-     * @param planEntryDto the DTO containing plan entry details.
-     * @param teamId       the ID of the team for which the plan entry is being created.
-     * @param userId       the ID of the user associated with the plan entry.
-     * @return HTTP 201 CREATED status.
+     * @param planEntryDto   the DTO containing plan entry details.
+     * @param teamId         the ID of the team for which the plan entry is being created.
+     * @param userId         the ID of the user associated with the plan entry.
+     * @param allowConflicts whether to create the plan entry even if it overlaps another plan entry of the user.
+     * @return HTTP 201 CREATED status, or HTTP 409 CONFLICT if the plan entry overlaps another one.
      */
+    @StatementBudget(10)
     @PostMapping("/plan-entries/teams/{teamId}/users/{userId}")
     public ResponseEntity<PlanEntryDto> createPlanEntry(
             @Valid @RequestBody PlanEntryDto planEntryDto,
             @PathVariable Integer teamId,
-            @PathVariable Integer userId
+            @PathVariable Integer userId,
+            @RequestParam(defaultValue = "false") boolean allowConflicts
     ) {
-        planEntryService.createPlanEntry(planEntryDto, teamId, userId);
+        planEntryService.createPlanEntry(planEntryDto, teamId, userId, allowConflicts);
         return new ResponseEntity<>(HttpStatus.CREATED);
     }
 
+    /**
+     * Creates many plan entries, possibly for many teams and users, in a single transaction.
+     * Items are validated one by one; invalid or conflicting items are reported and skipped.
+     *
+     * @param items          the plan entries to create together with their team and user IDs.
+     * @param allowConflicts whether to create plan entries even if they overlap another plan entry of the user.
+     * @return the outcome of every item in request order and HTTP 200 OK status.
+     */
+    @StatementBudget(12)
+    @PostMapping("/plan-entries/bulk")
+    public ResponseEntity<List<PlanEntryBulkResultDto>> createPlanEntries(
+            @RequestBody List<PlanEntryBulkItemDto> items,
+            @RequestParam(defaultValue = "false") boolean allowConflicts
+    ) {
+        List<PlanEntryBulkResultDto> results = planEntryService.createPlanEntries(items, allowConflicts);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     /**
      * Deletes a plan entry by its ID.
      *
      * @param planEntryId the ID of the plan entry to delete
      * @return HTTP 204 NO CONTENT status
      */
+    @StatementBudget(6)
     @DeleteMapping("/plan-entries/{planEntryId}")
     public ResponseEntity<PlanEntryDto> deletePlanEntry(@PathVariable Integer planEntryId) {
         planEntryService.deletePlanEntryById(planEntryId);
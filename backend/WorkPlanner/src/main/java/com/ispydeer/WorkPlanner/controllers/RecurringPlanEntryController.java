@@ -0,0 +1,92 @@
+package com.ispydeer.WorkPlanner.controllers;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.RecurringPlanEntryDto;
+import com.ispydeer.WorkPlanner.services.RecurringPlanEntryService;
+import com.ispydeer.WorkPlanner.services.statements.StatementBudget;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+public class RecurringPlanEntryController {
+
+    private final RecurringPlanEntryService recurringPlanEntryService;
+
+    public RecurringPlanEntryController(RecurringPlanEntryService recurringPlanEntryService) {
+        this.recurringPlanEntryService = recurringPlanEntryService;
+    }
+
+    /**
+     * Retrieves a specific recurring plan entry by its ID.
+     *
+     * @param recurringPlanEntryId the ID of the recurring plan entry to retrieve.
+     * @return the RecurringPlanEntryDto object corresponding to the given ID and HTTP 200 OK status.
+     */
+    @StatementBudget(2)
+    @GetMapping("/recurring-plan-entries/{recurringPlanEntryId}")
+    public ResponseEntity<RecurringPlanEntryDto> retrieveRecurringPlanEntry(@PathVariable Integer recurringPlanEntryId) {
+        RecurringPlanEntryDto recurringPlanEntryDto = recurringPlanEntryService
+                .retrieveRecurringPlanEntryById(recurringPlanEntryId);
+        return new ResponseEntity<>(recurringPlanEntryDto, HttpStatus.OK);
+    }
+
+    /**
+     * Creates a new recurring plan entry associated with specific team and user.
+     * A recurring plan entry with an occurrence overlapping a plan entry of the user, or an occurrence of their
+     * other recurring plan entries, is rejected unless conflicts are allowed.
+     *
+     * @param recurringPlanEntryDto the DTO containing the first occurrence and the recurrence rule.
+     * @param teamId                the ID of the team for which the recurring plan entry is being created.
+     * @param userId                the ID of the user associated with the recurring plan entry.
+     * @param allowConflicts        whether to create the recurring plan entry even if an occurrence overlaps
+     *                              another plan entry of the user.
+     * @return the created RecurringPlanEntryDto and HTTP 201 CREATED status,
+     * or HTTP 409 CONFLICT if an occurrence overlaps another plan entry.
+     */
+    @StatementBudget(6)
+    @PostMapping("/recurring-plan-entries/teams/{teamId}/users/{userId}")
+    public ResponseEntity<RecurringPlanEntryDto> createRecurringPlanEntry(
+            @Valid @RequestBody RecurringPlanEntryDto recurringPlanEntryDto,
+            @PathVariable Integer teamId,
+            @PathVariable Integer userId,
+            @RequestParam(defaultValue = "false") boolean allowConflicts
+    ) {
+        RecurringPlanEntryDto created = recurringPlanEntryService
+                .createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId, allowConflicts);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    /**
+     * Cancels the occurrence of a recurring plan entry on a specific date.
+     *
+     * @param recurringPlanEntryId the ID of the recurring plan entry.
+     * @param date                 the date of the occurrence to cancel.
+     * @return HTTP 200 OK status, or HTTP 400 BAD REQUEST if no occurrence starts on the date.
+     */
+    @StatementBudget(4)
+    @PutMapping("/recurring-plan-entries/{recurringPlanEntryId}/exceptions/{date}")
+    public ResponseEntity<RecurringPlanEntryDto> addRecurringPlanEntryException(
+            @PathVariable Integer recurringPlanEntryId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        recurringPlanEntryService.addRecurringPlanEntryException(recurringPlanEntryId, date);
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
+    /**
+     * Deletes a recurring plan entry, together with all its occurrences, by its ID.
+     *
+     * @param recurringPlanEntryId the ID of the recurring plan entry to delete
+     * @return HTTP 204 NO CONTENT status
+     */
+    @StatementBudget(6)
+    @DeleteMapping("/recurring-plan-entries/{recurringPlanEntryId}")
+    public ResponseEntity<RecurringPlanEntryDto> deleteRecurringPlanEntry(@PathVariable Integer recurringPlanEntryId) {
+        recurringPlanEntryService.deleteRecurringPlanEntryById(recurringPlanEntryId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -1,34 +1,59 @@
 package com.ispydeer.WorkPlanner.controllers;
 
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.UserScheduleDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.WeeklyHoursDto;
+import com.ispydeer.WorkPlanner.entities.team.dto.AvailabilitySlotDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
+import com.ispydeer.WorkPlanner.services.PlanEntryService;
 import com.ispydeer.WorkPlanner.services.TeamService;
+import com.ispydeer.WorkPlanner.services.WeeklyHoursRollupService;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
 import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import com.ispydeer.WorkPlanner.services.statements.StatementBudget;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 public class TeamController {
 
     private final TeamService teamService;
+    private final PlanEntryService planEntryService;
+    private final WeeklyHoursRollupService weeklyHoursRollupService;
 
-    public TeamController(TeamService teamService) {
+    public TeamController(
+            TeamService teamService,
+            PlanEntryService planEntryService,
+            WeeklyHoursRollupService weeklyHoursRollupService
+    ) {
         this.teamService = teamService;
+        this.planEntryService = planEntryService;
+        this.weeklyHoursRollupService = weeklyHoursRollupService;
     }
 
     /**
-     * Retrieves all teams
+     * Retrieves a page of all teams sorted by name.
      *
-     * @return a list of TeamDto objects and HTTP 200 OK status.
+     * @param pageToken the token of the page to retrieve, taken from the previous page's response header.
+     * @param size      the maximum number of teams on the page.
+     * @return a list of TeamDto objects, the next page token header and HTTP 200 OK status.
      */
+    @StatementBudget(2)
     @GetMapping("/teams")
-    public ResponseEntity<List<TeamDto>> retrieveAllTeams() {
-        List<TeamDto> teams = teamService.retrieveAllTeams();
-        return new ResponseEntity<>(teams, HttpStatus.OK);
+    public ResponseEntity<List<TeamDto>> retrieveAllTeams(
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_PAGE_SIZE) int size
+    ) {
+        CursorPage<TeamDto> teams = teamService.retrieveAllTeams(pageToken, size);
+        return new ResponseEntity<>(teams.items(), teams.nextPageHeaders(), HttpStatus.OK);
     }
 
     /**
@@ -37,6 +62,7 @@ public class TeamController {
      * @param teamId the ID of the team to retrieve.
      * @return the TeamDto object corresponding to the given ID and HTTP 200 OK status.
      */
+    @StatementBudget(2)
     @GetMapping("/teams/{teamId}")
     public ResponseEntity<TeamDto> retrieveTeam(@PathVariable Integer teamId) {
         TeamDto teamDto = teamService.retrieveTeamById(teamId);
@@ -50,6 +76,7 @@ public class TeamController {
      * @return HTTP 201 CREATED status.
      */
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @StatementBudget(4)
     @PostMapping("/teams")
     public ResponseEntity<TeamDto> createTeam(
             @Valid @RequestBody TeamDto teamDto
@@ -65,6 +92,7 @@ public class TeamController {
      * @return HTTP 204 NO CONTENT status
      */
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @StatementBudget(8)
     @DeleteMapping("/teams/{teamId}")
     public ResponseEntity<TeamDto> deleteTeam(@PathVariable Integer teamId) {
         teamService.deleteTeam(teamId);
@@ -79,6 +107,7 @@ public class TeamController {
      * @return HTTP 200 OK status
      */
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @StatementBudget(4)
     @PutMapping("/teams/{teamId}/team-leader/{userId}")
     public ResponseEntity<TeamDto> setTeamLeader(
             @PathVariable Integer teamId,
@@ -94,6 +123,7 @@ public class TeamController {
      * @return HTTP 204 NO CONTENT status
      */
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @StatementBudget(4)
     @DeleteMapping("/teams/{teamId}/team-leader")
     public ResponseEntity<TeamDto> resetTeamLeader(@PathVariable Integer teamId) {
         teamService.resetTeamLeader(teamId);
@@ -107,6 +137,7 @@ public class TeamController {
      * @param listOfUserIds a list of user IDs to be added to the team
      * @return HTTP 200 OK status
      */
+    @StatementBudget(5)
     @PutMapping("/teams/{teamId}/users")
     public ResponseEntity<TeamDto> addTeamUsers(
             @PathVariable Integer teamId,
@@ -117,15 +148,94 @@ public class TeamController {
     }
 
     /**
-     * Retrieves users associated with a specific team.
+     * Retrieves users associated with a specific team, sorted by first name.
+     * All users are returned unless a page size or page token is given; the next page token,
+     * if any, is returned in the {@value CursorPage#NEXT_PAGE_TOKEN_HEADER} header.
      *
-     * @param teamId the ID of the team
+     * @param teamId    the ID of the team
+     * @param pageToken the token of the page to retrieve, or null for the first page.
+     * @param size      the maximum number of users on the page, or null for all users.
      * @return a list of UserDto and HTTP 200 OK status.
      */
+    @StatementBudget(3)
     @GetMapping("/teams/{teamId}/users")
-    public ResponseEntity<List<UserDto>> retrieveTeamUsers(@PathVariable Integer teamId) {
-        List<UserDto> teamUsers = teamService.retrieveTeamUsers(teamId);
-        return new ResponseEntity<>(teamUsers, HttpStatus.OK);
+    public ResponseEntity<List<UserDto>> retrieveTeamUsers(
+            @PathVariable Integer teamId,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) Integer size
+    ) {
+        if (pageToken == null && size == null) {
+            return new ResponseEntity<>(teamService.retrieveTeamUsers(teamId), HttpStatus.OK);
+        }
+        CursorPage<UserDto> page = teamService.retrieveTeamUsers(
+                teamId,
+                pageToken,
+                size == null ? Integer.parseInt(CursorPage.DEFAULT_PAGE_SIZE) : size
+        );
+        return new ResponseEntity<>(page.items(), page.nextPageHeaders(), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the schedule of all members of a team within a time window, grouped by member.
+     *
+     * @param teamId the ID of the team
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return a list of UserScheduleDto and HTTP 200 OK status.
+     */
+    @StatementBudget(6)
+    @GetMapping("/teams/{teamId}/schedule")
+    public ResponseEntity<List<UserScheduleDto>> retrieveTeamSchedule(
+            @PathVariable Integer teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        List<UserScheduleDto> schedule = planEntryService.retrieveTeamSchedule(teamId, from, to);
+        return new ResponseEntity<>(schedule, HttpStatus.OK);
+    }
+
+    /**
+     * Finds the slots within a time window in which enough members of a team are free together.
+     *
+     * @param teamId     the ID of the team
+     * @param from       the inclusive start of the time window
+     * @param to         the exclusive end of the time window
+     * @param duration   the minimum length of a slot, as an ISO-8601 duration such as PT1H
+     * @param minMembers the minimum number of free members; all members if omitted
+     * @return a list of AvailabilitySlotDto and HTTP 200 OK status.
+     */
+    @StatementBudget(8)
+    @GetMapping("/teams/{teamId}/availability")
+    public ResponseEntity<List<AvailabilitySlotDto>> retrieveTeamAvailability(
+            @PathVariable Integer teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam Duration duration,
+            @RequestParam(required = false) Integer minMembers
+    ) {
+        List<AvailabilitySlotDto> slots = planEntryService.retrieveTeamAvailability(teamId, from, to, duration, minMembers);
+        return new ResponseEntity<>(slots, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the planned time of the members of a team per ISO week.
+     *
+     * @param teamId the ID of the team
+     * @param from   a date within the first reported week
+     * @param to     the exclusive end date of the report
+     * @param userId the ID of a single member to report on; all members if omitted
+     * @return a list of WeeklyHoursDto and HTTP 200 OK status.
+     */
+    @StatementBudget(5)
+    @GetMapping("/teams/{teamId}/weekly-hours")
+    public ResponseEntity<List<WeeklyHoursDto>> retrieveWeeklyHours(
+            @PathVariable Integer teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer userId
+    ) {
+        List<WeeklyHoursDto> weeklyHours = weeklyHoursRollupService.retrieveWeeklyHours(teamId, userId, from, to);
+        return new ResponseEntity<>(weeklyHours, HttpStatus.OK);
     }
 
     /**
@@ -135,6 +245,7 @@ public class TeamController {
      * @param userId the ID of the user to be removed
      * @return HTTP 204 NO CONTENT status
      */
+    @StatementBudget(5)
     @DeleteMapping("/teams/{teamId}/users/{userId}")
     public ResponseEntity<TeamDto> deleteTeamUsers(
             @PathVariable Integer teamId,
@@ -4,6 +4,8 @@ import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
 import com.ispydeer.WorkPlanner.services.UserService;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
+import com.ispydeer.WorkPlanner.services.statements.StatementBudget;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,14 +24,20 @@ public class UserController {
     }
 
     /**
-     * Retrieves all users
+     * Retrieves a page of all users sorted by first name.
      *
-     * @return a list of UserDto objects and HTTP 200 OK status.
+     * @param pageToken the token of the page to retrieve, taken from the previous page's response header.
+     * @param size      the maximum number of users on the page.
+     * @return a list of UserDto objects, the next page token header and HTTP 200 OK status.
      */
+    @StatementBudget(3)
     @GetMapping("/users")
-    public ResponseEntity<List<UserDto>> retrieveAllUsers() {
-        List<UserDto> listOfUsers = userService.retrieveAllUsers();
-        return new ResponseEntity<>(listOfUsers, HttpStatus.OK);
+    public ResponseEntity<List<UserDto>> retrieveAllUsers(
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_PAGE_SIZE) int size
+    ) {
+        CursorPage<UserDto> listOfUsers = userService.retrieveAllUsers(pageToken, size);
+        return new ResponseEntity<>(listOfUsers.items(), listOfUsers.nextPageHeaders(), HttpStatus.OK);
     }
 
     /**
@@ -38,6 +46,7 @@ public class UserController {
      * @param userId the ID of the user to retrieve.
      * @return the UserDto object corresponding to the given ID and HTTP 200 OK status.
      */
+    @StatementBudget(2)
     @GetMapping("/users/{userId}")
     public ResponseEntity<UserDto> retrieveUser(@PathVariable Integer userId) {
         UserDto userDto = userService.retrieveUserById(userId);
@@ -50,6 +59,7 @@ public class UserController {
      * @param userRegistrationDto the registration details of the new user
      * @return HTTP 201 CREATED status.
      */
+    @StatementBudget(4)
     @PostMapping("/users")
     public ResponseEntity<UserRegistrationDto> createUser(
             @Valid @RequestBody UserRegistrationDto userRegistrationDto
@@ -65,6 +75,7 @@ public class UserController {
      * @return HTTP 204 NO CONTENT status
      */
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @StatementBudget(8)
     @DeleteMapping("/users/{userId}")
     public ResponseEntity<UserDto> deleteUser(@PathVariable int userId) {
         userService.deleteUser(userId);
@@ -72,15 +83,31 @@ public class UserController {
     }
 
     /**
-     * Retrieves all teams that a specific user belongs to.
+     * Retrieves teams associated with a specific user, sorted by name.
+     * All teams are returned unless a page size or page token is given; the next page token,
+     * if any, is returned in the {@value CursorPage#NEXT_PAGE_TOKEN_HEADER} header.
      *
-     * @param userId the ID of the user
+     * @param userId    the ID of the user
+     * @param pageToken the token of the page to retrieve, or null for the first page.
+     * @param size      the maximum number of teams on the page, or null for all teams.
      * @return a list of TeamDto and HTTP 200 OK status.
      */
+    @StatementBudget(3)
     @GetMapping("/users/{userId}/teams")
-    public ResponseEntity<List<TeamDto>> retrieveUserTeams(@PathVariable int userId) {
-        List<TeamDto> teams = userService.retrieveUserTeams(userId);
-        return new ResponseEntity<>(teams, HttpStatus.OK);
+    public ResponseEntity<List<TeamDto>> retrieveUserTeams(
+            @PathVariable int userId,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) Integer size
+    ) {
+        if (pageToken == null && size == null) {
+            return new ResponseEntity<>(userService.retrieveUserTeams(userId), HttpStatus.OK);
+        }
+        CursorPage<TeamDto> page = userService.retrieveUserTeams(
+                userId,
+                pageToken,
+                size == null ? Integer.parseInt(CursorPage.DEFAULT_PAGE_SIZE) : size
+        );
+        return new ResponseEntity<>(page.items(), page.nextPageHeaders(), HttpStatus.OK);
     }
 
     /**
@@ -90,6 +117,7 @@ public class UserController {
      * @param teamId the ID of the team to add the user to
      * @return HTTP 200 OK status.
      */
+    @StatementBudget(4)
     @PutMapping("/users/{userId}/teams/{teamId}")
     public ResponseEntity<UserDto> addUserTeam(
             @PathVariable int userId,
@@ -107,6 +135,7 @@ public class UserController {
      * @param teamId the ID of the team to remove the user from
      * @return HTTP 204 NO CONTENT status
      */
+    @StatementBudget(4)
     @DeleteMapping("/users/{userId}/teams/{teamId}")
     public ResponseEntity<UserDto> deleteUserTeam(
             @PathVariable int userId,
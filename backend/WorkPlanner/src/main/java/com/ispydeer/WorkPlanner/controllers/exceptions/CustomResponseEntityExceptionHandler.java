@@ -1,5 +1,8 @@
 package com.ispydeer.WorkPlanner.controllers.exceptions;
 
+import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
+import com.ispydeer.WorkPlanner.security.BoundedPasswordEncoder;
+import com.ispydeer.WorkPlanner.services.PlanEntryService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -59,6 +62,22 @@ public class CustomResponseEntityExceptionHandler extends ResponseEntityExceptio
         return new ResponseEntity<>(message, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles RecurringPlanEntryNotFoundException and returns a 404 NOT FOUND response.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error message and HTTP 404 NOT FOUND status
+     */
+    @ExceptionHandler(RecurringPlanEntryNotFoundException.class)
+    public ResponseEntity<Object> handleRecurringPlanEntryNotFoundException(
+            RecurringPlanEntryNotFoundException ex,
+            WebRequest request
+    ) {
+        String message = "Recurring plan entry not found";
+        return new ResponseEntity<>(message, HttpStatus.NOT_FOUND);
+    }
+
     /**
      * Handles UsernameAlreadyUsedException and returns a 409 CONFLICT response.
      *
@@ -85,6 +104,120 @@ public class CustomResponseEntityExceptionHandler extends ResponseEntityExceptio
         return new ResponseEntity<>(message, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handles PlanEntryConflictException and returns a 409 CONFLICT response.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error message and HTTP 409 CONFLICT status
+     */
+    @ExceptionHandler(PlanEntryConflictException.class)
+    public ResponseEntity<Object> handlePlanEntryConflictException(PlanEntryConflictException ex, WebRequest request) {
+        String message = "Plan entry overlaps another plan entry of the user";
+        return new ResponseEntity<>(message, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles InvalidTimeWindowException and returns a 400 BAD REQUEST response.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error message and HTTP 400 BAD REQUEST status
+     */
+    @ExceptionHandler(InvalidTimeWindowException.class)
+    public ResponseEntity<Object> handleInvalidTimeWindowException(InvalidTimeWindowException ex, WebRequest request) {
+        String message = "Time window requires both 'from' and 'to', with 'from' before 'to' and at most "
+                + PlanEntryService.MAX_TIME_WINDOW.toDays() + " days between them";
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidPlanEntryTimeException and returns a 400 BAD REQUEST response.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error message and HTTP 400 BAD REQUEST status
+     */
+    @ExceptionHandler(InvalidPlanEntryTimeException.class)
+    public ResponseEntity<Object> handleInvalidPlanEntryTimeException(InvalidPlanEntryTimeException ex, WebRequest request) {
+        String message = "PlanEntry start time must be before its end time and it must not last longer than "
+                + PlanEntry.MAX_DURATION.toDays() + " days";
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidPageRequestException and returns a 400 BAD REQUEST response.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error message and HTTP 400 BAD REQUEST status
+     */
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Object> handleInvalidPageRequestException(InvalidPageRequestException ex, WebRequest request) {
+        String message = "Invalid page token or page size";
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidBulkRequestException and returns a 400 BAD REQUEST response.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error message and HTTP 400 BAD REQUEST status
+     */
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    public ResponseEntity<Object> handleInvalidBulkRequestException(InvalidBulkRequestException ex, WebRequest request) {
+        String message = "Bulk request must contain between 1 and 1000 plan entries";
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidAvailabilityRequestException and returns a 400 BAD REQUEST response.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error message and HTTP 400 BAD REQUEST status
+     */
+    @ExceptionHandler(InvalidAvailabilityRequestException.class)
+    public ResponseEntity<Object> handleInvalidAvailabilityRequestException(InvalidAvailabilityRequestException ex, WebRequest request) {
+        String message = "Availability requires a positive 'duration' and a 'minMembers' of at least 1";
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidRecurrenceException and returns a 400 BAD REQUEST response.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error message and HTTP 400 BAD REQUEST status
+     */
+    @ExceptionHandler(InvalidRecurrenceException.class)
+    public ResponseEntity<Object> handleInvalidRecurrenceException(InvalidRecurrenceException ex, WebRequest request) {
+        String message = "Recurrence requires a start before the end, a positive interval and count, "
+                + "an end not before the start, weekdays only for weekly recurrences, "
+                + "and exceptions only on dates of occurrences";
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles PasswordHashingOverloadedException and returns a 503 SERVICE UNAVAILABLE response
+     * telling the client when to retry.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error message and HTTP 503 SERVICE UNAVAILABLE status
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<Object> handlePasswordHashingOverloadedException(
+            PasswordHashingOverloadedException ex,
+            WebRequest request
+    ) {
+        String message = "Too many concurrent logins, please retry";
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(BoundedPasswordEncoder.RETRY_AFTER.toSeconds()))
+                .body(message);
+    }
+
     /**
      * Handles MethodArgumentNotValidException and returns a 400 BAD REQUEST response.
      * This method is overridden to customize the response with validation error messages.
@@ -0,0 +1,7 @@
+package com.ispydeer.WorkPlanner.controllers.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidBulkRequestException extends RuntimeException {}
@@ -8,22 +8,40 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
  * Represents a plan entry, which includes details about
  * a scheduled task or event, associated with a specific user and team.
+ * Indexed for time-window reads of a single user's or a whole team's schedule,
+ * and of a user's busy time across all teams. As plan entries last at most {@link #MAX_DURATION},
+ * a plan entry overlapping a time window starts less than that before the window,
+ * which bounds the start time indexes from both sides.
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_plan_entry_team_user_start", columnList = "team_id, user_id, start_time"),
+        @Index(name = "idx_plan_entry_team_start", columnList = "team_id, start_time"),
+        @Index(name = "idx_plan_entry_start", columnList = "start_time, id"),
+        @Index(name = "idx_plan_entry_user_start", columnList = "user_id, start_time")
+})
 @Data
 @NoArgsConstructor
 public class PlanEntry {
 
+    /**
+     * The maximum length of a plan entry, enforced when plan entries are created.
+     */
+    public static final Duration MAX_DURATION = Duration.ofDays(31);
+
     /**
      * The id of the plan entry.
+     * Drawn from a pooled sequence, so that batched inserts fetch a block of ids in a single round trip.
      */
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plan_entry_seq")
+    @SequenceGenerator(name = "plan_entry_seq", sequenceName = "plan_entry_seq", allocationSize = 50)
     private Integer id;
 
     /**
@@ -47,18 +65,18 @@ public class PlanEntry {
 
     /**
      * The user associated with this plan entry.
-     * Must not be null.
+     * Must not be null. Loaded lazily; queries needing it fetch it explicitly.
      */
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
     /**
      * The team associated with this plan entry.
-     * Must not be null.
+     * Must not be null. Loaded lazily; queries needing it fetch it explicitly.
      */
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Team team;
 
     /**
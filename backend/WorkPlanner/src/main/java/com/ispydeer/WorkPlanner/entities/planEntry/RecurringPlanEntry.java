@@ -0,0 +1,131 @@
+package com.ispydeer.WorkPlanner.entities.planEntry;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.converter.DayOfWeekSetConverter;
+import com.ispydeer.WorkPlanner.entities.planEntry.converter.LocalDateSetConverter;
+import com.ispydeer.WorkPlanner.entities.planEntry.planEntryColor.PlanEntryColor;
+import com.ispydeer.WorkPlanner.entities.planEntry.recurrenceFrequency.RecurrenceFrequency;
+import com.ispydeer.WorkPlanner.entities.team.Team;
+import com.ispydeer.WorkPlanner.entities.user.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Represents a recurring plan entry, i.e. a series of plan entries described by a recurrence rule
+ * and stored as a single row. Occurrences are expanded only within the time window being read.
+ * Indexed for time-window reads of a single user's or a whole team's schedule.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_recurring_plan_entry_team_user_start", columnList = "team_id, user_id, start_time"),
+        @Index(name = "idx_recurring_plan_entry_user_start", columnList = "user_id, start_time")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecurringPlanEntry {
+
+    /**
+     * The id of the recurring plan entry.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_plan_entry_seq")
+    @SequenceGenerator(name = "recurring_plan_entry_seq", sequenceName = "recurring_plan_entry_seq", allocationSize = 50)
+    private Integer id;
+
+    /**
+     * The title of every occurrence.
+     */
+    private String title;
+
+    /**
+     * The start time of the first occurrence. Later occurrences start at the same time of day.
+     * Must not be null.
+     */
+    @NotNull
+    private LocalDateTime startTime;
+
+    /**
+     * The end time of the first occurrence, which defines the duration of every occurrence.
+     * Must not be null.
+     */
+    @NotNull
+    private LocalDateTime endTime;
+
+    /**
+     * How often the plan entry repeats.
+     * Must not be null and is persisted as a string.
+     */
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private RecurrenceFrequency frequency;
+
+    /**
+     * The number of days or weeks between repetitions.
+     */
+    @Column(name = "recurrence_interval")
+    private int interval = 1;
+
+    /**
+     * The weekdays on which a weekly plan entry occurs; empty means the weekday of the first occurrence.
+     */
+    @Convert(converter = DayOfWeekSetConverter.class)
+    private Set<DayOfWeek> weekdays = new TreeSet<>();
+
+    /**
+     * The latest start time of an occurrence, or null if not limited by time.
+     */
+    @Column(name = "until_time")
+    private LocalDateTime until;
+
+    /**
+     * The number of occurrences, counted before exceptions are removed, or null if not limited by count.
+     */
+    @Column(name = "occurrence_count")
+    private Integer count;
+
+    /**
+     * The dates on which no occurrence takes place.
+     */
+    @Column(length = 4000)
+    @Convert(converter = LocalDateSetConverter.class)
+    private Set<LocalDate> exceptionDates = new TreeSet<>();
+
+    /**
+     * The end time of the last occurrence, or null for a series without end.
+     * Derived from the recurrence rule, used to skip finished series in time-window queries.
+     */
+    private LocalDateTime seriesEndTime;
+
+    /**
+     * The user associated with this recurring plan entry.
+     * Must not be null. Loaded lazily.
+     */
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User user;
+
+    /**
+     * The team associated with this recurring plan entry.
+     * Must not be null. Loaded lazily.
+     */
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Team team;
+
+    /**
+     * The color of the occurrences' graphical representation.
+     * Must not be null and is persisted as a string.
+     */
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private PlanEntryColor planEntryColor;
+}
@@ -0,0 +1,78 @@
+package com.ispydeer.WorkPlanner.entities.planEntry;
+
+import com.ispydeer.WorkPlanner.entities.team.Team;
+import com.ispydeer.WorkPlanner.entities.user.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Represents the planned time of a user in a team during one ISO week, i.e. the sum over the user's
+ * plan entries in the team, maintained incrementally whenever plan entries are created or deleted.
+ * Plan entries spanning several weeks contribute their minutes to each week they overlap
+ * and are counted in the week they start.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_weekly_hours_rollup_team_user_week",
+        columnNames = {"team_id", "user_id", "week_start"}
+))
+@Getter
+@Setter
+@NoArgsConstructor
+public class WeeklyHoursRollup {
+
+    /**
+     * The id of the rollup.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weekly_hours_rollup_seq")
+    @SequenceGenerator(name = "weekly_hours_rollup_seq", sequenceName = "weekly_hours_rollup_seq", allocationSize = 50)
+    private Integer id;
+
+    /**
+     * The team of the rolled up plan entries.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Team team;
+
+    /**
+     * The user of the rolled up plan entries.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private User user;
+
+    /**
+     * The Monday starting the week.
+     * Must not be null.
+     */
+    @NotNull
+    private LocalDate weekStart;
+
+    /**
+     * The planned minutes within the week.
+     */
+    private long totalMinutes;
+
+    /**
+     * The number of plan entries starting within the week.
+     */
+    private int entryCount;
+
+    /**
+     * Constructs an empty rollup of a user in a team for the given week.
+     *
+     * @param team      the team
+     * @param user      the user
+     * @param weekStart the Monday starting the week
+     */
+    public WeeklyHoursRollup(Team team, User user, LocalDate weekStart) {
+        this.team = team;
+        this.user = user;
+        this.weekStart = weekStart;
+    }
+}
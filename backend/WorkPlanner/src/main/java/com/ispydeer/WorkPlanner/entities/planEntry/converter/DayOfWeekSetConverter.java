@@ -0,0 +1,38 @@
+package com.ispydeer.WorkPlanner.entities.planEntry.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Converts a set of weekdays to a comma-separated column value, e.g. {@code MONDAY,THURSDAY},
+ * so that a recurrence rule is stored in a single row.
+ */
+@Converter
+public class DayOfWeekSetConverter implements AttributeConverter<Set<DayOfWeek>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Set<DayOfWeek> weekdays) {
+        if (weekdays == null || weekdays.isEmpty()) {
+            return null;
+        }
+        return new TreeSet<>(weekdays).stream()
+                .map(DayOfWeek::name)
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public Set<DayOfWeek> convertToEntityAttribute(String value) {
+        if (value == null || value.isBlank()) {
+            return new TreeSet<>();
+        }
+        return Arrays.stream(value.split(","))
+                .map(DayOfWeek::valueOf)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -0,0 +1,38 @@
+package com.ispydeer.WorkPlanner.entities.planEntry.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Converts a set of dates to a comma-separated column value of ISO dates, e.g. {@code 2024-05-01,2024-05-03},
+ * so that a recurrence rule is stored in a single row.
+ */
+@Converter
+public class LocalDateSetConverter implements AttributeConverter<Set<LocalDate>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Set<LocalDate> dates) {
+        if (dates == null || dates.isEmpty()) {
+            return null;
+        }
+        return new TreeSet<>(dates).stream()
+                .map(LocalDate::toString)
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public Set<LocalDate> convertToEntityAttribute(String value) {
+        if (value == null || value.isBlank()) {
+            return new TreeSet<>();
+        }
+        return Arrays.stream(value.split(","))
+                .map(LocalDate::parse)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
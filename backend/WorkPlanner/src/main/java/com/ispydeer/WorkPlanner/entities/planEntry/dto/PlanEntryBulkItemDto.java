@@ -0,0 +1,36 @@
+package com.ispydeer.WorkPlanner.entities.planEntry.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for a single plan entry of a bulk creation request,
+ * together with the team and user it belongs to.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanEntryBulkItemDto {
+
+    /**
+     * The ID of the team associated with the plan entry.
+     */
+    @NotNull(message = "Team ID must not be null")
+    private Integer teamId;
+
+    /**
+     * The ID of the user associated with the plan entry.
+     */
+    @NotNull(message = "User ID must not be null")
+    private Integer userId;
+
+    /**
+     * The plan entry to create.
+     */
+    @NotNull(message = "Plan entry must not be null")
+    @Valid
+    private PlanEntryDto planEntry;
+}
@@ -0,0 +1,37 @@
+package com.ispydeer.WorkPlanner.entities.planEntry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the outcome of a single item of a bulk plan entry creation request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanEntryBulkResultDto {
+
+    /**
+     * The position of the item in the request.
+     */
+    private int index;
+
+    /**
+     * The outcome of the item.
+     */
+    private PlanEntryBulkStatus status;
+
+    /**
+     * The id of the created plan entry, or null if the item was not created.
+     */
+    private Integer planEntryId;
+
+    /**
+     * The validation error messages of the item, empty unless the item is invalid.
+     */
+    private List<String> errors = new ArrayList<>();
+}
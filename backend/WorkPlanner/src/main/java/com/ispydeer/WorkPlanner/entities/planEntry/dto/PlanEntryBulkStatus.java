@@ -0,0 +1,8 @@
+package com.ispydeer.WorkPlanner.entities.planEntry.dto;
+
+/**
+ * Enum representing the possible outcomes of a single item of a bulk plan entry creation request.
+ */
+public enum PlanEntryBulkStatus {
+    CREATED, INVALID, TEAM_NOT_FOUND, USER_NOT_FOUND, CONFLICT
+}
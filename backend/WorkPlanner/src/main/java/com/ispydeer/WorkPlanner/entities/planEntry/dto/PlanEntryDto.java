@@ -45,4 +45,10 @@ public class PlanEntryDto {
      * The color of plan entry's graphical representation.
      */
     private PlanEntryColor planEntryColor;
+
+    /**
+     * The id of the recurring plan entry this plan entry is an occurrence of,
+     * or null for a single plan entry.
+     */
+    private Integer recurringPlanEntryId;
 }
@@ -0,0 +1,87 @@
+package com.ispydeer.WorkPlanner.entities.planEntry.dto;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.planEntryColor.PlanEntryColor;
+import com.ispydeer.WorkPlanner.entities.planEntry.recurrenceFrequency.RecurrenceFrequency;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Data Transfer Object (DTO) for transferring recurring plan entry data between layers
+ * of the application.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringPlanEntryDto {
+
+    /**
+     * The id of the recurring plan entry.
+     */
+    private Integer id;
+
+    /**
+     * The title of every occurrence.
+     */
+    @Size(min = 4, max = 20, message = "PlanEntry title must contain min. 4 characters and max. 20 characters")
+    private String title;
+
+    /**
+     * The start time of the first occurrence.
+     */
+    @NotNull
+    private LocalDateTime startTime;
+
+    /**
+     * The end time of the first occurrence.
+     */
+    @NotNull
+    private LocalDateTime endTime;
+
+    /**
+     * The color of the occurrences' graphical representation.
+     */
+    private PlanEntryColor planEntryColor;
+
+    /**
+     * How often the plan entry repeats.
+     */
+    @NotNull
+    private RecurrenceFrequency frequency;
+
+    /**
+     * The number of days or weeks between repetitions.
+     */
+    @Min(value = 1, message = "Recurrence interval must be at least 1")
+    private int interval = 1;
+
+    /**
+     * The weekdays on which a weekly plan entry occurs.
+     */
+    private Set<DayOfWeek> weekdays = new TreeSet<>();
+
+    /**
+     * The latest start time of an occurrence.
+     */
+    private LocalDateTime until;
+
+    /**
+     * The number of occurrences.
+     */
+    @Min(value = 1, message = "Recurrence count must be at least 1")
+    private Integer count;
+
+    /**
+     * The dates on which no occurrence takes place.
+     */
+    private Set<LocalDate> exceptionDates = new TreeSet<>();
+}
@@ -0,0 +1,29 @@
+package com.ispydeer.WorkPlanner.entities.planEntry.dto;
+
+import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for transferring the schedule of a single team member,
+ * i.e. the user together with their plan entries in the team.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserScheduleDto {
+
+    /**
+     * The team member.
+     */
+    private UserDto user;
+
+    /**
+     * The plan entries of the team member, sorted by start time.
+     */
+    private List<PlanEntryDto> planEntries = new ArrayList<>();
+}
@@ -0,0 +1,36 @@
+package com.ispydeer.WorkPlanner.entities.planEntry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) for transferring the planned time of a team member during one ISO week.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyHoursDto {
+
+    /**
+     * The ID of the team member.
+     */
+    private int userId;
+
+    /**
+     * The Monday starting the week.
+     */
+    private LocalDate weekStart;
+
+    /**
+     * The planned minutes within the week.
+     */
+    private long totalMinutes;
+
+    /**
+     * The number of plan entries and occurrences of recurring plan entries starting within the week.
+     */
+    private int entryCount;
+}
@@ -0,0 +1,9 @@
+package com.ispydeer.WorkPlanner.entities.planEntry.recurrenceFrequency;
+
+/**
+ * Enum representing how often a recurring plan entry repeats.
+ * DAILY repeats every {@code interval} days, WEEKLY repeats on the chosen weekdays every {@code interval} weeks.
+ */
+public enum RecurrenceFrequency {
+    DAILY, WEEKLY
+}
@@ -1,8 +1,12 @@
 package com.ispydeer.WorkPlanner.entities.team;
 
 import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.RecurringPlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.WeeklyHoursRollup;
 import com.ispydeer.WorkPlanner.entities.user.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,13 +18,27 @@ import java.util.Set;
 /**
  * Represents a team, which can consist of multiple users and is
  * associated with various plan entries.
+ * Teams and their members are kept in the second-level cache.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Team.CACHE_REGION)
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name, id"))
 @Getter
 @Setter
 @NoArgsConstructor
 public class Team {
 
+    /**
+     * The second-level cache region of teams.
+     */
+    public static final String CACHE_REGION = "team";
+
+    /**
+     * The second-level cache region of team members.
+     */
+    public static final String MEMBERS_CACHE_REGION = "team.members";
+
     /**
      * The id of the team.
      */
@@ -47,12 +65,14 @@ public class Team {
      * A set of users that are part of this team.
      */
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = MEMBERS_CACHE_REGION)
     private Set<User> setOfUsers = new HashSet<>();
 
     /**
      * The user designated as the team leader.
+     * Loaded lazily; queries mapping teams to DTOs fetch it explicitly.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User teamLeader;
 
     /**
@@ -61,6 +81,18 @@ public class Team {
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<PlanEntry> setOfPlanEntries = new HashSet<>();
 
+    /**
+     * A set of recurring plan entries associated with this team.
+     */
+    @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<RecurringPlanEntry> setOfRecurringPlanEntries = new HashSet<>();
+
+    /**
+     * The weekly rollups of the plan entries associated with this team.
+     */
+    @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<WeeklyHoursRollup> setOfWeeklyHoursRollups = new HashSet<>();
+
     /**
      * Constructs a new Team with the specified name, first name, and description.
      *
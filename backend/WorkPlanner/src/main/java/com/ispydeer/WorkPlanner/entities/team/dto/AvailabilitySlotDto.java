@@ -0,0 +1,33 @@
+package com.ispydeer.WorkPlanner.entities.team.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a time slot in which enough members of a team are free.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilitySlotDto {
+
+    /**
+     * The start time of the slot.
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * The end time of the slot.
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * The IDs of the members free during the whole slot, sorted.
+     */
+    private List<Integer> availableUserIds = new ArrayList<>();
+}
@@ -1,6 +1,7 @@
 package com.ispydeer.WorkPlanner.entities.team.dto;
 
 import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
+import com.ispydeer.WorkPlanner.entities.user.role.Role;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -39,4 +40,36 @@ public class TeamDto {
      */
     private UserDto teamLeader;
 
+    /**
+     * Constructs a TeamDto from the columns of a projection query, with the team leader given by its columns.
+     * Query constructor expressions cannot nest, so the team leader is built here; it is null if the team
+     * has no leader, that is, if {@code teamLeaderId} is null.
+     *
+     * @param id                  the id of the team
+     * @param name                the name of the team
+     * @param description         the description of the team
+     * @param teamLeaderId        the id of the team leader, or null
+     * @param teamLeaderUsername  the username of the team leader
+     * @param teamLeaderFirstName the first name of the team leader
+     * @param teamLeaderLastName  the last name of the team leader
+     * @param teamLeaderRole      the role of the team leader
+     */
+    public TeamDto(
+            Integer id,
+            String name,
+            String description,
+            Integer teamLeaderId,
+            String teamLeaderUsername,
+            String teamLeaderFirstName,
+            String teamLeaderLastName,
+            Role teamLeaderRole
+    ) {
+        this(id, name, description, teamLeaderId == null ? null : new UserDto(
+                teamLeaderId,
+                teamLeaderUsername,
+                teamLeaderFirstName,
+                teamLeaderLastName,
+                teamLeaderRole
+        ));
+    }
 }
@@ -1,9 +1,13 @@
 package com.ispydeer.WorkPlanner.entities.user;
 
 import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.RecurringPlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.WeeklyHoursRollup;
 import com.ispydeer.WorkPlanner.entities.team.Team;
 import com.ispydeer.WorkPlanner.entities.user.role.Role;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -15,13 +19,22 @@ import java.util.Set;
 /**
  * Represents a user.
  * Each user can belong to multiple teams and have associated plan entries.
+ * Users are kept in the second-level cache; their teams are not, as that side of the membership is not owned.
  */
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity(name = "BasicUser")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@Table(indexes = @Index(name = "idx_basic_user_first_name", columnList = "first_name, id"))
 public class User {
 
+    /**
+     * The second-level cache region of users.
+     */
+    public static final String CACHE_REGION = "user";
+
     /**
      * The id of the user.
      */
@@ -73,6 +86,18 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<PlanEntry> planEntries = new HashSet<>();
 
+    /**
+     * A set of recurring plan entries associated with this user.
+     */
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<RecurringPlanEntry> recurringPlanEntries = new HashSet<>();
+
+    /**
+     * The weekly rollups of the plan entries associated with this user.
+     */
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<WeeklyHoursRollup> weeklyHoursRollups = new HashSet<>();
+
     /**
      * Constructs a new User with the specified username, first name, and last name.
      *
@@ -0,0 +1,13 @@
+package com.ispydeer.WorkPlanner.repositiories;
+
+import java.time.LocalDateTime;
+
+/**
+ * A time interval in which a user is busy.
+ *
+ * @param userId    the ID of the user
+ * @param startTime the inclusive start of the interval
+ * @param endTime   the exclusive end of the interval
+ */
+public record BusyInterval(int userId, LocalDateTime startTime, LocalDateTime endTime) {
+}
@@ -0,0 +1,21 @@
+package com.ispydeer.WorkPlanner.repositiories;
+
+import java.time.LocalDateTime;
+
+/**
+ * The time interval occupied by a plan entry, read without loading the plan entry.
+ *
+ * @param planEntryId the ID of the plan entry
+ * @param userId      the ID of the user of the plan entry
+ * @param teamId      the ID of the team of the plan entry
+ * @param startTime   the inclusive start of the interval
+ * @param endTime     the exclusive end of the interval
+ */
+public record PlanEntryInterval(
+        int planEntryId,
+        int userId,
+        int teamId,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
@@ -1,15 +1,35 @@
 package com.ispydeer.WorkPlanner.repositiories;
 
 import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
+import com.ispydeer.WorkPlanner.entities.user.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repository interface for accessing and managing PlanEntry entities.
+ * Time-window queries also require plan entries to start less than {@link PlanEntry#MAX_DURATION}
+ * before the window, so their index range scans read only the entries that can overlap the window.
  */
 public interface PlanEntryRepository extends JpaRepository<PlanEntry, Integer> {
 
+    /**
+     * A row of a team schedule: a team member and one of their plan entries,
+     * or no plan entry for members without entries in the time window.
+     */
+    interface TeamScheduleRow {
+
+        User getUser();
+
+        PlanEntry getPlanEntry();
+    }
+
     /**
      * Finds all plan entries associated with a specific team and user.
      *
@@ -18,4 +38,236 @@ public interface PlanEntryRepository extends JpaRepository<PlanEntry, Integer> {
      * @return a list of plan entries that belong to the specified team and user
      */
     List<PlanEntry> findPlanEntriesByTeamIdAndUserId(int teamId, int userId);
+
+    /**
+     * Finds the first plan entries in start time order.
+     *
+     * @param limit the maximum number of plan entries to return
+     * @return a list of plan entries sorted by start time and ID
+     */
+    @Query("SELECT p FROM PlanEntry p ORDER BY p.startTime, p.id")
+    List<PlanEntry> findPlanEntriesOrderedByStartTime(Limit limit);
+
+    /**
+     * Finds the plan entries following the given plan entry in start time order.
+     *
+     * @param startTime the start time of the last plan entry of the previous page
+     * @param id        the ID of the last plan entry of the previous page
+     * @param limit     the maximum number of plan entries to return
+     * @return a list of plan entries sorted by start time and ID
+     */
+    @Query("""
+            SELECT p FROM PlanEntry p
+            WHERE p.startTime > :startTime OR (p.startTime = :startTime AND p.id > :id)
+            ORDER BY p.startTime, p.id
+            """)
+    List<PlanEntry> findPlanEntriesOrderedByStartTimeAfter(
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") int id,
+            Limit limit
+    );
+
+    /**
+     * Finds the first plan entries overlapping the given time window, in start time order.
+     *
+     * @param from  the inclusive start of the time window
+     * @param to    the exclusive end of the time window
+     * @param limit the maximum number of plan entries to return
+     * @return a list of plan entries that start before {@code to} and end after {@code from},
+     * sorted by start time and ID
+     */
+    @Query("""
+            SELECT p FROM PlanEntry p
+            WHERE p.startTime < :to
+              AND p.startTime > :#{#from.minus(T(com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry).MAX_DURATION)}
+              AND p.endTime > :from
+            ORDER BY p.startTime, p.id
+            """)
+    List<PlanEntry> findPlanEntriesInTimeWindow(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Limit limit
+    );
+
+    /**
+     * Finds the plan entries overlapping the given time window that follow the given plan entry
+     * in start time order.
+     *
+     * @param from      the inclusive start of the time window
+     * @param to        the exclusive end of the time window
+     * @param startTime the start time of the last plan entry of the previous page
+     * @param id        the ID of the last plan entry of the previous page
+     * @param limit     the maximum number of plan entries to return
+     * @return a list of plan entries within the time window, sorted by start time and ID
+     */
+    @Query("""
+            SELECT p FROM PlanEntry p
+            WHERE p.startTime < :to
+              AND p.startTime > :#{#from.minus(T(com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry).MAX_DURATION)}
+              AND p.endTime > :from
+              AND (p.startTime > :startTime OR (p.startTime = :startTime AND p.id > :id))
+            ORDER BY p.startTime, p.id
+            """)
+    List<PlanEntry> findPlanEntriesInTimeWindowAfter(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") int id,
+            Limit limit
+    );
+
+    /**
+     * Finds plan entries of a specific team and user overlapping the given time window.
+     *
+     * @param teamId the ID of the team
+     * @param userId the ID of the user
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return a list of plan entries that belong to the specified team and user and overlap the time window
+     */
+    @Query("""
+            SELECT p FROM PlanEntry p
+            WHERE p.team.id = :teamId
+              AND p.user.id = :userId
+              AND p.startTime < :to
+              AND p.startTime > :#{#from.minus(T(com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry).MAX_DURATION)}
+              AND p.endTime > :from
+            """)
+    List<PlanEntry> findPlanEntriesByTeamIdAndUserIdInTimeWindow(
+            @Param("teamId") int teamId,
+            @Param("userId") int userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Finds the schedule of all members of a team within the given time window in a single query.
+     * Every member appears at least once; members without plan entries in the window
+     * are returned with no plan entry.
+     *
+     * @param teamId the ID of the team
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return the schedule rows sorted by member first name, member ID and plan entry start time
+     */
+    @Query("""
+            SELECT u AS user, p AS planEntry
+            FROM Team t
+            JOIN t.setOfUsers u
+            LEFT JOIN PlanEntry p
+              ON p.team = t AND p.user = u
+              AND p.startTime < :to
+              AND p.startTime > :#{#from.minus(T(com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry).MAX_DURATION)}
+              AND p.endTime > :from
+            WHERE t.id = :teamId
+            ORDER BY u.firstName, u.id, p.startTime, p.id
+            """)
+    List<TeamScheduleRow> findTeamScheduleInTimeWindow(
+            @Param("teamId") int teamId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Finds the IDs of the users with plan entries following the given user ID, to visit all plan entries
+     * one chunk of users at a time.
+     *
+     * @param userId the ID of the last user of the previous chunk
+     * @param limit  the maximum number of user IDs to return
+     * @return the sorted IDs of users with plan entries
+     */
+    @Query("SELECT DISTINCT p.user.id FROM PlanEntry p WHERE p.user.id > :userId ORDER BY p.user.id")
+    List<Integer> findPlanEntryUserIdsAfter(@Param("userId") int userId, Limit limit);
+
+    /**
+     * Finds the intervals occupied by the plan entries of the given users.
+     *
+     * @param userIds the IDs of the users
+     * @return the intervals of the users' plan entries
+     */
+    @Query("""
+            SELECT new com.ispydeer.WorkPlanner.repositiories.PlanEntryInterval(
+                p.id, p.user.id, p.team.id, p.startTime, p.endTime)
+            FROM PlanEntry p
+            WHERE p.user.id IN :userIds
+            """)
+    List<PlanEntryInterval> findPlanEntryIntervalsByUserIds(@Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Finds the plan entries of a user, across all teams, overlapping the given time window.
+     *
+     * @param userId the ID of the user
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return a list of the user's plan entries that start before {@code to} and end after {@code from},
+     * sorted by start time and ID
+     */
+    @Query("""
+            SELECT p FROM PlanEntry p
+            WHERE p.user.id = :userId
+              AND p.startTime < :to
+              AND p.startTime > :#{#from.minus(T(com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry).MAX_DURATION)}
+              AND p.endTime > :from
+            ORDER BY p.startTime, p.id
+            """)
+    List<PlanEntry> findPlanEntriesByUserIdInTimeWindow(
+            @Param("userId") int userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Checks whether a user has a plan entry, in any team, overlapping the given time window.
+     *
+     * @param userId the ID of the user
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return true if a plan entry of the user starts before {@code to} and ends after {@code from}
+     */
+    @Query("""
+            SELECT CASE WHEN COUNT(p) > 0 THEN TRUE ELSE FALSE END FROM PlanEntry p
+            WHERE p.user.id = :userId
+              AND p.startTime < :to
+              AND p.startTime > :#{#from.minus(T(com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry).MAX_DURATION)}
+              AND p.endTime > :from
+            """)
+    boolean existsPlanEntryByUserIdInTimeWindow(
+            @Param("userId") int userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Finds the intervals in which the given users are busy with plan entries of any team
+     * overlapping the given time window.
+     *
+     * @param userIds the IDs of the users
+     * @param from    the inclusive start of the time window
+     * @param to      the exclusive end of the time window
+     * @return the busy intervals of the users' plan entries that start before {@code to} and end after {@code from}
+     */
+    @Query("""
+            SELECT new com.ispydeer.WorkPlanner.repositiories.BusyInterval(
+                p.user.id, p.startTime, p.endTime)
+            FROM PlanEntry p
+            WHERE p.user.id IN :userIds
+              AND p.startTime < :to
+              AND p.startTime > :#{#from.minus(T(com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry).MAX_DURATION)}
+              AND p.endTime > :from
+            """)
+    List<BusyInterval> findBusyIntervalsByUserIdsInTimeWindow(
+            @Param("userIds") Collection<Integer> userIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Deletes all plan entries of a user in a single statement.
+     *
+     * @param userId the ID of the user
+     * @return the number of deleted plan entries
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM PlanEntry p WHERE p.user.id = :userId")
+    int deletePlanEntriesByUserId(@Param("userId") int userId);
 }
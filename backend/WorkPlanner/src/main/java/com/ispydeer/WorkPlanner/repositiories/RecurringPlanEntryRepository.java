@@ -0,0 +1,103 @@
+package com.ispydeer.WorkPlanner.repositiories;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.RecurringPlanEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing and managing RecurringPlanEntry entities.
+ */
+public interface RecurringPlanEntryRepository extends JpaRepository<RecurringPlanEntry, Integer> {
+
+    /**
+     * Finds the recurring plan entries of a specific team and user whose series overlaps the given time window.
+     *
+     * @param teamId the ID of the team
+     * @param userId the ID of the user
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return a list of recurring plan entries starting before {@code to} and not ending before {@code from}
+     */
+    @Query("""
+            SELECT r FROM RecurringPlanEntry r
+            WHERE r.team.id = :teamId
+              AND r.user.id = :userId
+              AND r.startTime < :to
+              AND (r.seriesEndTime IS NULL OR r.seriesEndTime > :from)
+            """)
+    List<RecurringPlanEntry> findRecurringPlanEntriesByTeamIdAndUserIdInTimeWindow(
+            @Param("teamId") int teamId,
+            @Param("userId") int userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Finds the recurring plan entries of a team whose series overlaps the given time window.
+     *
+     * @param teamId the ID of the team
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return a list of recurring plan entries starting before {@code to} and not ending before {@code from}
+     */
+    @Query("""
+            SELECT r FROM RecurringPlanEntry r
+            WHERE r.team.id = :teamId
+              AND r.startTime < :to
+              AND (r.seriesEndTime IS NULL OR r.seriesEndTime > :from)
+            """)
+    List<RecurringPlanEntry> findRecurringPlanEntriesByTeamIdInTimeWindow(
+            @Param("teamId") int teamId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Finds the recurring plan entries of the given users, across all teams, whose series overlaps the given time window.
+     *
+     * @param userIds the IDs of the users
+     * @param from    the inclusive start of the time window
+     * @param to      the exclusive end of the time window
+     * @return a list of recurring plan entries starting before {@code to} and not ending before {@code from}
+     */
+    @Query("""
+            SELECT r FROM RecurringPlanEntry r
+            WHERE r.user.id IN :userIds
+              AND r.startTime < :to
+              AND (r.seriesEndTime IS NULL OR r.seriesEndTime > :from)
+            """)
+    List<RecurringPlanEntry> findRecurringPlanEntriesByUserIdsInTimeWindow(
+            @Param("userIds") Collection<Integer> userIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Finds and locks a recurring plan entry, so concurrent changes of its exception dates are applied one after another.
+     *
+     * @param id the ID of the recurring plan entry
+     * @return an Optional containing the locked recurring plan entry, or empty if no recurring plan entry
+     * with the given ID exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<RecurringPlanEntry> findForUpdateById(int id);
+
+    /**
+     * Deletes all recurring plan entries of a user in a single statement.
+     *
+     * @param userId the ID of the user
+     * @return the number of deleted recurring plan entries
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM RecurringPlanEntry r WHERE r.user.id = :userId")
+    int deleteRecurringPlanEntriesByUserId(@Param("userId") int userId);
+}
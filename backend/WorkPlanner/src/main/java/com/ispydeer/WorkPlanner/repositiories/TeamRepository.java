@@ -1,8 +1,21 @@
 package com.ispydeer.WorkPlanner.repositiories;
 
 import com.ispydeer.WorkPlanner.entities.team.Team;
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -11,11 +24,23 @@ import java.util.Optional;
 public interface TeamRepository extends JpaRepository<Team, Integer> {
 
     /**
-     * Finds a team by its name.
+     * Finds a team by its ID, fetching its team leader in the same query.
+     *
+     * @param id the ID of the team
+     * @return an Optional containing the found team, or empty if no team with the given ID exists
+     */
+    @EntityGraph(attributePaths = "teamLeader")
+    Optional<Team> findWithTeamLeaderById(int id);
+
+    /**
+     * Finds a team by its name, fetching its team leader in the same query.
+     * The result is kept in the query cache until the team or user table changes.
      *
      * @param name the name of the team
      * @return an Optional containing the found team, or empty if no team with the given name exists
      */
+    @EntityGraph(attributePaths = "teamLeader")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Team> findByName(String name);
 
     /**
@@ -25,4 +50,160 @@ public interface TeamRepository extends JpaRepository<Team, Integer> {
      * @return true if a team with the specified name exists, false otherwise
      */
     boolean existsByName(String name);
+
+    /**
+     * Finds the first teams in name order, fetching their team leaders in the same query.
+     *
+     * @param limit the maximum number of teams to return
+     * @return a list of teams sorted by name and ID
+     */
+    @EntityGraph(attributePaths = "teamLeader")
+    @Query("SELECT t FROM Team t ORDER BY t.name, t.id")
+    List<Team> findTeamsOrderedByName(Limit limit);
+
+    /**
+     * Finds the teams following the given team in name order, fetching their team leaders in the same query.
+     *
+     * @param name  the name of the last team of the previous page
+     * @param id    the ID of the last team of the previous page
+     * @param limit the maximum number of teams to return
+     * @return a list of teams sorted by name and ID
+     */
+    @EntityGraph(attributePaths = "teamLeader")
+    @Query("""
+            SELECT t FROM Team t
+            WHERE t.name > :name OR (t.name = :name AND t.id > :id)
+            ORDER BY t.name, t.id
+            """)
+    List<Team> findTeamsOrderedByNameAfter(@Param("name") String name, @Param("id") int id, Limit limit);
+
+    /**
+     * Finds the IDs of all members of a team.
+     *
+     * @param teamId the ID of the team
+     * @return the IDs of the team's members, sorted
+     */
+    @Query("SELECT u.id FROM Team t JOIN t.setOfUsers u WHERE t.id = :teamId ORDER BY u.id")
+    List<Integer> findMemberIdsByTeamId(@Param("teamId") int teamId);
+
+    /**
+     * Finds the IDs of all teams a user is a member or the leader of.
+     *
+     * @param userId the ID of the user
+     * @return the IDs of the user's teams
+     */
+    @Query("""
+            SELECT DISTINCT t.id FROM Team t LEFT JOIN t.setOfUsers u
+            WHERE u.id = :userId OR t.teamLeader.id = :userId
+            """)
+    List<Integer> findTeamIdsByMemberOrLeaderId(@Param("userId") int userId);
+
+    /**
+     * Removes a user as the leader of every team they lead, in a single statement.
+     *
+     * @param userId the ID of the user
+     * @return the number of updated teams
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Team t SET t.teamLeader = null WHERE t.teamLeader.id = :userId")
+    int clearTeamLeader(@Param("userId") int userId);
+
+    /**
+     * Finds the first teams of a user in name order, as DTOs built by the query together with their team leaders,
+     * without loading the user or the team entities.
+     *
+     * @param userId the ID of the user
+     * @param limit  the maximum number of teams to return
+     * @return a list of the user's teams sorted by name and ID
+     */
+    @Query("""
+            SELECT new com.ispydeer.WorkPlanner.entities.team.dto.TeamDto(
+                t.id, t.name, t.description, l.id, l.username, l.firstName, l.lastName, l.role)
+            FROM Team t JOIN t.setOfUsers u LEFT JOIN t.teamLeader l
+            WHERE u.id = :userId
+            ORDER BY t.name, t.id
+            """)
+    List<TeamDto> findUserTeamsOrderedByName(@Param("userId") int userId, Limit limit);
+
+    /**
+     * Finds the teams of a user following the given team in name order, as DTOs built by the query.
+     *
+     * @param userId the ID of the user
+     * @param name   the name of the last team of the previous page
+     * @param id     the ID of the last team of the previous page
+     * @param limit  the maximum number of teams to return
+     * @return a list of the user's teams sorted by name and ID
+     */
+    @Query("""
+            SELECT new com.ispydeer.WorkPlanner.entities.team.dto.TeamDto(
+                t.id, t.name, t.description, l.id, l.username, l.firstName, l.lastName, l.role)
+            FROM Team t JOIN t.setOfUsers u LEFT JOIN t.teamLeader l
+            WHERE u.id = :userId
+              AND (t.name > :name OR (t.name = :name AND t.id > :id))
+            ORDER BY t.name, t.id
+            """)
+    List<TeamDto> findUserTeamsOrderedByNameAfter(
+            @Param("userId") int userId,
+            @Param("name") String name,
+            @Param("id") int id,
+            Limit limit
+    );
+
+    /**
+     * Finds and locks a team, so concurrent changes of its membership are applied one after another.
+     *
+     * @param id the ID of the team
+     * @return an Optional containing the locked team, or empty if no team with the given ID exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Team> findForUpdateById(int id);
+
+    /**
+     * Adds the given users to a team in a single statement, skipping users that are already members
+     * and IDs of users that do not exist. The statement declares the join table as its query space,
+     * so Hibernate does not invalidate the whole second-level cache; the caller evicts the team's members.
+     *
+     * @param teamId  the ID of the team
+     * @param userIds the IDs of the users to add
+     * @return the number of added memberships
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_set_of_users"))
+    @Query(value = """
+            INSERT INTO team_set_of_users (set_of_teams_id, set_of_users_id)
+            SELECT t.id, u.id FROM team t, basic_user u
+            WHERE t.id = :teamId
+              AND u.id IN (:userIds)
+              AND NOT EXISTS (
+                SELECT 1 FROM team_set_of_users m
+                WHERE m.set_of_teams_id = t.id AND m.set_of_users_id = u.id)
+            """, nativeQuery = true)
+    int insertMembers(@Param("teamId") int teamId, @Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Removes the given users from a team in a single statement, ignoring users that are not members.
+     * Like {@link #insertMembers}, the statement declares the join table as its query space.
+     *
+     * @param teamId  the ID of the team
+     * @param userIds the IDs of the users to remove
+     * @return the number of removed memberships
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_set_of_users"))
+    @Query(value = """
+            DELETE FROM team_set_of_users
+            WHERE set_of_teams_id = :teamId AND set_of_users_id IN (:userIds)
+            """, nativeQuery = true)
+    int deleteMembers(@Param("teamId") int teamId, @Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Removes the leader of a team in a single statement if the leader is one of the given users.
+     *
+     * @param teamId  the ID of the team
+     * @param userIds the IDs of the users
+     * @return the number of updated teams
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Team t SET t.teamLeader = null WHERE t.id = :teamId AND t.teamLeader.id IN :userIds")
+    int clearTeamLeader(@Param("teamId") int teamId, @Param("userIds") Collection<Integer> userIds);
 }
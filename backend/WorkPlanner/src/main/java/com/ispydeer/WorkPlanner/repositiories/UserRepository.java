@@ -1,8 +1,20 @@
 package com.ispydeer.WorkPlanner.repositiories;
 
 import com.ispydeer.WorkPlanner.entities.user.User;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,10 +24,12 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     /**
      * Finds a user by its username.
+     * The result is kept in the query cache until the user table changes.
      *
      * @param username the username of the user
      * @return an Optional containing the found user, or empty if no user with the given username exists
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
     /**
@@ -25,4 +39,117 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * @return true if a user with the specified username exists, false otherwise
      */
     boolean existsByUsername(String username);
+
+    /**
+     * Locks the row of a user until the end of the transaction, without loading the user,
+     * so that plan entries of the user are checked for overlaps and created one request after another.
+     * The statement declares the user table as its query space, so it does not flush unrelated changes.
+     *
+     * @param id the ID of the user
+     * @return an Optional containing the ID of the locked user, or empty if no user with the given ID exists
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "basic_user"))
+    @Query(value = "SELECT id FROM basic_user WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockById(@Param("id") int id);
+
+    /**
+     * Finds and locks the given users until the end of the transaction, in ID order,
+     * so that concurrent requests locking several of them do not deadlock.
+     *
+     * @param ids the IDs of the users
+     * @return the locked users sorted by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM BasicUser u WHERE u.id IN :ids ORDER BY u.id")
+    List<User> findForUpdateByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Finds the username of a user by its ID.
+     *
+     * @param id the ID of the user
+     * @return an Optional containing the username, or empty if no user with the given ID exists
+     */
+    @Query("SELECT u.username FROM BasicUser u WHERE u.id = :id")
+    Optional<String> findUsernameById(@Param("id") int id);
+
+    /**
+     * Deletes a user without loading it. Hibernate removes the user from the team membership join table
+     * with one more statement, but does not cascade to the plan entries, recurring plan entries and rollups
+     * of the user, which must have been deleted before.
+     *
+     * @param id the ID of the user
+     * @return the number of deleted users
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BasicUser u WHERE u.id = :id")
+    int deleteUserById(@Param("id") int id);
+
+    /**
+     * Finds the first users in first name order.
+     *
+     * @param limit the maximum number of users to return
+     * @return a list of users sorted by first name and ID
+     */
+    @Query("SELECT u FROM BasicUser u ORDER BY u.firstName, u.id")
+    List<User> findUsersOrderedByFirstName(Limit limit);
+
+    /**
+     * Finds the users following the given user in first name order.
+     *
+     * @param firstName the first name of the last user of the previous page
+     * @param id        the ID of the last user of the previous page
+     * @param limit     the maximum number of users to return
+     * @return a list of users sorted by first name and ID
+     */
+    @Query("""
+            SELECT u FROM BasicUser u
+            WHERE u.firstName > :firstName OR (u.firstName = :firstName AND u.id > :id)
+            ORDER BY u.firstName, u.id
+            """)
+    List<User> findUsersOrderedByFirstNameAfter(
+            @Param("firstName") String firstName,
+            @Param("id") int id,
+            Limit limit
+    );
+
+    /**
+     * Finds the first members of a team in first name order, as DTOs built by the query,
+     * without loading the team or the member entities.
+     *
+     * @param teamId the ID of the team
+     * @param limit  the maximum number of members to return
+     * @return a list of the members sorted by first name and ID
+     */
+    @Query("""
+            SELECT new com.ispydeer.WorkPlanner.entities.user.dto.UserDto(
+                u.id, u.username, u.firstName, u.lastName, u.role)
+            FROM BasicUser u JOIN u.setOfTeams t
+            WHERE t.id = :teamId
+            ORDER BY u.firstName, u.id
+            """)
+    List<UserDto> findTeamMembersOrderedByFirstName(@Param("teamId") int teamId, Limit limit);
+
+    /**
+     * Finds the members of a team following the given member in first name order, as DTOs built by the query.
+     *
+     * @param teamId    the ID of the team
+     * @param firstName the first name of the last member of the previous page
+     * @param id        the ID of the last member of the previous page
+     * @param limit     the maximum number of members to return
+     * @return a list of the members sorted by first name and ID
+     */
+    @Query("""
+            SELECT new com.ispydeer.WorkPlanner.entities.user.dto.UserDto(
+                u.id, u.username, u.firstName, u.lastName, u.role)
+            FROM BasicUser u JOIN u.setOfTeams t
+            WHERE t.id = :teamId
+              AND (u.firstName > :firstName OR (u.firstName = :firstName AND u.id > :id))
+            ORDER BY u.firstName, u.id
+            """)
+    List<UserDto> findTeamMembersOrderedByFirstNameAfter(
+            @Param("teamId") int teamId,
+            @Param("firstName") String firstName,
+            @Param("id") int id,
+            Limit limit
+    );
 }
@@ -0,0 +1,89 @@
+package com.ispydeer.WorkPlanner.repositiories;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.WeeklyHoursRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for accessing and managing WeeklyHoursRollup entities.
+ */
+public interface WeeklyHoursRollupRepository extends JpaRepository<WeeklyHoursRollup, Integer> {
+
+    /**
+     * Finds and locks the rollups of the given teams and users within the given range of weeks,
+     * so concurrent updates of the same rollups are applied one after another.
+     *
+     * @param teamIds   the IDs of the teams
+     * @param userIds   the IDs of the users
+     * @param firstWeek the Monday starting the first week
+     * @param lastWeek  the Monday starting the last week
+     * @return the locked rollups
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT r FROM WeeklyHoursRollup r
+            WHERE r.team.id IN :teamIds
+              AND r.user.id IN :userIds
+              AND r.weekStart BETWEEN :firstWeek AND :lastWeek
+            """)
+    List<WeeklyHoursRollup> findForUpdate(
+            @Param("teamIds") Collection<Integer> teamIds,
+            @Param("userIds") Collection<Integer> userIds,
+            @Param("firstWeek") LocalDate firstWeek,
+            @Param("lastWeek") LocalDate lastWeek
+    );
+
+    /**
+     * Finds the rollups of a team within the given range of weeks, optionally of a single user.
+     *
+     * @param teamId    the ID of the team
+     * @param userId    the ID of the user, or null for all members
+     * @param firstWeek the Monday starting the first week
+     * @param endWeek   the Monday following the last week
+     * @return the rollups sorted by week and user ID
+     */
+    @Query("""
+            SELECT r FROM WeeklyHoursRollup r
+            WHERE r.team.id = :teamId
+              AND (:userId IS NULL OR r.user.id = :userId)
+              AND r.weekStart >= :firstWeek
+              AND r.weekStart < :endWeek
+            ORDER BY r.weekStart, r.user.id
+            """)
+    List<WeeklyHoursRollup> findByTeamIdInWeeks(
+            @Param("teamId") int teamId,
+            @Param("userId") Integer userId,
+            @Param("firstWeek") LocalDate firstWeek,
+            @Param("endWeek") LocalDate endWeek
+    );
+
+    /**
+     * Deletes all rollups of a user in a single statement.
+     *
+     * @param userId the ID of the user
+     * @return the number of deleted rollups
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM WeeklyHoursRollup r WHERE r.user.id = :userId")
+    int deleteRollupsByUserId(@Param("userId") int userId);
+
+    /**
+     * Deletes all rollups of the given users in a single statement. Pending changes are flushed and
+     * the persistence context is cleared, so rebuilding rollups one chunk of users at a time releases
+     * the rollups written for earlier chunks.
+     *
+     * @param userIds the IDs of the users
+     * @return the number of deleted rollups
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM WeeklyHoursRollup r WHERE r.user.id IN :userIds")
+    int deleteRollupsByUserIds(@Param("userIds") Collection<Integer> userIds);
+}
@@ -0,0 +1,158 @@
+package com.ispydeer.WorkPlanner.security;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A PasswordEncoder running the hashing and verification of a delegate on a dedicated, bounded pool of threads.
+ * <p>
+ * Password hashing is deliberately expensive, so a burst of logins running it on the request threads
+ * would occupy every CPU and request thread and starve cheap requests. Here at most {@code threads} hashes
+ * run at the same time and at most {@code queueCapacity} wait for a thread; the calling thread waits
+ * for its hash without using the CPU. When the queue is full, the request is rejected immediately with a
+ * PasswordHashingOverloadedException, answered with 503 Service Unavailable and a {@code Retry-After} header.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    /**
+     * How long a client rejected because of overload should wait before retrying.
+     */
+    public static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+
+    /**
+     * Constructs a BoundedPasswordEncoder with the specified dependencies.
+     *
+     * @param delegate      the encoder hashing and verifying the passwords
+     * @param threads       the number of threads hashing passwords
+     * @param queueCapacity the number of hashes waiting for a thread before further ones are rejected
+     * @param meterRegistry the registry of the executor metrics and hash timers
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        if (threads < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Password hashing needs at least one thread and a non-negative queue");
+        }
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejections = Counter.builder("security.password.hashing.rejected")
+                .description("Password hashes rejected because the hashing queue was full")
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "passwordHashing", List.of()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Hashes a password on the hashing pool.
+     *
+     * @param rawPassword the password to hash
+     * @return the hash
+     * @throws PasswordHashingOverloadedException if the hashing queue is full
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Verifies a password against a hash on the hashing pool.
+     *
+     * @param rawPassword     the presented password
+     * @param encodedPassword the stored hash
+     * @return true if the password matches the hash
+     * @throws PasswordHashingOverloadedException if the hashing queue is full
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the hashing threads once the queued hashes are done.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs a hashing operation on the pool and waits for its result.
+     *
+     * @param timer     the timer of the time spent hashing, excluding the time waiting in the queue
+     * @param operation the hashing operation
+     * @return the result of the operation
+     * @throws PasswordHashingOverloadedException if the hashing queue is full
+     */
+    private <T> T run(Timer timer, Callable<T> operation) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(operation));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingOverloadedException();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("security.password.hashing")
+                .description("Time spent hashing or verifying a password, excluding the time waiting in the queue")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
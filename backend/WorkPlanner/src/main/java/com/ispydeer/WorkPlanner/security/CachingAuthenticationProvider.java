@@ -0,0 +1,167 @@
+package com.ispydeer.WorkPlanner.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * An AuthenticationProvider that remembers successful username and password authentications for a short time,
+ * so clients sending the same credentials with every request, as with HTTP Basic authentication,
+ * do not pay for a password hash verification every time.
+ * <p>
+ * The presented password is never stored. The cache keeps, per username, an HMAC of the username and password
+ * under a random key generated at startup, and a later authentication is accepted without the delegate only if
+ * its HMAC matches. Failed authentications are never cached, so a wrong password always reaches the delegate.
+ * Cached credentials expire after a fixed time and must be evicted when the password or role of the user
+ * changes or the user is deleted.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final long MAXIMUM_SIZE = 10_000;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final AuthenticationProvider delegate;
+    private final SecretKey key;
+    private final Cache<String, CachedCredentials> credentials;
+    private final Counter verifications;
+
+    /**
+     * Constructs a CachingAuthenticationProvider with the specified dependencies.
+     *
+     * @param delegate      the provider verifying the password on a cache miss
+     * @param meterRegistry the registry of the cache metrics and the verification counter
+     */
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.key = generateKey();
+        this.credentials = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(TIME_TO_LIVE)
+                .recordStats()
+                .build();
+        this.verifications = Counter.builder("security.password.verifications")
+                .description("Password authentications not answered from the credential cache")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, credentials, "credentials");
+    }
+
+    /**
+     * Authenticates a username and password, from the cache if the same credentials were verified recently.
+     *
+     * @param authentication the authentication request
+     * @return a fully authenticated token
+     * @throws AuthenticationException if the delegate rejects the credentials
+     */
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object password = authentication.getCredentials();
+        if (username == null || !(password instanceof String)) {
+            return delegate.authenticate(authentication);
+        }
+        byte[] digest = digest(username, (String) password);
+        CachedCredentials cached = credentials.getIfPresent(username);
+        if (cached != null && MessageDigest.isEqual(cached.digest(), digest)) {
+            return authenticated(cached.principal(), cached.authorities(), authentication);
+        }
+
+        verifications.increment();
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            credentials.put(username, new CachedCredentials(digest, result.getPrincipal(), result.getAuthorities()));
+            return authenticated(result.getPrincipal(), result.getAuthorities(), authentication);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    /**
+     * Evicts the cached credentials of a user. The eviction is repeated when the surrounding transaction,
+     * if any, completes, so an authentication against the old data between the change and its commit
+     * is not cached.
+     *
+     * @param username the username of the user
+     */
+    public void evict(String username) {
+        credentials.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    credentials.invalidate(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * Creates a new authenticated token, so callers erasing or modifying it do not affect the cached entry.
+     */
+    private static Authentication authenticated(
+            Object principal,
+            Collection<? extends GrantedAuthority> authorities,
+            Authentication request
+    ) {
+        UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken
+                .authenticated(principal, null, authorities);
+        result.setDetails(request.getDetails());
+        return result;
+    }
+
+    private byte[] digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to compute the credential digest", e);
+        }
+    }
+
+    private static SecretKey generateKey() {
+        try {
+            return KeyGenerator.getInstance(HMAC_ALGORITHM).generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate the credential cache key", e);
+        }
+    }
+
+    /**
+     * The verified credentials of a user and the result of their authentication.
+     *
+     * @param digest      the HMAC of the username and password
+     * @param principal   the authenticated principal
+     * @param authorities the granted authorities
+     */
+    private record CachedCredentials(
+            byte[] digest,
+            Object principal,
+            Collection<? extends GrantedAuthority> authorities
+    ) {
+    }
+}
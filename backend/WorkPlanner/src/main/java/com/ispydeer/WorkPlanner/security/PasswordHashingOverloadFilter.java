@@ -0,0 +1,40 @@
+package com.ispydeer.WorkPlanner.security;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.PasswordHashingOverloadedException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers requests whose authentication was rejected because password hashing is overloaded
+ * with 503 Service Unavailable and a {@code Retry-After} header.
+ * <p>
+ * Exceptions thrown by controllers are handled by the exception handler, but HTTP Basic authentication
+ * verifies the password in the filter chain, before any controller runs.
+ */
+public class PasswordHashingOverloadFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (PasswordHashingOverloadedException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.resetBuffer();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(BoundedPasswordEncoder.RETRY_AFTER.toSeconds()));
+        }
+    }
+}
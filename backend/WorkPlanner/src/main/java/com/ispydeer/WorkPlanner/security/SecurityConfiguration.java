@@ -1,13 +1,15 @@
 package com.ispydeer.WorkPlanner.security;
 
+import com.ispydeer.WorkPlanner.security.jwt.CachingJwtDecoder;
+import com.ispydeer.WorkPlanner.security.jwt.JwtKeySet;
+import com.ispydeer.WorkPlanner.security.jwt.JwtSigningKey;
 import com.ispydeer.WorkPlanner.services.AuthUserDetailsService;
-import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
@@ -19,22 +21,17 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
-import java.util.UUID;
-
 import static org.springframework.security.config.Customizer.withDefaults;
 
 /**
@@ -88,6 +85,7 @@ public class SecurityConfiguration {
                                 .accessDeniedHandler(new BearerTokenAccessDeniedHandler())
                 )
                 .httpBasic(withDefaults())
+                .addFilterBefore(new PasswordHashingOverloadFilter(), BasicAuthenticationFilter.class)
                 .headers(header -> header.frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin))
                 .build();
     }
@@ -104,98 +102,114 @@ public class SecurityConfiguration {
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**")
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                        .allowedOrigins("http://localhost:3000", "https://workplanner-app.netlify.app/");
+                        .allowedOrigins("http://localhost:3000", "https://workplanner-app.netlify.app/")
+                        .exposedHeaders(CursorPage.NEXT_PAGE_TOKEN_HEADER);
             }
         };
     }
 
     /**
-     * Configures CORS settings for the application.
+     * Configures the password encoder, which hashes and verifies passwords with BCrypt
+     * on a bounded pool of threads separate from the request threads.
      *
-     * @return the configured WebMvcConfigurer for CORS
+     * @param threads       the number of threads hashing passwords, by default one per processor
+     * @param queueCapacity the number of hashes waiting for a thread before further ones are rejected
+     * @param meterRegistry the registry of the hashing metrics
+     * @return the configured PasswordEncoder
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${workplanner.password-hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+            int threads,
+            @Value("${workplanner.password-hashing.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, meterRegistry);
     }
 
     /**
-     * Configures the AuthenticationManager bean.
+     * Configures the provider authenticating usernames and passwords, which caches recently verified credentials.
+     * Being the only AuthenticationProvider bean, it also authenticates HTTP Basic requests.
      *
-     * @return the configured AuthenticationManager
+     * @param passwordEncoder the encoder verifying passwords on a cache miss
+     * @param meterRegistry   the registry of the credential cache metrics
+     * @return the configured CachingAuthenticationProvider
      */
     @Bean
-    public AuthenticationManager authenticationManager() {
+    public CachingAuthenticationProvider cachingAuthenticationProvider(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry
+    ) {
         var authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(authUserDetailsService);
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
-        return new ProviderManager(authenticationProvider);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        return new CachingAuthenticationProvider(authenticationProvider, meterRegistry);
     }
 
     /**
-     * Provides a JWKSource bean for JWT signing and verification.
+     * Configures the AuthenticationManager bean.
      *
-     * @return the configured JWKSource
+     * @param cachingAuthenticationProvider the provider authenticating usernames and passwords
+     * @return the configured AuthenticationManager
      */
     @Bean
-    public JWKSource<SecurityContext> jwkSource() {
-        JWKSet jwkSet = new JWKSet(rsaKey());
-        return (jwkSelector, securityContext)
-                -> jwkSelector.select(jwkSet);
+    public AuthenticationManager authenticationManager(CachingAuthenticationProvider cachingAuthenticationProvider) {
+        return new ProviderManager(cachingAuthenticationProvider);
     }
 
     /**
-     * Configures a JwtEncoder bean for encoding JWTs.
+     * Loads the keys signing and verifying JWTs from a JWK set file, shared by all instances of the application,
+     * so tokens stay valid across restarts and instances. Without a file, a key is generated on every start,
+     * so tokens issued before a restart or by another instance are not accepted.
      *
-     * @param jwkSource the JWKSource used for encoding
-     * @return the configured JwtEncoder
+     * @param jwkSet      the JWK set file, or null to generate a key
+     * @param activeKeyId the key ID of the key signing the issued tokens, needed if the file has several keys
+     * @param algorithm   the signing algorithm of a generated key, RS256 by default
+     * @return the loaded or generated JwtKeySet
      */
     @Bean
-    JwtEncoder jwtEncoder(JWKSource<SecurityContext> jwkSource) {
-        return new NimbusJwtEncoder(jwkSource);
+    public JwtKeySet jwtKeySet(
+            @Value("${workplanner.jwt.jwk-set-location:#{null}}") Resource jwkSet,
+            @Value("${workplanner.jwt.active-key-id:}") String activeKeyId,
+            @Value("${workplanner.jwt.algorithm:RS256}") SignatureAlgorithm algorithm
+    ) {
+        if (jwkSet == null) {
+            return JwtKeySet.of(JwtSigningKey.generate(algorithm));
+        }
+        return JwtKeySet.load(jwkSet, activeKeyId);
     }
 
     /**
-     * Configures a JwtDecoder bean for decoding JWTs.
+     * Provides the key signing the issued JWTs.
      *
-     * @return the configured JwtDecoder
-     * @throws JOSEException if an error occurs during JWT decoding configuration
+     * @param jwtKeySet the loaded or generated keys
+     * @return the active JwtSigningKey
      */
     @Bean
-    JwtDecoder jwtDecoder() throws JOSEException {
-        return NimbusJwtDecoder
-                .withPublicKey(rsaKey().toRSAPublicKey())
-                .build();
+    public JwtSigningKey jwtSigningKey(JwtKeySet jwtKeySet) {
+        return jwtKeySet.signingKey();
     }
 
     /**
-     * Provides an RSAKey bean for JWT signing.
+     * Configures a JwtEncoder bean for encoding JWTs.
      *
-     * @return the configured RSAKey
+     * @param jwtSigningKey the key signing the tokens
+     * @return the configured JwtEncoder
      */
     @Bean
-    public RSAKey rsaKey() {
-        KeyPair keyPair = keyPair();
-        return new RSAKey
-                .Builder((RSAPublicKey) keyPair.getPublic())
-                .privateKey((RSAPrivateKey) keyPair.getPrivate())
-                .keyID(UUID.randomUUID().toString())
-                .build();
+    JwtEncoder jwtEncoder(JwtSigningKey jwtSigningKey) {
+        return jwtSigningKey.encoder();
     }
 
     /**
-     * Generates a KeyPair for RSA encryption.
+     * Configures a JwtDecoder bean for decoding JWTs, which caches recently verified tokens.
      *
-     * @return the generated KeyPair
+     * @param jwtKeySet     the keys the tokens may be signed with
+     * @param meterRegistry the registry of the token cache metrics
+     * @return the configured JwtDecoder
      */
     @Bean
-    public KeyPair keyPair() {
-        try {
-            var keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-            keyPairGenerator.initialize(2048);
-            return keyPairGenerator.generateKeyPair();
-        } catch (Exception e) {
-            throw new IllegalStateException("Unable to generate an RSA Key Pair", e);
-        }
+    JwtDecoder jwtDecoder(JwtKeySet jwtKeySet, MeterRegistry meterRegistry) {
+        return new CachingJwtDecoder(jwtKeySet.decoder(), meterRegistry);
     }
 }
@@ -0,0 +1,113 @@
+package com.ispydeer.WorkPlanner.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * A JwtDecoder that remembers recently verified tokens, so clients sending the same bearer token with every
+ * request do not pay for a signature verification every time.
+ * <p>
+ * The cache is keyed by the SHA-256 hash of the token, so only the exact token that was verified is accepted
+ * without the delegate. A token is cached until it expires, but no longer than a fixed time; tokens without
+ * an expiry and rejected tokens are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final long MAXIMUM_SIZE = 10_000;
+    private static final Duration MAXIMUM_TIME_TO_LIVE = Duration.ofMinutes(30);
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> tokens;
+    private final Counter verifications;
+
+    /**
+     * Constructs a CachingJwtDecoder with the specified dependencies.
+     *
+     * @param delegate      the decoder verifying and validating the token on a cache miss
+     * @param meterRegistry the registry of the cache metrics and the verification counter
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        this.verifications = Counter.builder("security.jwt.verifications")
+                .description("Bearer tokens not answered from the verified token cache")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "verifiedTokens");
+    }
+
+    /**
+     * Decodes a token, from the cache if the same token was verified recently.
+     *
+     * @param token the encoded token
+     * @return the decoded token
+     * @throws JwtException if the delegate rejects the token
+     */
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String hash = hash(token);
+        Jwt cached = tokens.getIfPresent(hash);
+        if (cached != null) {
+            return cached;
+        }
+
+        verifications.increment();
+        Jwt jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null) {
+            tokens.put(hash, jwt);
+        }
+        return jwt;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to hash the token", e);
+        }
+    }
+
+    /**
+     * Expires a cached token when the token itself expires, or after the maximum time to live if sooner.
+     * Reading or replacing the entry does not extend it.
+     */
+    private static class UntilTokenExpiry implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String hash, Jwt jwt, long currentTime) {
+            Duration untilExpiry = Duration.between(Instant.now(), jwt.getExpiresAt());
+            if (untilExpiry.isNegative()) {
+                return 0;
+            }
+            return Math.min(untilExpiry.toNanos(), MAXIMUM_TIME_TO_LIVE.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String hash, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String hash, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.ispydeer.WorkPlanner.security.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.core.io.Resource;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The keys accepted for verifying JWTs, and the one of them signing the issued tokens.
+ * <p>
+ * Every instance of the application loads the same JWK set file, so a token issued by one instance
+ * is accepted by all of them and by instances started later. Every key in the file must have a key ID
+ * ({@code kid}) and an algorithm ({@code alg}); the active key must also contain its private part.
+ * Tokens name the key that signed them, so a key can be rotated without invalidating the issued tokens:
+ * <ol>
+ *     <li>add the new key to the file and roll out the instances, which then accept both keys,</li>
+ *     <li>make the new key the active key and roll out the instances, which then sign with it,</li>
+ *     <li>once the tokens signed with the old key have expired, remove it from the file and roll out again.</li>
+ * </ol>
+ *
+ * @param verificationKeys the public keys accepted for verification
+ * @param signingKey       the key signing the issued tokens
+ */
+public record JwtKeySet(JWKSet verificationKeys, JwtSigningKey signingKey) {
+
+    /**
+     * Creates a key set of a single key, used for both signing and verification.
+     *
+     * @param signingKey the key
+     * @return the key set
+     */
+    public static JwtKeySet of(JwtSigningKey signingKey) {
+        return new JwtKeySet(new JWKSet(signingKey.jwk().toPublicJWK()), signingKey);
+    }
+
+    /**
+     * Loads a key set from a JWK set file.
+     *
+     * @param jwkSet      the JWK set file
+     * @param activeKeyId the key ID of the key signing the issued tokens, or null or empty if the file has one key
+     * @return the key set
+     * @throws IllegalStateException if the file cannot be read or a key lacks its key ID or algorithm,
+     *                               or the active key is missing or lacks its private part
+     */
+    public static JwtKeySet load(Resource jwkSet, String activeKeyId) {
+        JWKSet keys;
+        try (InputStream inputStream = jwkSet.getInputStream()) {
+            keys = JWKSet.load(inputStream);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unable to load the JWK set " + jwkSet.getDescription(), e);
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("The JWK set " + jwkSet.getDescription() + " has no keys");
+        }
+        for (JWK key : keys.getKeys()) {
+            if (key.getKeyID() == null || key.getAlgorithm() == null) {
+                throw new IllegalStateException("Every key of the JWK set needs a key ID and an algorithm");
+            }
+            if (SignatureAlgorithm.from(key.getAlgorithm().getName()) == null) {
+                throw new IllegalStateException("Key " + key.getKeyID() + " has an unsupported algorithm "
+                        + key.getAlgorithm().getName());
+            }
+        }
+
+        JWK activeKey = activeKey(keys, activeKeyId);
+        if (!activeKey.isPrivate()) {
+            throw new IllegalStateException("The active key " + activeKey.getKeyID() + " has no private key");
+        }
+        JwtSigningKey signingKey = new JwtSigningKey(
+                activeKey,
+                SignatureAlgorithm.from(activeKey.getAlgorithm().getName())
+        );
+        return new JwtKeySet(keys.toPublicJWKSet(), signingKey);
+    }
+
+    /**
+     * Creates a decoder accepting tokens signed with any of the verification keys, using the algorithm
+     * of that key, and validating their timestamps with the default validators.
+     *
+     * @return the decoder
+     */
+    public JwtDecoder decoder() {
+        Set<JWSAlgorithm> algorithms = verificationKeys.getKeys().stream()
+                .map(key -> JWSAlgorithm.parse(key.getAlgorithm().getName()))
+                .collect(Collectors.toSet());
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                algorithms,
+                new ImmutableJWKSet<>(verificationKeys)
+        ));
+        // The claims are validated by the decoder, as with the decoders built by NimbusJwtDecoder itself
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(jwtProcessor);
+    }
+
+    private static JWK activeKey(JWKSet keys, String activeKeyId) {
+        if (activeKeyId == null || activeKeyId.isEmpty()) {
+            if (keys.size() != 1) {
+                throw new IllegalStateException("The JWK set has several keys, so the active key ID must be set");
+            }
+            return keys.getKeys().getFirst();
+        }
+        JWK activeKey = keys.getKeyByKeyId(activeKeyId);
+        if (activeKey == null) {
+            throw new IllegalStateException("The JWK set has no key " + activeKeyId);
+        }
+        return activeKey;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ispydeer.WorkPlanner.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.util.UUID;
+
+/**
+ * The key signing the issued JWTs, together with the algorithm it signs with.
+ * <p>
+ * RSA algorithms (RS256, PS256, ...) use a 2048-bit key. The elliptic curve algorithms (ES256, ES384, ES512)
+ * use the curve of the algorithm; ES256 signs considerably faster than RS256 and produces shorter tokens,
+ * while verification costs about the same.
+ *
+ * @param jwk       the key pair, identified by its key ID
+ * @param algorithm the algorithm the key signs with
+ */
+public record JwtSigningKey(JWK jwk, SignatureAlgorithm algorithm) {
+
+    private static final int RSA_KEY_SIZE = 2048;
+
+    /**
+     * Generates a new key pair for an algorithm, with a random key ID. The JSON of the key,
+     * {@code jwk().toJSONString()}, can be added to a JWK set file loaded by {@link JwtKeySet#load}.
+     *
+     * @param algorithm the signing algorithm
+     * @return the generated signing key
+     */
+    public static JwtSigningKey generate(SignatureAlgorithm algorithm) {
+        String keyId = UUID.randomUUID().toString();
+        JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(algorithm.getName());
+        try {
+            JWK jwk = switch (algorithm) {
+                case RS256, RS384, RS512, PS256, PS384, PS512 -> new RSAKeyGenerator(RSA_KEY_SIZE)
+                        .keyID(keyId)
+                        .algorithm(jwsAlgorithm)
+                        .generate();
+                case ES256 -> new ECKeyGenerator(Curve.P_256).keyID(keyId).algorithm(jwsAlgorithm).generate();
+                case ES384 -> new ECKeyGenerator(Curve.P_384).keyID(keyId).algorithm(jwsAlgorithm).generate();
+                case ES512 -> new ECKeyGenerator(Curve.P_521).keyID(keyId).algorithm(jwsAlgorithm).generate();
+            };
+            return new JwtSigningKey(jwk, algorithm);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Unable to generate a " + algorithm + " key pair", e);
+        }
+    }
+
+    /**
+     * Returns the header of the tokens signed with this key.
+     *
+     * @return a header naming the algorithm and key ID
+     */
+    public JwsHeader header() {
+        return JwsHeader.with(algorithm).keyId(jwk.getKeyID()).build();
+    }
+
+    /**
+     * Creates an encoder signing tokens with this key. The tokens must carry the {@link #header()}.
+     *
+     * @return the encoder
+     */
+    public JwtEncoder encoder() {
+        return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
+    }
+}
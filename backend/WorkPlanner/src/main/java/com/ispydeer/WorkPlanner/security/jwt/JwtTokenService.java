@@ -19,10 +19,12 @@ import java.time.temporal.ChronoUnit;
 public class JwtTokenService {
 
     private final JwtEncoder jwtEncoder;
+    private final JwtSigningKey jwtSigningKey;
     private final UserService userService;
 
-    public JwtTokenService(JwtEncoder jwtEncoder, UserService userService) {
+    public JwtTokenService(JwtEncoder jwtEncoder, JwtSigningKey jwtSigningKey, UserService userService) {
         this.jwtEncoder = jwtEncoder;
+        this.jwtSigningKey = jwtSigningKey;
         this.userService = userService;
     }
 
@@ -47,7 +49,7 @@ public class JwtTokenService {
                 .build();
 
         return this.jwtEncoder
-                .encode(JwtEncoderParameters.from(claims))
+                .encode(JwtEncoderParameters.from(jwtSigningKey.header(), claims))
                 .getTokenValue();
     }
 }
@@ -1,60 +1,172 @@
 package com.ispydeer.WorkPlanner.services;
 
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidAvailabilityRequestException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidBulkRequestException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidPageRequestException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidPlanEntryTimeException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidTimeWindowException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.PlanEntryConflictException;
 import com.ispydeer.WorkPlanner.controllers.exceptions.PlanEntryNotFoundException;
 import com.ispydeer.WorkPlanner.controllers.exceptions.TeamNotFoundException;
 import com.ispydeer.WorkPlanner.controllers.exceptions.UserNotFoundException;
 import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryBulkItemDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryBulkResultDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryBulkStatus;
 import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.UserScheduleDto;
 import com.ispydeer.WorkPlanner.entities.team.Team;
+import com.ispydeer.WorkPlanner.entities.team.dto.AvailabilitySlotDto;
 import com.ispydeer.WorkPlanner.entities.user.User;
+import com.ispydeer.WorkPlanner.repositiories.BusyInterval;
 import com.ispydeer.WorkPlanner.repositiories.PlanEntryRepository;
 import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
 import com.ispydeer.WorkPlanner.repositiories.UserRepository;
-import org.modelmapper.ModelMapper;
+import com.ispydeer.WorkPlanner.services.availability.FreeSlotFinder;
+import com.ispydeer.WorkPlanner.services.cache.EntityCache;
+import com.ispydeer.WorkPlanner.services.conflict.PlanEntryConflictDetector;
+import com.ispydeer.WorkPlanner.services.mapper.PlanEntryMapper;
+import com.ispydeer.WorkPlanner.services.mapper.UserMapper;
+import com.ispydeer.WorkPlanner.services.metrics.MetricsConfiguration;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
+import com.ispydeer.WorkPlanner.services.pagination.PageToken;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 /**
  * Service class for managing plan entries.
  */
 @Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 public class PlanEntryService {
 
+    /**
+     * The maximum number of plan entries in a single bulk creation request.
+     */
+    public static final int MAX_BULK_SIZE = 1000;
+
+    /**
+     * The maximum length of a time window read at once, which bounds the number of plan entries
+     * and expanded occurrences of recurring plan entries held in memory by a single request.
+     */
+    public static final Duration MAX_TIME_WINDOW = Duration.ofDays(366);
+
     private PlanEntryRepository planEntryRepository;
     private TeamRepository teamRepository;
     private UserRepository userRepository;
-    private ModelMapper modelMapper;
+    private PlanEntryConflictDetector planEntryConflictDetector;
+    private EntityCache entityCache;
+    private RecurringPlanEntryService recurringPlanEntryService;
+    private WeeklyHoursRollupService weeklyHoursRollupService;
+    private PlanEntryMapper planEntryMapper;
+    private UserMapper userMapper;
+    private Validator validator;
 
     /**
      * Constructs a PlanEntryService with the specified dependencies.
      *
-     * @param planEntryRepository the repository for plan entry operations
-     * @param teamRepository      the repository for team operations
-     * @param userRepository      the repository for user operations
-     * @param modelMapper         the model mapper for DTO conversions
+     * @param planEntryRepository    the repository for plan entry operations
+     * @param teamRepository         the repository for team operations
+     * @param userRepository         the repository for user operations
+     * @param planEntryConflictDetector the detector of overlapping plan entries
+     * @param entityCache               the cache of team and user lookups
+     * @param recurringPlanEntryService the service expanding occurrences of recurring plan entries
+     * @param weeklyHoursRollupService  the service maintaining the weekly rollups of plan entries
+     * @param planEntryMapper           the mapper for plan entry DTO conversions
+     * @param userMapper                the mapper for user DTO conversions
+     * @param validator                 the validator for items of bulk requests
      */
     public PlanEntryService(
             PlanEntryRepository planEntryRepository,
             TeamRepository teamRepository,
             UserRepository userRepository,
-            ModelMapper modelMapper
+            PlanEntryConflictDetector planEntryConflictDetector,
+            EntityCache entityCache,
+            RecurringPlanEntryService recurringPlanEntryService,
+            WeeklyHoursRollupService weeklyHoursRollupService,
+            PlanEntryMapper planEntryMapper,
+            UserMapper userMapper,
+            Validator validator
     ) {
         this.planEntryRepository = planEntryRepository;
         this.teamRepository = teamRepository;
         this.userRepository = userRepository;
-        this.modelMapper = modelMapper;
+        this.planEntryConflictDetector = planEntryConflictDetector;
+        this.entityCache = entityCache;
+        this.recurringPlanEntryService = recurringPlanEntryService;
+        this.weeklyHoursRollupService = weeklyHoursRollupService;
+        this.planEntryMapper = planEntryMapper;
+        this.userMapper = userMapper;
+        this.validator = validator;
     }
 
     /**
-     * Retrieves all plan entries.
+     * Retrieves a page of all plan entries, sorted by their start time.
      *
-     * @return a list of PlanEntryDto representing all plan entries
+     * @param pageToken the token of the page to retrieve, or null for the first page
+     * @param pageSize  the maximum number of plan entries on the page
+     * @return a page of PlanEntryDto representing the plan entries
+     * @throws InvalidPageRequestException if the page token or page size is invalid
      */
-    public List<PlanEntryDto> retrieveAllPlanEntries() {
-        List<PlanEntry> planEntries = planEntryRepository.findAll();
-        return planEntries.stream().map(planEntry -> modelMapper.map(planEntry, PlanEntryDto.class)).toList();
+    public CursorPage<PlanEntryDto> retrieveAllPlanEntries(String pageToken, int pageSize) {
+        Limit limit = CursorPage.limitFor(pageSize);
+        List<PlanEntry> planEntries;
+        if (pageToken == null) {
+            planEntries = planEntryRepository.findPlanEntriesOrderedByStartTime(limit);
+        } else {
+            PageToken after = PageToken.decode(pageToken);
+            planEntries = planEntryRepository
+                    .findPlanEntriesOrderedByStartTimeAfter(after.sortKeyAsDateTime(), after.id(), limit);
+        }
+        return toPage(planEntries, pageSize);
+    }
+
+    /**
+     * Retrieves a page of plan entries overlapping the given time window, sorted by their start time.
+     *
+     * @param from      the inclusive start of the time window
+     * @param to        the exclusive end of the time window
+     * @param pageToken the token of the page to retrieve, or null for the first page
+     * @param pageSize  the maximum number of plan entries on the page
+     * @return a page of PlanEntryDto representing the plan entries within the time window
+     * @throws InvalidTimeWindowException  if either bound is missing, {@code from} is not before {@code to}
+     *                                     or the window is longer than {@link #MAX_TIME_WINDOW}
+     * @throws InvalidPageRequestException if the page token or page size is invalid
+     */
+    public CursorPage<PlanEntryDto> retrievePlanEntriesInTimeWindow(
+            LocalDateTime from,
+            LocalDateTime to,
+            String pageToken,
+            int pageSize
+    ) {
+        validateTimeWindow(from, to);
+        Limit limit = CursorPage.limitFor(pageSize);
+        List<PlanEntry> planEntries;
+        if (pageToken == null) {
+            planEntries = planEntryRepository.findPlanEntriesInTimeWindow(from, to, limit);
+        } else {
+            PageToken after = PageToken.decode(pageToken);
+            planEntries = planEntryRepository
+                    .findPlanEntriesInTimeWindowAfter(from, to, after.sortKeyAsDateTime(), after.id(), limit);
+        }
+        return toPage(planEntries, pageSize);
     }
 
     /**
@@ -66,7 +178,7 @@ public class PlanEntryService {
      */
     public PlanEntryDto retrievePlanEntryById(int planEntryId) {
         PlanEntry planEntry = planEntryRepository.findById(planEntryId).orElseThrow(PlanEntryNotFoundException::new);
-        return modelMapper.map(planEntry, PlanEntryDto.class);
+        return planEntryMapper.toDto(planEntry);
     }
 
     /**
@@ -79,42 +191,429 @@ public class PlanEntryService {
      * @throws UserNotFoundException if the user with the given ID does not exist
      */
     public List<PlanEntryDto> retrievePlanEntriesByTeamIdAndUserId(int teamId, int userId) {
-        teamRepository.findById(teamId).orElseThrow(TeamNotFoundException::new);
-        userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
+        validateTeamAndUserExist(teamId, userId);
         List<PlanEntry> planEntries = planEntryRepository.findPlanEntriesByTeamIdAndUserId(teamId, userId);
         return planEntries.stream()
-                .map(planEntry -> modelMapper.map(planEntry, PlanEntryDto.class))
+                .map(planEntryMapper::toDto)
                 .toList();
     }
 
     /**
-     * Creates a new plan entry associated with a specific team and user.
+     * Retrieves plan entries associated with a specific team and user, overlapping the given time window,
+     * including the occurrences of recurring plan entries within the window.
+     *
+     * @param teamId the ID of the team
+     * @param userId the ID of the user
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return a list of PlanEntryDto representing the found plan entries, sorted by start time
+     * @throws InvalidTimeWindowException if either bound is missing, {@code from} is not before {@code to}
+     *                                    or the window is longer than {@link #MAX_TIME_WINDOW}
+     * @throws TeamNotFoundException      if the team with the given ID does not exist
+     * @throws UserNotFoundException      if the user with the given ID does not exist
+     */
+    public List<PlanEntryDto> retrievePlanEntriesByTeamIdAndUserIdInTimeWindow(
+            int teamId,
+            int userId,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        validateTimeWindow(from, to);
+        validateTeamAndUserExist(teamId, userId);
+        List<PlanEntryDto> planEntries = new ArrayList<>();
+        planEntryRepository.findPlanEntriesByTeamIdAndUserIdInTimeWindow(teamId, userId, from, to)
+                .forEach(planEntry -> planEntries.add(planEntryMapper.toDto(planEntry)));
+        planEntries.addAll(recurringPlanEntryService
+                .retrieveOccurrencesByTeamIdAndUserIdInTimeWindow(teamId, userId, from, to));
+        planEntries.sort(Comparator.comparing(PlanEntryDto::getStartTime));
+        return planEntries;
+    }
+
+    /**
+     * Retrieves the schedule of every member of a team within the given time window,
+     * grouped by member. Members without plan entries in the window are included with an empty schedule.
+     * Occurrences of recurring plan entries within the window are merged into the members' schedules.
+     *
+     * @param teamId the ID of the team
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return a list of UserScheduleDto sorted by member first name
+     * @throws InvalidTimeWindowException if either bound is missing, {@code from} is not before {@code to}
+     *                                    or the window is longer than {@link #MAX_TIME_WINDOW}
+     * @throws TeamNotFoundException      if the team with the given ID does not exist
+     */
+    public List<UserScheduleDto> retrieveTeamSchedule(int teamId, LocalDateTime from, LocalDateTime to) {
+        validateTimeWindow(from, to);
+        List<PlanEntryRepository.TeamScheduleRow> rows = planEntryRepository
+                .findTeamScheduleInTimeWindow(teamId, from, to);
+        if (rows.isEmpty() && !entityCache.teamExists(teamId)) {
+            throw new TeamNotFoundException();
+        }
+
+        Map<Integer, UserScheduleDto> schedules = new LinkedHashMap<>();
+        for (PlanEntryRepository.TeamScheduleRow row : rows) {
+            UserScheduleDto schedule = schedules.computeIfAbsent(
+                    row.getUser().getId(),
+                    userId -> new UserScheduleDto(userMapper.toDto(row.getUser()), new ArrayList<>())
+            );
+            if (row.getPlanEntry() != null) {
+                schedule.getPlanEntries().add(planEntryMapper.toDto(row.getPlanEntry()));
+            }
+        }
+        if (!schedules.isEmpty()) {
+            recurringPlanEntryService.retrieveOccurrencesByTeamIdInTimeWindow(teamId, from, to)
+                    .forEach((userId, occurrences) -> {
+                        UserScheduleDto schedule = schedules.get(userId);
+                        if (schedule != null) {
+                            schedule.getPlanEntries().addAll(occurrences);
+                            schedule.getPlanEntries().sort(Comparator.comparing(PlanEntryDto::getStartTime));
+                        }
+                    });
+        }
+        return new ArrayList<>(schedules.values());
+    }
+
+    /**
+     * Retrieves the plan entries of a user, across all teams, that overlap the given time window,
+     * including the occurrences of recurring plan entries within the window,
+     * i.e. those a new plan entry in that window would conflict with.
+     *
+     * @param userId the ID of the user
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return a list of PlanEntryDto sorted by start time
+     * @throws InvalidTimeWindowException if either bound is missing, {@code from} is not before {@code to}
+     *                                    or the window is longer than {@link #MAX_TIME_WINDOW}
+     * @throws UserNotFoundException      if the user with the given ID does not exist
+     */
+    public List<PlanEntryDto> retrievePlanEntryConflicts(int userId, LocalDateTime from, LocalDateTime to) {
+        validateTimeWindow(from, to);
+        if (!entityCache.userExists(userId)) {
+            throw new UserNotFoundException();
+        }
+        List<PlanEntryDto> planEntries = new ArrayList<>();
+        planEntryRepository.findPlanEntriesByUserIdInTimeWindow(userId, from, to)
+                .forEach(planEntry -> planEntries.add(planEntryMapper.toDto(planEntry)));
+        planEntries.addAll(recurringPlanEntryService
+                .retrieveOccurrencesByUserIdsInTimeWindow(List.of(userId), from, to)
+                .getOrDefault(userId, List.of()));
+        planEntries.sort(Comparator.comparing(PlanEntryDto::getStartTime));
+        return planEntries;
+    }
+
+    /**
+     * Finds the slots within the given time window in which at least {@code minMembers} members of a team
+     * are free together for at least {@code duration}. A member is busy during their plan entries and the
+     * occurrences of their recurring plan entries in any team.
+     *
+     * @param teamId     the ID of the team
+     * @param from       the inclusive start of the time window
+     * @param to         the exclusive end of the time window
+     * @param duration   the minimum length of a slot
+     * @param minMembers the minimum number of free members, or null to require all members
+     * @return a list of AvailabilitySlotDto sorted by start time
+     * @throws InvalidTimeWindowException          if either bound is missing, {@code from} is not before {@code to}
+     *                                             or the window is longer than {@link #MAX_TIME_WINDOW}
+     * @throws InvalidAvailabilityRequestException if the duration is not positive or {@code minMembers} is below one
+     * @throws TeamNotFoundException               if the team with the given ID does not exist
+     */
+    public List<AvailabilitySlotDto> retrieveTeamAvailability(
+            int teamId,
+            LocalDateTime from,
+            LocalDateTime to,
+            Duration duration,
+            Integer minMembers
+    ) {
+        validateTimeWindow(from, to);
+        if (duration == null || duration.isNegative() || duration.isZero() || (minMembers != null && minMembers < 1)) {
+            throw new InvalidAvailabilityRequestException();
+        }
+        List<Integer> memberIds = teamRepository.findMemberIdsByTeamId(teamId);
+        if (memberIds.isEmpty()) {
+            if (!entityCache.teamExists(teamId)) {
+                throw new TeamNotFoundException();
+            }
+            return List.of();
+        }
+
+        List<BusyInterval> busyIntervals = new ArrayList<>(
+                planEntryRepository.findBusyIntervalsByUserIdsInTimeWindow(memberIds, from, to));
+        recurringPlanEntryService.retrieveOccurrencesByUserIdsInTimeWindow(memberIds, from, to)
+                .forEach((userId, occurrences) -> occurrences.forEach(occurrence -> busyIntervals.add(
+                        new BusyInterval(userId, occurrence.getStartTime(), occurrence.getEndTime()))));
+        return FreeSlotFinder.findFreeSlots(
+                memberIds,
+                busyIntervals,
+                from,
+                to,
+                duration,
+                minMembers == null ? memberIds.size() : minMembers
+        );
+    }
+
+    /**
+     * Creates a new plan entry associated with a specific team and user,
+     * rejecting it if it overlaps another plan entry of the user or an occurrence of their recurring plan entries.
      *
      * @param planEntryDto the creation data for the new plan entry
      * @param teamId       the ID of the team associated with the plan entry
      * @param userId       the ID of the user associated with the plan entry
-     * @throws TeamNotFoundException if the team with the given ID does not exist
-     * @throws UserNotFoundException if the user with the given ID does not exist
+     * @throws InvalidPlanEntryTimeException if the plan entry does not end after its start or lasts too long
+     * @throws TeamNotFoundException         if the team with the given ID does not exist
+     * @throws UserNotFoundException         if the user with the given ID does not exist
+     * @throws PlanEntryConflictException    if the plan entry overlaps another plan entry of the user
      */
+    @Transactional
     public void createPlanEntry(
             PlanEntryDto planEntryDto,
             int teamId,
             int userId
     ) {
-        Team team = teamRepository.findById(teamId).orElseThrow(TeamNotFoundException::new);
-        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
-        PlanEntry planEntry = modelMapper.map(planEntryDto, PlanEntry.class);
-        planEntry.setTeam(team);
-        planEntry.setUser(user);
+        createPlanEntry(planEntryDto, teamId, userId, false);
+    }
+
+    /**
+     * Creates a new plan entry associated with a specific team and user.
+     * The user is locked until the transaction ends, so concurrent creations for the same user, on any
+     * application instance, are checked against each other's plan entries in the database.
+     *
+     * @param planEntryDto   the creation data for the new plan entry
+     * @param teamId         the ID of the team associated with the plan entry
+     * @param userId         the ID of the user associated with the plan entry
+     * @param allowConflicts whether to save the plan entry even if it overlaps another plan entry of the user
+     * @throws InvalidPlanEntryTimeException if the plan entry does not end after its start or lasts longer
+     *                                       than {@link PlanEntry#MAX_DURATION}
+     * @throws TeamNotFoundException         if the team with the given ID does not exist
+     * @throws UserNotFoundException         if the user with the given ID does not exist
+     * @throws PlanEntryConflictException    if conflicts are not allowed and the plan entry overlaps
+     *                                       another plan entry of the user
+     */
+    @Transactional
+    public void createPlanEntry(
+            PlanEntryDto planEntryDto,
+            int teamId,
+            int userId,
+            boolean allowConflicts
+    ) {
+        if (!isValidTime(planEntryDto.getStartTime(), planEntryDto.getEndTime())) {
+            throw new InvalidPlanEntryTimeException();
+        }
+        validateTeamAndUserExist(teamId, userId);
+        if (!planEntryConflictDetector.lockUser(userId)) {
+            throw new UserNotFoundException();
+        }
+        PlanEntry planEntry = planEntryMapper.toEntity(planEntryDto);
+        if (!allowConflicts
+                && planEntryConflictDetector.hasConflict(userId, planEntry.getStartTime(), planEntry.getEndTime())) {
+            throw new PlanEntryConflictException();
+        }
+        planEntry.setTeam(teamRepository.getReferenceById(teamId));
+        planEntry.setUser(userRepository.getReferenceById(userId));
         planEntryRepository.save(planEntry);
+        weeklyHoursRollupService.addPlanEntries(List.of(planEntry));
     }
 
     /**
-     * Deletes a plan entry by ID.
+     * Creates many plan entries, possibly for many teams and users, in a single transaction.
+     * Referenced teams and users are resolved with one query each, the users are locked, and their plan entries
+     * and recurring plan entries within the time span of the request are read with one more query each;
+     * the plan entries are then inserted in JDBC batches. Every item is validated on its own: invalid items,
+     * items referencing missing teams or users and, unless conflicts are allowed, items overlapping another
+     * plan entry of the user (including earlier items of the same request) or an occurrence of their recurring
+     * plan entries are skipped and reported, while the others are created.
+     *
+     * @param items          the plan entries to create together with their team and user IDs
+     * @param allowConflicts whether to create plan entries even if they overlap another plan entry of the user
+     * @return the outcome of every item, in request order
+     * @throws InvalidBulkRequestException if there are no items or more than {@link #MAX_BULK_SIZE}
+     */
+    @Transactional
+    public List<PlanEntryBulkResultDto> createPlanEntries(List<PlanEntryBulkItemDto> items, boolean allowConflicts) {
+        if (items == null || items.isEmpty() || items.size() > MAX_BULK_SIZE) {
+            throw new InvalidBulkRequestException();
+        }
+
+        List<List<String>> errorsByItem = new ArrayList<>(items.size());
+        Set<Integer> teamIds = new HashSet<>();
+        Set<Integer> userIds = new HashSet<>();
+        for (PlanEntryBulkItemDto item : items) {
+            List<String> errors = validateBulkItem(item);
+            errorsByItem.add(errors);
+            if (errors.isEmpty()) {
+                teamIds.add(item.getTeamId());
+                userIds.add(item.getUserId());
+            }
+        }
+        Map<Integer, Team> teams = teamRepository.findAllById(teamIds).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        Map<Integer, User> users = planEntryConflictDetector.lockUsers(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        PlanEntryConflictDetector.BusyTimes busyTimes = allowConflicts
+                ? null
+                : loadBusyTimes(items, errorsByItem, users.keySet());
+
+        List<PlanEntryBulkResultDto> results = new ArrayList<>(items.size());
+        List<PlanEntry> created = new ArrayList<>();
+        for (int index = 0; index < items.size(); index++) {
+            PlanEntryBulkItemDto item = items.get(index);
+            List<String> errors = errorsByItem.get(index);
+            if (!errors.isEmpty()) {
+                results.add(new PlanEntryBulkResultDto(index, PlanEntryBulkStatus.INVALID, null, errors));
+                continue;
+            }
+            Team team = teams.get(item.getTeamId());
+            User user = users.get(item.getUserId());
+            if (team == null) {
+                results.add(new PlanEntryBulkResultDto(index, PlanEntryBulkStatus.TEAM_NOT_FOUND, null, errors));
+                continue;
+            }
+            if (user == null) {
+                results.add(new PlanEntryBulkResultDto(index, PlanEntryBulkStatus.USER_NOT_FOUND, null, errors));
+                continue;
+            }
+
+            PlanEntry planEntry = planEntryMapper.toEntity(item.getPlanEntry());
+            if (busyTimes != null) {
+                if (busyTimes.overlaps(user.getId(), planEntry.getStartTime(), planEntry.getEndTime())) {
+                    results.add(new PlanEntryBulkResultDto(index, PlanEntryBulkStatus.CONFLICT, null, errors));
+                    continue;
+                }
+                busyTimes.add(new BusyInterval(user.getId(), planEntry.getStartTime(), planEntry.getEndTime()));
+            }
+            planEntry.setTeam(team);
+            planEntry.setUser(user);
+            planEntryRepository.save(planEntry);
+            results.add(new PlanEntryBulkResultDto(index, PlanEntryBulkStatus.CREATED, planEntry.getId(), errors));
+            created.add(planEntry);
+        }
+        weeklyHoursRollupService.addPlanEntries(created);
+        return results;
+    }
+
+    /**
+     * Deletes a plan entry by ID and removes it from the weekly rollups.
      *
      * @param planEntryId the ID of the plan entry to be deleted
      */
+    @Transactional
     public void deletePlanEntryById(int planEntryId) {
-        planEntryRepository.deleteById(planEntryId);
+        planEntryRepository.findById(planEntryId).ifPresent(planEntry -> {
+            weeklyHoursRollupService.removePlanEntries(List.of(planEntry));
+            planEntryRepository.delete(planEntry);
+        });
+    }
+
+    /**
+     * Builds a page of PlanEntryDto from plan entries sorted by start time.
+     *
+     * @param planEntries the fetched plan entries, possibly one more than the page size
+     * @param pageSize    the requested page size
+     * @return the page of PlanEntryDto
+     */
+    private CursorPage<PlanEntryDto> toPage(List<PlanEntry> planEntries, int pageSize) {
+        return CursorPage.of(
+                planEntries,
+                pageSize,
+                planEntry -> PageToken.of(planEntry.getStartTime(), planEntry.getId()),
+                planEntryMapper::toDto
+        );
+    }
+
+    /**
+     * Validates a single item of a bulk creation request.
+     *
+     * @param item the item to validate
+     * @return the validation error messages, sorted, or an empty list if the item is valid
+     */
+    private List<String> validateBulkItem(PlanEntryBulkItemDto item) {
+        if (item == null) {
+            return new ArrayList<>(List.of("Item must not be null"));
+        }
+        List<String> errors = validator.validate(item).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        PlanEntryDto planEntryDto = item.getPlanEntry();
+        if (planEntryDto != null
+                && planEntryDto.getStartTime() != null
+                && planEntryDto.getEndTime() != null) {
+            if (!planEntryDto.getStartTime().isBefore(planEntryDto.getEndTime())) {
+                errors.add("PlanEntry start time must be before its end time");
+            } else if (!isValidTime(planEntryDto.getStartTime(), planEntryDto.getEndTime())) {
+                errors.add("PlanEntry must not last longer than " + PlanEntry.MAX_DURATION.toDays() + " days");
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Checks that a plan entry starts before it ends and lasts at most {@link PlanEntry#MAX_DURATION},
+     * which the time-window queries rely on.
+     *
+     * @param startTime the start time of the plan entry
+     * @param endTime   the end time of the plan entry
+     * @return true if the plan entry's times are valid
+     */
+    private boolean isValidTime(LocalDateTime startTime, LocalDateTime endTime) {
+        return startTime != null
+                && endTime != null
+                && startTime.isBefore(endTime)
+                && !Duration.between(startTime, endTime).minus(PlanEntry.MAX_DURATION).isPositive();
+    }
+
+    /**
+     * Reads the busy intervals of the users of a bulk request within the time span of its valid items.
+     *
+     * @param items        the items of the bulk request
+     * @param errorsByItem the validation errors of every item
+     * @param userIds      the IDs of the existing, locked users
+     * @return the busy intervals of the users
+     */
+    private PlanEntryConflictDetector.BusyTimes loadBusyTimes(
+            List<PlanEntryBulkItemDto> items,
+            List<List<String>> errorsByItem,
+            Set<Integer> userIds
+    ) {
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (int index = 0; index < items.size(); index++) {
+            PlanEntryDto planEntryDto = items.get(index).getPlanEntry();
+            if (errorsByItem.get(index).isEmpty() && userIds.contains(items.get(index).getUserId())) {
+                from = from == null || planEntryDto.getStartTime().isBefore(from) ? planEntryDto.getStartTime() : from;
+                to = to == null || planEntryDto.getEndTime().isAfter(to) ? planEntryDto.getEndTime() : to;
+            }
+        }
+        return planEntryConflictDetector.loadBusyTimes(from == null ? Set.of() : userIds, from, to);
+    }
+
+    /**
+     * Checks that the team and the user exist, without loading either of them.
+     *
+     * @param teamId the ID of the team
+     * @param userId the ID of the user
+     * @throws TeamNotFoundException if the team with the given ID does not exist
+     * @throws UserNotFoundException if the user with the given ID does not exist
+     */
+    private void validateTeamAndUserExist(int teamId, int userId) {
+        if (!entityCache.teamExists(teamId)) {
+            throw new TeamNotFoundException();
+        }
+        if (!entityCache.userExists(userId)) {
+            throw new UserNotFoundException();
+        }
+    }
+
+    /**
+     * Checks that both bounds of a time window are present, that {@code from} is before {@code to}
+     * and that the window is not longer than {@link #MAX_TIME_WINDOW}.
+     *
+     * @param from the start of the time window
+     * @param to   the end of the time window
+     * @throws InvalidTimeWindowException if the time window is invalid
+     */
+    private void validateTimeWindow(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to) || from.plus(MAX_TIME_WINDOW).isBefore(to)) {
+            throw new InvalidTimeWindowException();
+        }
     }
 }
@@ -0,0 +1,333 @@
+package com.ispydeer.WorkPlanner.services;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidRecurrenceException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.PlanEntryConflictException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.RecurringPlanEntryNotFoundException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.TeamNotFoundException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.UserNotFoundException;
+import com.ispydeer.WorkPlanner.entities.planEntry.RecurringPlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.RecurringPlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.recurrenceFrequency.RecurrenceFrequency;
+import com.ispydeer.WorkPlanner.repositiories.RecurringPlanEntryRepository;
+import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
+import com.ispydeer.WorkPlanner.repositiories.UserRepository;
+import com.ispydeer.WorkPlanner.services.cache.EntityCache;
+import com.ispydeer.WorkPlanner.services.conflict.PlanEntryConflictDetector;
+import com.ispydeer.WorkPlanner.services.mapper.RecurringPlanEntryMapper;
+import com.ispydeer.WorkPlanner.services.recurrence.RecurrenceRule;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service class for managing recurring plan entries and expanding their occurrences.
+ */
+@Service
+public class RecurringPlanEntryService {
+
+    private final RecurringPlanEntryRepository recurringPlanEntryRepository;
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final EntityCache entityCache;
+    private final RecurringPlanEntryMapper recurringPlanEntryMapper;
+    private final PlanEntryConflictDetector planEntryConflictDetector;
+
+    /**
+     * Constructs a RecurringPlanEntryService with the specified dependencies.
+     *
+     * @param recurringPlanEntryRepository the repository for recurring plan entry operations
+     * @param teamRepository               the repository for team operations
+     * @param userRepository               the repository for user operations
+     * @param entityCache                  the cache of team and user lookups
+     * @param recurringPlanEntryMapper     the mapper for recurring plan entry DTO conversions
+     * @param planEntryConflictDetector    the detector of overlapping plan entries
+     */
+    public RecurringPlanEntryService(
+            RecurringPlanEntryRepository recurringPlanEntryRepository,
+            TeamRepository teamRepository,
+            UserRepository userRepository,
+            EntityCache entityCache,
+            RecurringPlanEntryMapper recurringPlanEntryMapper,
+            PlanEntryConflictDetector planEntryConflictDetector
+    ) {
+        this.recurringPlanEntryRepository = recurringPlanEntryRepository;
+        this.teamRepository = teamRepository;
+        this.userRepository = userRepository;
+        this.entityCache = entityCache;
+        this.recurringPlanEntryMapper = recurringPlanEntryMapper;
+        this.planEntryConflictDetector = planEntryConflictDetector;
+    }
+
+    /**
+     * Retrieves a recurring plan entry by ID.
+     *
+     * @param recurringPlanEntryId the ID of the recurring plan entry
+     * @return a RecurringPlanEntryDto representing the found recurring plan entry
+     * @throws RecurringPlanEntryNotFoundException if the recurring plan entry with the given ID does not exist
+     */
+    public RecurringPlanEntryDto retrieveRecurringPlanEntryById(int recurringPlanEntryId) {
+        RecurringPlanEntry recurringPlanEntry = recurringPlanEntryRepository.findById(recurringPlanEntryId)
+                .orElseThrow(RecurringPlanEntryNotFoundException::new);
+        return recurringPlanEntryMapper.toDto(recurringPlanEntry);
+    }
+
+    /**
+     * Expands the occurrences of the recurring plan entries of a specific team and user
+     * overlapping the given time window.
+     *
+     * @param teamId the ID of the team
+     * @param userId the ID of the user
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return a list of PlanEntryDto representing the occurrences, sorted by start time
+     */
+    public List<PlanEntryDto> retrieveOccurrencesByTeamIdAndUserIdInTimeWindow(
+            int teamId,
+            int userId,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        List<PlanEntryDto> occurrences = new ArrayList<>();
+        recurringPlanEntryRepository.findRecurringPlanEntriesByTeamIdAndUserIdInTimeWindow(teamId, userId, from, to)
+                .forEach(recurringPlanEntry -> expand(recurringPlanEntry, from, to, occurrences));
+        occurrences.sort(Comparator.comparing(PlanEntryDto::getStartTime));
+        return occurrences;
+    }
+
+    /**
+     * Expands the occurrences of the recurring plan entries of a team overlapping the given time window,
+     * grouped by user.
+     *
+     * @param teamId the ID of the team
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return the occurrences by user ID, each list sorted by start time
+     */
+    public Map<Integer, List<PlanEntryDto>> retrieveOccurrencesByTeamIdInTimeWindow(
+            int teamId,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        return groupOccurrencesByUserId(
+                recurringPlanEntryRepository.findRecurringPlanEntriesByTeamIdInTimeWindow(teamId, from, to),
+                from,
+                to
+        );
+    }
+
+    /**
+     * Expands the occurrences of the recurring plan entries of the given users, across all teams,
+     * overlapping the given time window, grouped by user.
+     *
+     * @param userIds the IDs of the users
+     * @param from    the inclusive start of the time window
+     * @param to      the exclusive end of the time window
+     * @return the occurrences by user ID, each list sorted by start time
+     */
+    public Map<Integer, List<PlanEntryDto>> retrieveOccurrencesByUserIdsInTimeWindow(
+            Collection<Integer> userIds,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        return groupOccurrencesByUserId(
+                recurringPlanEntryRepository.findRecurringPlanEntriesByUserIdsInTimeWindow(userIds, from, to),
+                from,
+                to
+        );
+    }
+
+    /**
+     * Creates a new recurring plan entry associated with a specific team and user,
+     * rejecting it if an occurrence overlaps a plan entry or an occurrence of another recurring plan entry of the user.
+     *
+     * @param recurringPlanEntryDto the creation data for the new recurring plan entry
+     * @param teamId                the ID of the team associated with the recurring plan entry
+     * @param userId                the ID of the user associated with the recurring plan entry
+     * @return a RecurringPlanEntryDto representing the created recurring plan entry
+     * @throws InvalidRecurrenceException if the recurrence rule is invalid
+     * @throws TeamNotFoundException      if the team with the given ID does not exist
+     * @throws UserNotFoundException      if the user with the given ID does not exist
+     * @throws PlanEntryConflictException if an occurrence overlaps another plan entry of the user
+     */
+    @Transactional
+    public RecurringPlanEntryDto createRecurringPlanEntry(
+            RecurringPlanEntryDto recurringPlanEntryDto,
+            int teamId,
+            int userId
+    ) {
+        return createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId, false);
+    }
+
+    /**
+     * Creates a new recurring plan entry associated with a specific team and user.
+     * The user is locked until the transaction ends, as for plan entries, so the series and concurrently created
+     * plan entries of the user are checked against each other. Occurrences are checked for conflicts until the end
+     * of the series, but at most {@link PlanEntryService#MAX_TIME_WINDOW} after its start.
+     *
+     * @param recurringPlanEntryDto the creation data for the new recurring plan entry
+     * @param teamId                the ID of the team associated with the recurring plan entry
+     * @param userId                the ID of the user associated with the recurring plan entry
+     * @param allowConflicts        whether to save the recurring plan entry even if an occurrence overlaps
+     *                              another plan entry of the user
+     * @return a RecurringPlanEntryDto representing the created recurring plan entry
+     * @throws InvalidRecurrenceException if the recurrence rule is invalid
+     * @throws TeamNotFoundException      if the team with the given ID does not exist
+     * @throws UserNotFoundException      if the user with the given ID does not exist
+     * @throws PlanEntryConflictException if conflicts are not allowed and an occurrence overlaps a plan entry
+     *                                    or an occurrence of another recurring plan entry of the user
+     */
+    @Transactional
+    public RecurringPlanEntryDto createRecurringPlanEntry(
+            RecurringPlanEntryDto recurringPlanEntryDto,
+            int teamId,
+            int userId,
+            boolean allowConflicts
+    ) {
+        validateRecurrence(recurringPlanEntryDto);
+        if (!entityCache.teamExists(teamId)) {
+            throw new TeamNotFoundException();
+        }
+        if (!entityCache.userExists(userId) || !planEntryConflictDetector.lockUser(userId)) {
+            throw new UserNotFoundException();
+        }
+        RecurringPlanEntry recurringPlanEntry = recurringPlanEntryMapper.toEntity(recurringPlanEntryDto);
+        RecurrenceRule rule = RecurrenceRule.of(recurringPlanEntry);
+        LocalDateTime seriesEndTime = rule.seriesEndTime();
+        if (!allowConflicts) {
+            LocalDateTime horizon = rule.startTime().plus(PlanEntryService.MAX_TIME_WINDOW);
+            if (seriesEndTime != null && seriesEndTime.isBefore(horizon)) {
+                horizon = seriesEndTime;
+            }
+            if (planEntryConflictDetector.hasConflict(userId, rule, horizon)) {
+                throw new PlanEntryConflictException();
+            }
+        }
+        recurringPlanEntry.setTeam(teamRepository.getReferenceById(teamId));
+        recurringPlanEntry.setUser(userRepository.getReferenceById(userId));
+        recurringPlanEntry.setSeriesEndTime(seriesEndTime);
+        RecurringPlanEntry saved = recurringPlanEntryRepository.save(recurringPlanEntry);
+        return recurringPlanEntryMapper.toDto(saved);
+    }
+
+    /**
+     * Cancels a single occurrence of a recurring plan entry. The recurring plan entry is locked until
+     * the transaction ends, so concurrent cancellations of its occurrences are all kept.
+     * Cancelling an already cancelled occurrence has no effect.
+     *
+     * @param recurringPlanEntryId the ID of the recurring plan entry
+     * @param date                 the date of the cancelled occurrence
+     * @throws RecurringPlanEntryNotFoundException if the recurring plan entry with the given ID does not exist
+     * @throws InvalidRecurrenceException          if no occurrence of the recurring plan entry starts on the date
+     */
+    @Transactional
+    public void addRecurringPlanEntryException(int recurringPlanEntryId, LocalDate date) {
+        RecurringPlanEntry recurringPlanEntry = recurringPlanEntryRepository.findForUpdateById(recurringPlanEntryId)
+                .orElseThrow(RecurringPlanEntryNotFoundException::new);
+        if (recurringPlanEntry.getExceptionDates().contains(date)) {
+            return;
+        }
+        boolean isOccurrenceDate = RecurrenceRule.of(recurringPlanEntry)
+                .occurrencesOverlapping(date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .stream()
+                .anyMatch(startTime -> startTime.toLocalDate().equals(date));
+        if (!isOccurrenceDate) {
+            throw new InvalidRecurrenceException();
+        }
+        Set<LocalDate> exceptionDates = new TreeSet<>(recurringPlanEntry.getExceptionDates());
+        exceptionDates.add(date);
+        recurringPlanEntry.setExceptionDates(exceptionDates);
+    }
+
+    /**
+     * Deletes a recurring plan entry, together with all its occurrences, by ID.
+     *
+     * @param recurringPlanEntryId the ID of the recurring plan entry to be deleted
+     */
+    public void deleteRecurringPlanEntryById(int recurringPlanEntryId) {
+        recurringPlanEntryRepository.deleteById(recurringPlanEntryId);
+    }
+
+    /**
+     * Expands the occurrences of a recurring plan entry overlapping the given time window.
+     *
+     * @param recurringPlanEntry the recurring plan entry
+     * @param from               the inclusive start of the time window
+     * @param to                 the exclusive end of the time window
+     * @param occurrences        the list the occurrences are added to
+     */
+    private void expand(
+            RecurringPlanEntry recurringPlanEntry,
+            LocalDateTime from,
+            LocalDateTime to,
+            List<PlanEntryDto> occurrences
+    ) {
+        RecurrenceRule rule = RecurrenceRule.of(recurringPlanEntry);
+        for (LocalDateTime startTime : rule.occurrencesOverlapping(from, to)) {
+            occurrences.add(new PlanEntryDto(
+                    null,
+                    recurringPlanEntry.getTitle(),
+                    startTime,
+                    startTime.plus(rule.duration()),
+                    recurringPlanEntry.getPlanEntryColor(),
+                    recurringPlanEntry.getId()
+            ));
+        }
+    }
+
+    /**
+     * Expands the occurrences of recurring plan entries overlapping the given time window, grouped by user.
+     *
+     * @param recurringPlanEntries the recurring plan entries
+     * @param from                 the inclusive start of the time window
+     * @param to                   the exclusive end of the time window
+     * @return the occurrences by user ID, each list sorted by start time
+     */
+    private Map<Integer, List<PlanEntryDto>> groupOccurrencesByUserId(
+            List<RecurringPlanEntry> recurringPlanEntries,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        Map<Integer, List<PlanEntryDto>> occurrencesByUserId = new HashMap<>();
+        for (RecurringPlanEntry recurringPlanEntry : recurringPlanEntries) {
+            List<PlanEntryDto> occurrences = occurrencesByUserId
+                    .computeIfAbsent(recurringPlanEntry.getUser().getId(), userId -> new ArrayList<>());
+            expand(recurringPlanEntry, from, to, occurrences);
+        }
+        occurrencesByUserId.values().forEach(occurrences -> occurrences.sort(Comparator.comparing(PlanEntryDto::getStartTime)));
+        return occurrencesByUserId;
+    }
+
+    /**
+     * Checks that a recurrence rule describes a non-empty series.
+     *
+     * @param recurringPlanEntryDto the recurring plan entry to check
+     * @throws InvalidRecurrenceException if the recurrence rule is invalid
+     */
+    private void validateRecurrence(RecurringPlanEntryDto recurringPlanEntryDto) {
+        LocalDateTime startTime = recurringPlanEntryDto.getStartTime();
+        LocalDateTime endTime = recurringPlanEntryDto.getEndTime();
+        LocalDateTime until = recurringPlanEntryDto.getUntil();
+        Integer count = recurringPlanEntryDto.getCount();
+        boolean hasWeekdays = recurringPlanEntryDto.getWeekdays() != null
+                && !recurringPlanEntryDto.getWeekdays().isEmpty();
+        if (startTime == null || endTime == null || !startTime.isBefore(endTime)
+                || recurringPlanEntryDto.getFrequency() == null
+                || recurringPlanEntryDto.getInterval() < 1
+                || (count != null && count < 1)
+                || (until != null && until.isBefore(startTime))
+                || (hasWeekdays && recurringPlanEntryDto.getFrequency() != RecurrenceFrequency.WEEKLY)) {
+            throw new InvalidRecurrenceException();
+        }
+    }
+}
@@ -1,68 +1,105 @@
 package com.ispydeer.WorkPlanner.services;
 
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidPageRequestException;
 import com.ispydeer.WorkPlanner.controllers.exceptions.TeamNameAlreadyUsedException;
 import com.ispydeer.WorkPlanner.controllers.exceptions.TeamNotFoundException;
 import com.ispydeer.WorkPlanner.controllers.exceptions.UserNotFoundException;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
 import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
 import com.ispydeer.WorkPlanner.repositiories.UserRepository;
+import com.ispydeer.WorkPlanner.services.cache.CacheConfiguration;
+import com.ispydeer.WorkPlanner.services.cache.EntityCache;
+import com.ispydeer.WorkPlanner.services.mapper.TeamMapper;
+import com.ispydeer.WorkPlanner.services.membership.TeamMemberships;
 import com.ispydeer.WorkPlanner.entities.team.Team;
 import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
-import com.ispydeer.WorkPlanner.entities.user.User;
-import org.modelmapper.ModelMapper;
+import com.ispydeer.WorkPlanner.services.metrics.MetricsConfiguration;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
+import com.ispydeer.WorkPlanner.services.pagination.PageToken;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Service class for managing team-related operations.
  */
 @Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 public class TeamService {
 
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final EntityCache entityCache;
+    private final TeamMemberships teamMemberships;
+    private final TeamMapper teamMapper;
 
     /**
      * Constructs a TeamService with the specified dependencies.
      *
-     * @param teamRepository  the repository for team operations
-     * @param userRepository  the repository for user operations
-     * @param modelMapper     the model mapper for DTO conversions
+     * @param teamRepository         the repository for team operations
+     * @param userRepository         the repository for user operations
+     * @param entityCache            the cache of team and user lookups
+     * @param teamMemberships        the changes of team memberships
+     * @param teamMapper             the mapper for team DTO conversions
      */
-    public TeamService(TeamRepository teamRepository, UserRepository userRepository, ModelMapper modelMapper) {
+    public TeamService(
+            TeamRepository teamRepository,
+            UserRepository userRepository,
+            EntityCache entityCache,
+            TeamMemberships teamMemberships,
+            TeamMapper teamMapper
+    ) {
         this.teamRepository = teamRepository;
         this.userRepository = userRepository;
-        this.modelMapper = modelMapper;
+        this.entityCache = entityCache;
+        this.teamMemberships = teamMemberships;
+        this.teamMapper = teamMapper;
     }
 
     /**
-     * Retrieves all teams, sorted by their name.
+     * Retrieves a page of all teams, sorted by their name.
+     * Pages are cached until a team is created, changed or deleted.
      *
-     * @return a list of TeamDto representing all teams
+     * @param pageToken the token of the page to retrieve, or null for the first page
+     * @param pageSize  the maximum number of teams on the page
+     * @return a page of TeamDto representing the teams
+     * @throws InvalidPageRequestException if the page token or page size is invalid
      */
-    public List<TeamDto> retrieveAllTeams() {
-        List<Team> teams = teamRepository.findAll();
-        return teams.stream()
-                .map(team -> modelMapper.map(team, TeamDto.class))
-                .sorted(Comparator.comparing(TeamDto::getName))
-                .toList();
+    @Cacheable(cacheNames = CacheConfiguration.TEAM_PAGES, key = "{#pageToken, #pageSize}")
+    public CursorPage<TeamDto> retrieveAllTeams(String pageToken, int pageSize) {
+        Limit limit = CursorPage.limitFor(pageSize);
+        List<Team> teams;
+        if (pageToken == null) {
+            teams = teamRepository.findTeamsOrderedByName(limit);
+        } else {
+            PageToken after = PageToken.decode(pageToken);
+            teams = teamRepository.findTeamsOrderedByNameAfter(after.sortKey(), after.id(), limit);
+        }
+        return CursorPage.of(
+                teams,
+                pageSize,
+                team -> new PageToken(team.getName(), team.getId()),
+                teamMapper::toDto
+        );
     }
 
     /**
-     * Retrieves a team by ID.
+     * Retrieves a team by ID. The team is cached until it is changed or deleted.
      *
      * @param teamId the ID of the team
      * @return a TeamDto representing the found team
      * @throws TeamNotFoundException if the team with the given ID does not exist
      */
+    @Cacheable(cacheNames = CacheConfiguration.TEAMS, key = "#teamId")
     public TeamDto retrieveTeamById(int teamId) {
-        Team team = teamRepository.findById(teamId).orElseThrow(TeamNotFoundException::new);
-        return modelMapper.map(team, TeamDto.class);
+        Team team = teamRepository.findWithTeamLeaderById(teamId).orElseThrow(TeamNotFoundException::new);
+        return teamMapper.toDto(team);
     }
 
     /**
@@ -74,7 +111,7 @@ public class TeamService {
      */
     public TeamDto retrieveTeamByName(String name) {
         Team team = teamRepository.findByName(name).orElseThrow(TeamNotFoundException::new);
-        return modelMapper.map(team, TeamDto.class);
+        return teamMapper.toDto(team);
     }
 
     /**
@@ -87,9 +124,10 @@ public class TeamService {
         if (teamRepository.existsByName(teamDto.getName())) {
             throw new TeamNameAlreadyUsedException();
         }
-        Team team = modelMapper.map(teamDto, Team.class);
+        Team team = teamMapper.toEntity(teamDto);
         team.setTeamCreationDate(LocalDateTime.now());
         teamRepository.save(team);
+        entityCache.evictTeamPages();
     }
 
     /**
@@ -99,28 +137,29 @@ public class TeamService {
      */
     public void deleteTeam(int teamId) {
         teamRepository.deleteById(teamId);
+        entityCache.evictDeletedTeam(teamId);
     }
 
     /**
-     * Sets the leader of a specified team.
+     * Sets the leader of a specified team, adding them to the team if they are not a member.
      *
      * @param teamId the ID of the team
      * @param userId the ID of the user to be set as the team leader
      * @throws TeamNotFoundException if the team with the given ID does not exist
      * @throws UserNotFoundException if the user with the given ID does not exist
      */
+    @Transactional
     public void setTeamLeader(Integer teamId, Integer userId) {
-        Team team = teamRepository.findById(teamId).orElseThrow(TeamNotFoundException::new);
-        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
-
-        Set<User> setOfUsers = team.getSetOfUsers();
-        if (!setOfUsers.contains(user)) {
-            setOfUsers.add(user);
-            team.setSetOfUsers(setOfUsers);
+        if (!entityCache.userExists(userId)) {
+            throw new UserNotFoundException();
         }
-
-        team.setTeamLeader(user);
+        if (!teamMemberships.addUsers(teamId, List.of(userId))) {
+            throw new TeamNotFoundException();
+        }
+        Team team = teamRepository.findById(teamId).orElseThrow(TeamNotFoundException::new);
+        team.setTeamLeader(userRepository.getReferenceById(userId));
         teamRepository.save(team);
+        entityCache.evictTeam(teamId);
     }
 
     /**
@@ -133,42 +172,73 @@ public class TeamService {
         Team team = teamRepository.findById(teamId).orElseThrow(TeamNotFoundException::new);
         team.setTeamLeader(null);
         teamRepository.save(team);
+        entityCache.evictTeam(teamId);
     }
 
     /**
-     * Retrieves all users associated with a specified team.
+     * Retrieves all users associated with a specified team, sorted by their first name.
+     * The users are read as DTOs sorted by the query, without loading the team and member entities,
+     * and cached until the membership of the team changes.
      *
      * @param teamId the ID of the team
      * @return a list of UserDto representing the users in the team
      * @throws TeamNotFoundException if the team with the given ID does not exist
      */
+    @Cacheable(cacheNames = CacheConfiguration.TEAM_MEMBERS, key = "#teamId")
     public List<UserDto> retrieveTeamUsers(int teamId) {
-        Team team = teamRepository.findById(teamId).orElseThrow(TeamNotFoundException::new);
-        Set<User> setOfUsers = team.getSetOfUsers();
-        return setOfUsers.stream()
-                .map(user -> modelMapper.map(user, UserDto.class))
-                .sorted(Comparator.comparing(UserDto::getFirstName))
-                .toList();
+        List<UserDto> users = userRepository.findTeamMembersOrderedByFirstName(teamId, Limit.unlimited());
+        if (users.isEmpty() && !entityCache.teamExists(teamId)) {
+            throw new TeamNotFoundException();
+        }
+        return users;
+    }
+
+    /**
+     * Retrieves a page of the users associated with a specified team, sorted by their first name.
+     *
+     * @param teamId    the ID of the team
+     * @param pageToken the token of the page to retrieve, or null for the first page
+     * @param pageSize  the maximum number of users on the page
+     * @return a page of UserDto representing the users in the team
+     * @throws TeamNotFoundException       if the team with the given ID does not exist
+     * @throws InvalidPageRequestException if the page token or page size is invalid
+     */
+    public CursorPage<UserDto> retrieveTeamUsers(int teamId, String pageToken, int pageSize) {
+        Limit limit = CursorPage.limitFor(pageSize);
+        List<UserDto> users;
+        if (pageToken == null) {
+            users = userRepository.findTeamMembersOrderedByFirstName(teamId, limit);
+        } else {
+            PageToken after = PageToken.decode(pageToken);
+            users = userRepository.findTeamMembersOrderedByFirstNameAfter(teamId, after.sortKey(), after.id(), limit);
+        }
+        if (users.isEmpty() && !entityCache.teamExists(teamId)) {
+            throw new TeamNotFoundException();
+        }
+        return CursorPage.of(
+                users,
+                pageSize,
+                user -> new PageToken(user.getFirstName(), user.getId()),
+                Function.identity()
+        );
     }
 
     /**
-     * Adds multiple users to a specified team.
+     * Adds multiple users to a specified team. Users that are already members and IDs of users
+     * that do not exist are skipped, so concurrent and repeated additions do not conflict.
      *
      * @param teamId        the ID of the team to which users will be added
      * @param listOfUserIds a list of user IDs to be added to the team
      * @throws TeamNotFoundException if the team with the given ID does not exist
      */
     public void addTeamUsers(int teamId, List<Integer> listOfUserIds) {
-        Team team = teamRepository.findById(teamId).orElseThrow(TeamNotFoundException::new);
-        List<User> listOfNewUsers = userRepository.findAllById(listOfUserIds);
-        Set<User> setOfUsers = team.getSetOfUsers();
-        setOfUsers.addAll(listOfNewUsers);
-        team.setSetOfUsers(setOfUsers);
-        teamRepository.save(team);
+        if (!teamMemberships.addUsers(teamId, listOfUserIds)) {
+            throw new TeamNotFoundException();
+        }
     }
 
     /**
-     * Removes a user from a specified team.
+     * Removes a user from a specified team, and removes them as the team leader if they lead it.
      *
      * @param teamId the ID of the team
      * @param userId the ID of the user to be removed
@@ -176,14 +246,11 @@ public class TeamService {
      * @throws UserNotFoundException if the user with the given ID does not exist
      */
     public void deleteTeamUser(int teamId, int userId) {
-        Team team = teamRepository.findById(teamId).orElseThrow(TeamNotFoundException::new);
-        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
-
-        if (team.getTeamLeader() != null && team.getTeamLeader().equals(user)) {
-            team.setTeamLeader(null);
+        if (!entityCache.userExists(userId)) {
+            throw new UserNotFoundException();
+        }
+        if (!teamMemberships.removeUsers(teamId, List.of(userId))) {
+            throw new TeamNotFoundException();
         }
-
-        team.getSetOfUsers().remove(user);
-        teamRepository.save(team);
     }
 }
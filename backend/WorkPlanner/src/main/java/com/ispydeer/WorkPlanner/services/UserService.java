@@ -1,77 +1,131 @@
 package com.ispydeer.WorkPlanner.services;
 
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidPageRequestException;
 import com.ispydeer.WorkPlanner.controllers.exceptions.UserNotFoundException;
 import com.ispydeer.WorkPlanner.controllers.exceptions.UsernameAlreadyUsedException;
-import com.ispydeer.WorkPlanner.entities.team.Team;
 import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
 import com.ispydeer.WorkPlanner.entities.user.User;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
 import com.ispydeer.WorkPlanner.entities.user.role.Role;
+import com.ispydeer.WorkPlanner.repositiories.PlanEntryRepository;
+import com.ispydeer.WorkPlanner.repositiories.RecurringPlanEntryRepository;
 import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
 import com.ispydeer.WorkPlanner.repositiories.UserRepository;
-import org.modelmapper.ModelMapper;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.ispydeer.WorkPlanner.repositiories.WeeklyHoursRollupRepository;
+import com.ispydeer.WorkPlanner.security.CachingAuthenticationProvider;
+import com.ispydeer.WorkPlanner.services.cache.CacheConfiguration;
+import com.ispydeer.WorkPlanner.services.cache.EntityCache;
+import com.ispydeer.WorkPlanner.services.mapper.UserMapper;
+import com.ispydeer.WorkPlanner.services.membership.TeamMemberships;
+import com.ispydeer.WorkPlanner.services.metrics.MetricsConfiguration;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
+import com.ispydeer.WorkPlanner.services.pagination.PageToken;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Service class for managing user-related operations.
  */
 @Service
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 public class UserService {
 
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PlanEntryRepository planEntryRepository;
+    private final RecurringPlanEntryRepository recurringPlanEntryRepository;
+    private final WeeklyHoursRollupRepository weeklyHoursRollupRepository;
+    private final EntityCache entityCache;
+    private final TeamMemberships teamMemberships;
+    private final UserMapper userMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final CachingAuthenticationProvider cachingAuthenticationProvider;
 
     /**
      * Constructs a UserService with the specified dependencies.
      *
-     * @param userRepository      the repository for user operations
-     * @param teamRepository      the repository for team operations
-     * @param modelMapper         the model mapper for DTO conversions
-     * @param passwordEncoder     the password encoder for hashing passwords
+     * @param userRepository                the repository for user operations
+     * @param teamRepository                the repository for team operations
+     * @param planEntryRepository           the repository for plan entry operations
+     * @param recurringPlanEntryRepository  the repository for recurring plan entry operations
+     * @param weeklyHoursRollupRepository   the repository for weekly rollup operations
+     * @param entityCache                   the cache of team and user lookups
+     * @param teamMemberships               the changes of team memberships
+     * @param userMapper                    the mapper for user DTO conversions
+     * @param passwordEncoder               the password encoder for hashing passwords
+     * @param cachingAuthenticationProvider the provider caching verified credentials
      */
     public UserService(
             UserRepository userRepository,
             TeamRepository teamRepository,
-            ModelMapper modelMapper,
-            BCryptPasswordEncoder passwordEncoder
+            PlanEntryRepository planEntryRepository,
+            RecurringPlanEntryRepository recurringPlanEntryRepository,
+            WeeklyHoursRollupRepository weeklyHoursRollupRepository,
+            EntityCache entityCache,
+            TeamMemberships teamMemberships,
+            UserMapper userMapper,
+            PasswordEncoder passwordEncoder,
+            CachingAuthenticationProvider cachingAuthenticationProvider
     ) {
         this.userRepository = userRepository;
-        this.modelMapper = modelMapper;
+        this.planEntryRepository = planEntryRepository;
+        this.recurringPlanEntryRepository = recurringPlanEntryRepository;
+        this.weeklyHoursRollupRepository = weeklyHoursRollupRepository;
+        this.entityCache = entityCache;
+        this.teamMemberships = teamMemberships;
+        this.userMapper = userMapper;
         this.teamRepository = teamRepository;
         this.passwordEncoder = passwordEncoder;
+        this.cachingAuthenticationProvider = cachingAuthenticationProvider;
     }
 
     /**
-     * Retrieves all users, sorted by their first name.
+     * Retrieves a page of all users, sorted by their first name.
+     * Pages are cached until a user is created or deleted.
      *
-     * @return a list of UserDto representing all users
+     * @param pageToken the token of the page to retrieve, or null for the first page
+     * @param pageSize  the maximum number of users on the page
+     * @return a page of UserDto representing the users
+     * @throws InvalidPageRequestException if the page token or page size is invalid
      */
-    public List<UserDto> retrieveAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(user -> modelMapper.map(user, UserDto.class))
-                .sorted(Comparator.comparing(UserDto::getFirstName))
-                .toList();
+    @Cacheable(cacheNames = CacheConfiguration.USER_PAGES, key = "{#pageToken, #pageSize}")
+    public CursorPage<UserDto> retrieveAllUsers(String pageToken, int pageSize) {
+        Limit limit = CursorPage.limitFor(pageSize);
+        List<User> users;
+        if (pageToken == null) {
+            users = userRepository.findUsersOrderedByFirstName(limit);
+        } else {
+            PageToken after = PageToken.decode(pageToken);
+            users = userRepository.findUsersOrderedByFirstNameAfter(after.sortKey(), after.id(), limit);
+        }
+        return CursorPage.of(
+                users,
+                pageSize,
+                user -> new PageToken(user.getFirstName(), user.getId()),
+                userMapper::toDto
+        );
     }
 
     /**
-     * Retrieves a user by ID.
+     * Retrieves a user by ID. The user is cached until they are deleted.
      *
      * @param userId the ID of the user
      * @return a UserDto representing the found user
      * @throws UserNotFoundException if the user with the given ID does not exist
      */
+    @Cacheable(cacheNames = CacheConfiguration.USERS, key = "#userId")
     public UserDto retrieveUserById(int userId) {
         User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
-        return modelMapper.map(user, UserDto.class);
+        return userMapper.toDto(user);
     }
 
     /**
@@ -83,7 +137,7 @@ public class UserService {
      */
     public UserDto retrieveUserByUsername(String username) {
         User user = userRepository.findByUsername(username).orElseThrow(UserNotFoundException::new);
-        return modelMapper.map(user, UserDto.class);
+        return userMapper.toDto(user);
     }
 
     /**
@@ -96,71 +150,109 @@ public class UserService {
         if (userRepository.existsByUsername(userRegistrationDto.getUsername())) {
             throw new UsernameAlreadyUsedException();
         }
-        User user = modelMapper.map(userRegistrationDto, User.class);
+        User user = userMapper.toEntity(userRegistrationDto);
         user.setAccountCreationDate(LocalDateTime.now());
         user.setPassword(passwordEncoder.encode(userRegistrationDto.getPassword()));
         user.setRole(Role.USER);
         userRepository.save(user);
+        entityCache.evictUserPages();
     }
 
     /**
      * Deletes a user by ID and removes from any associated teams.
+     * The user is not loaded: the team leaderships, plan entries, recurring plan entries, rollups,
+     * team memberships and the user itself are removed with one bulk statement each, so the number
+     * of statements does not depend on how many teams and plan entries the user has.
      *
      * @param userId the ID of the user to be deleted
      * @throws UserNotFoundException if the user with the given ID does not exist
      */
+    @Transactional
     public void deleteUser(int userId) {
-        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
-        for (Team team : user.getSetOfTeams()) {
-            if (team.getTeamLeader() != null && team.getTeamLeader().equals(user)) {
-                team.setTeamLeader(null);
-            }
-            team.getSetOfUsers().remove(user);
-            teamRepository.save(team);
+        String username = userRepository.findUsernameById(userId).orElseThrow(UserNotFoundException::new);
+        List<Integer> teamIds = teamRepository.findTeamIdsByMemberOrLeaderId(userId);
+        teamRepository.clearTeamLeader(userId);
+        planEntryRepository.deletePlanEntriesByUserId(userId);
+        recurringPlanEntryRepository.deleteRecurringPlanEntriesByUserId(userId);
+        weeklyHoursRollupRepository.deleteRollupsByUserId(userId);
+        userRepository.deleteUserById(userId);
+        for (int teamId : teamIds) {
+            entityCache.evictTeam(teamId);
+            entityCache.evictTeamMembers(teamId);
         }
-        userRepository.deleteById(userId);
+        entityCache.evictDeletedUser(userId);
+        cachingAuthenticationProvider.evict(username);
     }
 
     /**
-     * Retrieves all teams associated with a specific user.
+     * Retrieves all teams associated with a specific user, sorted by their name.
+     * The teams are read as DTOs sorted by the query, without loading the user and team entities.
      *
      * @param userId the ID of the user
      * @return a list of TeamDto representing the user's teams
      * @throws UserNotFoundException if the user with the given ID does not exist
      */
     public List<TeamDto> retrieveUserTeams(int userId) {
-        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
-        return user.getSetOfTeams().stream()
-                .map(team -> modelMapper.map(team, TeamDto.class))
-                .sorted(Comparator.comparing(TeamDto::getName))
-                .toList();
+        List<TeamDto> teams = teamRepository.findUserTeamsOrderedByName(userId, Limit.unlimited());
+        if (teams.isEmpty() && !entityCache.userExists(userId)) {
+            throw new UserNotFoundException();
+        }
+        return teams;
     }
 
     /**
-     * Adds a user to a specified team.
+     * Retrieves a page of the teams associated with a specific user, sorted by their name.
+     *
+     * @param userId    the ID of the user
+     * @param pageToken the token of the page to retrieve, or null for the first page
+     * @param pageSize  the maximum number of teams on the page
+     * @return a page of TeamDto representing the user's teams
+     * @throws UserNotFoundException       if the user with the given ID does not exist
+     * @throws InvalidPageRequestException if the page token or page size is invalid
+     */
+    public CursorPage<TeamDto> retrieveUserTeams(int userId, String pageToken, int pageSize) {
+        Limit limit = CursorPage.limitFor(pageSize);
+        List<TeamDto> teams;
+        if (pageToken == null) {
+            teams = teamRepository.findUserTeamsOrderedByName(userId, limit);
+        } else {
+            PageToken after = PageToken.decode(pageToken);
+            teams = teamRepository.findUserTeamsOrderedByNameAfter(userId, after.sortKey(), after.id(), limit);
+        }
+        if (teams.isEmpty() && !entityCache.userExists(userId)) {
+            throw new UserNotFoundException();
+        }
+        return CursorPage.of(
+                teams,
+                pageSize,
+                team -> new PageToken(team.getName(), team.getId()),
+                Function.identity()
+        );
+    }
+
+    /**
+     * Adds a user to a specified team. Adding a user who is already a member has no effect.
      *
      * @param userId the ID of the user to add
      * @param teamId the ID of the team to which the user will be added
      * @throws UserNotFoundException if the user or team does not exist
      */
     public void addUserTeam(int userId, int teamId) {
-        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
-        Team team = teamRepository.findById(teamId).orElseThrow(UserNotFoundException::new);
-        user.getSetOfTeams().add(team);
-        userRepository.save(user);
+        if (!entityCache.userExists(userId) || !teamMemberships.addUsers(teamId, List.of(userId))) {
+            throw new UserNotFoundException();
+        }
     }
 
     /**
-     * Removes a user from a specified team.
+     * Removes a user from a specified team, and removes them as the team leader if they lead it.
      *
      * @param userId the ID of the user to remove
      * @param teamId the ID of the team from which the user will be removed
      * @throws UserNotFoundException if the user or team does not exist
      */
     public void deleteUserTeam(int userId, int teamId) {
-        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
-        Team team = teamRepository.findById(teamId).orElseThrow(UserNotFoundException::new);
-        user.getSetOfTeams().remove(team);
-        userRepository.save(user);
+        if (!entityCache.userExists(userId) || !teamMemberships.removeUsers(teamId, List.of(userId))) {
+            throw new UserNotFoundException();
+        }
     }
 }
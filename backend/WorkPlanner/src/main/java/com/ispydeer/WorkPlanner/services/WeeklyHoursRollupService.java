@@ -0,0 +1,334 @@
+package com.ispydeer.WorkPlanner.services;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidTimeWindowException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.TeamNotFoundException;
+import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.WeeklyHoursRollup;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.WeeklyHoursDto;
+import com.ispydeer.WorkPlanner.entities.team.Team;
+import com.ispydeer.WorkPlanner.entities.user.User;
+import com.ispydeer.WorkPlanner.repositiories.PlanEntryInterval;
+import com.ispydeer.WorkPlanner.repositiories.PlanEntryRepository;
+import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
+import com.ispydeer.WorkPlanner.repositiories.UserRepository;
+import com.ispydeer.WorkPlanner.repositiories.WeeklyHoursRollupRepository;
+import com.ispydeer.WorkPlanner.services.cache.EntityCache;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service class for maintaining and reporting the planned time of users per team and ISO week.
+ * <p>
+ * Rollups are updated incrementally in the transaction creating or deleting plan entries, so reports
+ * read one row per user and week instead of summing every plan entry. Occurrences of recurring plan entries
+ * are not stored and are expanded into the report at read time.
+ */
+@Service
+public class WeeklyHoursRollupService {
+
+    /**
+     * The number of users whose plan entries are rolled up together when rebuilding the rollups.
+     */
+    private static final int REBUILD_CHUNK_SIZE = 100;
+
+    private final WeeklyHoursRollupRepository weeklyHoursRollupRepository;
+    private final PlanEntryRepository planEntryRepository;
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final EntityCache entityCache;
+    private final RecurringPlanEntryService recurringPlanEntryService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a WeeklyHoursRollupService with the specified dependencies.
+     *
+     * @param weeklyHoursRollupRepository the repository for weekly rollup operations
+     * @param planEntryRepository         the repository for plan entry operations
+     * @param teamRepository              the repository for team operations
+     * @param userRepository              the repository for user operations
+     * @param entityCache                 the cache of team and user lookups
+     * @param recurringPlanEntryService   the service expanding occurrences of recurring plan entries
+     * @param transactionTemplate         the template running every chunk of a rebuild in a transaction
+     */
+    public WeeklyHoursRollupService(
+            WeeklyHoursRollupRepository weeklyHoursRollupRepository,
+            PlanEntryRepository planEntryRepository,
+            TeamRepository teamRepository,
+            UserRepository userRepository,
+            EntityCache entityCache,
+            RecurringPlanEntryService recurringPlanEntryService,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.weeklyHoursRollupRepository = weeklyHoursRollupRepository;
+        this.planEntryRepository = planEntryRepository;
+        this.teamRepository = teamRepository;
+        this.userRepository = userRepository;
+        this.entityCache = entityCache;
+        this.recurringPlanEntryService = recurringPlanEntryService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Adds saved plan entries to the rollups of their teams, users and weeks.
+     * Must be called in the transaction saving the plan entries, after locking their users as
+     * {@link com.ispydeer.WorkPlanner.services.conflict.PlanEntryConflictDetector} does. Missing rollups are
+     * inserted, and the user lock keeps two transactions from inserting the same rollup, which the unique
+     * constraint on team, user and week would reject.
+     *
+     * @param planEntries the saved plan entries
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addPlanEntries(Collection<PlanEntry> planEntries) {
+        apply(planEntries, 1);
+    }
+
+    /**
+     * Removes plan entries about to be deleted from the rollups of their teams, users and weeks.
+     * Must be called in the transaction deleting the plan entries.
+     *
+     * @param planEntries the plan entries to be deleted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removePlanEntries(Collection<PlanEntry> planEntries) {
+        apply(planEntries, -1);
+    }
+
+    /**
+     * Retrieves the planned time of the members of a team per ISO week, including occurrences
+     * of recurring plan entries. Weeks without planned time are omitted.
+     *
+     * @param teamId the ID of the team
+     * @param userId the ID of a single member to report on, or null for all members
+     * @param from   a date within the first reported week
+     * @param to     the exclusive end date; the week containing the day before it is the last reported week
+     * @return a list of WeeklyHoursDto sorted by week and user ID
+     * @throws InvalidTimeWindowException if either bound is missing, {@code from} is not before {@code to}
+     *                                    or the window is longer than {@link PlanEntryService#MAX_TIME_WINDOW}
+     * @throws TeamNotFoundException      if the team with the given ID does not exist
+     */
+    public List<WeeklyHoursDto> retrieveWeeklyHours(int teamId, Integer userId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || !from.isBefore(to)
+                || from.plusDays(PlanEntryService.MAX_TIME_WINDOW.toDays()).isBefore(to)) {
+            throw new InvalidTimeWindowException();
+        }
+        if (!entityCache.teamExists(teamId)) {
+            throw new TeamNotFoundException();
+        }
+        LocalDate firstWeek = weekOf(from);
+        LocalDate endWeek = weekOf(to.minusDays(1)).plusWeeks(1);
+
+        Map<RollupKey, WeekTotals> totals = new TreeMap<>(
+                Comparator.comparing(RollupKey::weekStart).thenComparing(RollupKey::userId));
+        for (WeeklyHoursRollup rollup : weeklyHoursRollupRepository.findByTeamIdInWeeks(teamId, userId, firstWeek, endWeek)) {
+            WeekTotals weekTotals = totals.computeIfAbsent(
+                    new RollupKey(teamId, rollup.getUser().getId(), rollup.getWeekStart()),
+                    key -> new WeekTotals());
+            weekTotals.minutes += rollup.getTotalMinutes();
+            weekTotals.count += rollup.getEntryCount();
+        }
+
+        LocalDateTime windowStart = firstWeek.atStartOfDay();
+        LocalDateTime windowEnd = endWeek.atStartOfDay();
+        Map<Integer, List<PlanEntryDto>> occurrencesByUserId = userId == null
+                ? recurringPlanEntryService.retrieveOccurrencesByTeamIdInTimeWindow(teamId, windowStart, windowEnd)
+                : Map.of(userId, recurringPlanEntryService.retrieveOccurrencesByTeamIdAndUserIdInTimeWindow(
+                        teamId, userId, windowStart, windowEnd));
+        occurrencesByUserId.forEach((occurrenceUserId, occurrences) -> occurrences.forEach(occurrence -> accumulate(
+                totals, teamId, occurrenceUserId, occurrence.getStartTime(), occurrence.getEndTime(),
+                windowStart, windowEnd)));
+
+        List<WeeklyHoursDto> weeklyHours = new ArrayList<>();
+        totals.forEach((key, weekTotals) -> {
+            if (weekTotals.minutes != 0 || weekTotals.count != 0) {
+                weeklyHours.add(new WeeklyHoursDto(key.userId(), key.weekStart(), weekTotals.minutes, weekTotals.count));
+            }
+        });
+        return weeklyHours;
+    }
+
+    /**
+     * Builds the rollups from all stored plan entries when the rollup table is empty,
+     * e.g. on the first start after rollups were introduced.
+     * <p>
+     * Plan entries are read for {@link #REBUILD_CHUNK_SIZE} users at a time, in user ID order, and every chunk
+     * is rolled up in its own transaction, so the locks of its users are released and its rollups leave the
+     * persistence context before the next chunk is read. Memory and the time plan entries of a user wait
+     * therefore do not grow with the number of plan entries. Called within a transaction, the chunks join it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (weeklyHoursRollupRepository.count() > 0) {
+            return;
+        }
+        Integer lastUserId = 0;
+        while (lastUserId != null) {
+            int afterUserId = lastUserId;
+            lastUserId = transactionTemplate.execute(status -> rebuildChunk(afterUserId));
+        }
+    }
+
+    /**
+     * Rebuilds the rollups of the next {@link #REBUILD_CHUNK_SIZE} users with plan entries.
+     * The users are locked first and rollups created for them since the table was found empty are replaced,
+     * so plan entries created concurrently are neither lost nor rolled up twice.
+     *
+     * @param afterUserId the ID of the last user of the previous chunk, or 0 for the first chunk
+     * @return the ID of the last user of the chunk, or null if no user with plan entries is left
+     */
+    private Integer rebuildChunk(int afterUserId) {
+        List<Integer> userIds = planEntryRepository.findPlanEntryUserIdsAfter(afterUserId, Limit.of(REBUILD_CHUNK_SIZE));
+        if (userIds.isEmpty()) {
+            return null;
+        }
+        userRepository.findForUpdateByIdIn(userIds);
+        weeklyHoursRollupRepository.deleteRollupsByUserIds(userIds);
+        Map<RollupKey, WeekTotals> totals = new HashMap<>();
+        for (PlanEntryInterval interval : planEntryRepository.findPlanEntryIntervalsByUserIds(userIds)) {
+            accumulate(totals, interval.teamId(), interval.userId(), interval.startTime(), interval.endTime(),
+                    interval.startTime(), interval.endTime());
+        }
+        List<WeeklyHoursRollup> rollups = new ArrayList<>(totals.size());
+        totals.forEach((key, weekTotals) -> {
+            WeeklyHoursRollup rollup = new WeeklyHoursRollup(
+                    teamRepository.getReferenceById(key.teamId()),
+                    userRepository.getReferenceById(key.userId()),
+                    key.weekStart()
+            );
+            rollup.setTotalMinutes(weekTotals.minutes);
+            rollup.setEntryCount(weekTotals.count);
+            rollups.add(rollup);
+        });
+        weeklyHoursRollupRepository.saveAll(rollups);
+        return userIds.getLast();
+    }
+
+    /**
+     * Adds or subtracts plan entries to or from their rollups. The affected rollups are read and locked
+     * with a single query; missing rollups are created and inserted in one batch. Subtracting never inserts,
+     * so only adding relies on the users being locked.
+     *
+     * @param planEntries the plan entries
+     * @param sign        1 to add the plan entries, -1 to subtract them
+     */
+    private void apply(Collection<PlanEntry> planEntries, int sign) {
+        Map<RollupKey, WeekTotals> totals = new HashMap<>();
+        Map<Integer, Team> teams = new HashMap<>();
+        Map<Integer, User> users = new HashMap<>();
+        for (PlanEntry planEntry : planEntries) {
+            int teamId = planEntry.getTeam().getId();
+            int userId = planEntry.getUser().getId();
+            teams.putIfAbsent(teamId, planEntry.getTeam());
+            users.putIfAbsent(userId, planEntry.getUser());
+            accumulate(totals, teamId, userId, planEntry.getStartTime(), planEntry.getEndTime(),
+                    planEntry.getStartTime(), planEntry.getEndTime());
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+
+        LocalDate firstWeek = totals.keySet().stream().map(RollupKey::weekStart).min(Comparator.naturalOrder()).get();
+        LocalDate lastWeek = totals.keySet().stream().map(RollupKey::weekStart).max(Comparator.naturalOrder()).get();
+        Map<RollupKey, WeeklyHoursRollup> rollups = new HashMap<>();
+        for (WeeklyHoursRollup rollup : weeklyHoursRollupRepository.findForUpdate(teams.keySet(), users.keySet(), firstWeek, lastWeek)) {
+            rollups.put(new RollupKey(rollup.getTeam().getId(), rollup.getUser().getId(), rollup.getWeekStart()), rollup);
+        }
+
+        List<WeeklyHoursRollup> created = new ArrayList<>();
+        totals.forEach((key, weekTotals) -> {
+            WeeklyHoursRollup rollup = rollups.get(key);
+            if (rollup == null) {
+                if (sign < 0) {
+                    return;
+                }
+                rollup = new WeeklyHoursRollup(teams.get(key.teamId()), users.get(key.userId()), key.weekStart());
+                created.add(rollup);
+            }
+            rollup.setTotalMinutes(rollup.getTotalMinutes() + sign * weekTotals.minutes);
+            rollup.setEntryCount(rollup.getEntryCount() + sign * weekTotals.count);
+        });
+        weeklyHoursRollupRepository.saveAll(created);
+    }
+
+    /**
+     * Adds the minutes of an interval, clipped to the given bounds, to every week it overlaps,
+     * and counts it in the week it starts if that is within the bounds.
+     *
+     * @param totals    the totals by team, user and week
+     * @param teamId    the ID of the team
+     * @param userId    the ID of the user
+     * @param startTime the start time of the interval
+     * @param endTime   the end time of the interval
+     * @param from      the inclusive lower bound
+     * @param to        the exclusive upper bound
+     */
+    private static void accumulate(
+            Map<RollupKey, WeekTotals> totals,
+            int teamId,
+            int userId,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        LocalDateTime start = startTime.isBefore(from) ? from : startTime;
+        LocalDateTime end = endTime.isAfter(to) ? to : endTime;
+        if (!startTime.isBefore(from)) {
+            totals.computeIfAbsent(new RollupKey(teamId, userId, weekOf(startTime.toLocalDate())), key -> new WeekTotals())
+                    .count++;
+        }
+        if (!start.isBefore(end)) {
+            return;
+        }
+        for (LocalDate week = weekOf(start.toLocalDate()); week.atStartOfDay().isBefore(end); week = week.plusWeeks(1)) {
+            LocalDateTime weekEnd = week.plusWeeks(1).atStartOfDay();
+            LocalDateTime segmentStart = start.isAfter(week.atStartOfDay()) ? start : week.atStartOfDay();
+            LocalDateTime segmentEnd = end.isBefore(weekEnd) ? end : weekEnd;
+            totals.computeIfAbsent(new RollupKey(teamId, userId, week), key -> new WeekTotals())
+                    .minutes += Duration.between(segmentStart, segmentEnd).toMinutes();
+        }
+    }
+
+    /**
+     * Returns the Monday of the ISO week of the given date.
+     *
+     * @param date the date
+     * @return the first day of the date's week
+     */
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Identifies the rollup of a user in a team for one week.
+     */
+    private record RollupKey(int teamId, int userId, LocalDate weekStart) {
+    }
+
+    /**
+     * The planned minutes and the number of plan entries accumulated for one rollup.
+     */
+    private static final class WeekTotals {
+
+        private long minutes;
+        private int count;
+    }
+}
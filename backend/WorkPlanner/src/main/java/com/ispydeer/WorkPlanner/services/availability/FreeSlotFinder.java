@@ -0,0 +1,234 @@
+package com.ispydeer.WorkPlanner.services.availability;
+
+import com.ispydeer.WorkPlanner.entities.team.dto.AvailabilitySlotDto;
+import com.ispydeer.WorkPlanner.repositiories.BusyInterval;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds time slots in which enough members of a team are free at the same time.
+ * <p>
+ * The busy intervals of all members are turned into start and end events and swept once in time order.
+ * For every member the sweep tracks how many busy intervals currently cover them and since when they are free.
+ * Free-since times are always the start of the time window or an event time, so they are numbered in time order
+ * and the free members are counted per number in a Fenwick tree; the earliest start of a slot shared by
+ * {@code minMembers} members is the {@code minMembers}-th smallest free-since time, found by descending the tree.
+ * A slot is reported when one of its members becomes busy, or at the end of the time window.
+ * Sorting the events costs O(e log e) for e events and the sweep O(log e) per event, plus O(m) for m members
+ * per reported slot to list its members, independent of the length of the time window.
+ */
+public final class FreeSlotFinder {
+
+    private FreeSlotFinder() {
+    }
+
+    /**
+     * Finds the slots in which at least {@code minMembers} members are free together for at least {@code duration}.
+     * Every slot is maximal: it starts when the last of its members became free and ends when the first
+     * of them becomes busy. Slots may overlap when different groups of members are free at overlapping times.
+     *
+     * @param memberIds     the IDs of the team members
+     * @param busyIntervals the busy intervals of the members; intervals of other users are ignored
+     * @param from          the inclusive start of the time window
+     * @param to            the exclusive end of the time window
+     * @param duration      the minimum length of a slot
+     * @param minMembers    the minimum number of members free during a slot
+     * @return the slots sorted by start time and end time
+     */
+    public static List<AvailabilitySlotDto> findFreeSlots(
+            List<Integer> memberIds,
+            List<BusyInterval> busyIntervals,
+            LocalDateTime from,
+            LocalDateTime to,
+            Duration duration,
+            int minMembers
+    ) {
+        List<AvailabilitySlotDto> slots = new ArrayList<>();
+        int memberCount = memberIds.size();
+        if (minMembers > memberCount) {
+            return slots;
+        }
+
+        Map<Integer, Integer> memberByUserId = new HashMap<>();
+        for (int member = 0; member < memberCount; member++) {
+            memberByUserId.put(memberIds.get(member), member);
+        }
+        List<Event> events = new ArrayList<>(busyIntervals.size() * 2);
+        for (BusyInterval busyInterval : busyIntervals) {
+            Integer member = memberByUserId.get(busyInterval.userId());
+            LocalDateTime start = busyInterval.startTime().isBefore(from) ? from : busyInterval.startTime();
+            LocalDateTime end = busyInterval.endTime().isAfter(to) ? to : busyInterval.endTime();
+            if (member != null && start.isBefore(end)) {
+                events.add(new Event(start, member, 1));
+                events.add(new Event(end, member, -1));
+            }
+        }
+        events.sort(Comparator.comparing(Event::time));
+
+        Sweep sweep = new Sweep(memberIds, from, events.size());
+        int next = 0;
+        while (next < events.size()) {
+            int groupStart = next;
+            LocalDateTime time = events.get(next).time();
+            for (; next < events.size() && events.get(next).time().equals(time); next++) {
+                Event event = events.get(next);
+                sweep.busyCount[event.member()] += event.delta();
+            }
+
+            int slotStart = sweep.slotStart(minMembers);
+            boolean slotEnds = false;
+            for (int index = groupStart; index < next && slotStart >= 0 && !slotEnds; index++) {
+                int member = events.get(index).member();
+                slotEnds = sweep.free.get(member) && sweep.busyCount[member] > 0
+                        && sweep.freeSince[member] <= slotStart;
+            }
+            if (slotEnds) {
+                sweep.addSlot(slots, slotStart, time, duration);
+            }
+            int timeNumber = sweep.number(time);
+            for (int index = groupStart; index < next; index++) {
+                sweep.update(events.get(index).member(), timeNumber);
+            }
+        }
+        int slotStart = sweep.slotStart(minMembers);
+        if (slotStart >= 0) {
+            sweep.addSlot(slots, slotStart, to, duration);
+        }
+
+        slots.sort(Comparator.comparing(AvailabilitySlotDto::getStartTime).thenComparing(AvailabilitySlotDto::getEndTime));
+        return slots;
+    }
+
+    /**
+     * A busy interval of a member starting (delta 1) or ending (delta -1) at the given time.
+     */
+    private record Event(LocalDateTime time, int member, int delta) {
+    }
+
+    /**
+     * The state of the sweep at the current time.
+     * Times are referred to by their number in time order; number 0 is the start of the time window.
+     */
+    private static final class Sweep {
+
+        private final List<Integer> memberIds;
+        private final int[] busyCount;
+        private final int[] freeSince;
+        private final BitSet free;
+        private final LocalDateTime[] times;
+        private final int[] freeCounts;
+        private int timeCount;
+        private int freeCount;
+
+        private Sweep(List<Integer> memberIds, LocalDateTime from, int eventCount) {
+            this.memberIds = memberIds;
+            this.busyCount = new int[memberIds.size()];
+            this.freeSince = new int[memberIds.size()];
+            this.free = new BitSet(memberIds.size());
+            this.times = new LocalDateTime[eventCount + 1];
+            this.freeCounts = new int[eventCount + 2];
+            times[0] = from;
+            timeCount = 1;
+            free.set(0, memberIds.size());
+            for (int member = 0; member < memberIds.size(); member++) {
+                addFree(0, 1);
+            }
+        }
+
+        /**
+         * Numbers the given time, which is not before any time numbered so far.
+         *
+         * @param time the time
+         * @return the number of the time
+         */
+        private int number(LocalDateTime time) {
+            if (!times[timeCount - 1].equals(time)) {
+                times[timeCount++] = time;
+            }
+            return timeCount - 1;
+        }
+
+        /**
+         * Returns the earliest time since which at least the given number of members are free.
+         *
+         * @param minMembers the number of members
+         * @return the number of the {@code minMembers}-th smallest free-since time, or -1 if fewer members are free
+         */
+        private int slotStart(int minMembers) {
+            if (freeCount < minMembers) {
+                return -1;
+            }
+            int position = 0;
+            int remaining = minMembers;
+            for (int step = Integer.highestOneBit(freeCounts.length - 1); step > 0; step >>= 1) {
+                if (position + step < freeCounts.length && freeCounts[position + step] < remaining) {
+                    position += step;
+                    remaining -= freeCounts[position];
+                }
+            }
+            return position;
+        }
+
+        /**
+         * Applies the new busy count of a member at the given time.
+         *
+         * @param member the index of the member
+         * @param time   the number of the current time
+         */
+        private void update(int member, int time) {
+            boolean isFree = busyCount[member] == 0;
+            if (isFree && !free.get(member)) {
+                free.set(member);
+                freeSince[member] = time;
+                addFree(time, 1);
+            } else if (!isFree && free.get(member)) {
+                free.clear(member);
+                addFree(freeSince[member], -1);
+            }
+        }
+
+        /**
+         * Changes the number of members free since the given time.
+         *
+         * @param time  the number of the free-since time
+         * @param delta the change of the number of members
+         */
+        private void addFree(int time, int delta) {
+            freeCount += delta;
+            for (int position = time + 1; position < freeCounts.length; position += position & -position) {
+                freeCounts[position] += delta;
+            }
+        }
+
+        /**
+         * Reports the slot from the given start to the given end, with every member free since its start,
+         * if it is long enough.
+         *
+         * @param slots    the reported slots
+         * @param start    the number of the start of the slot
+         * @param end      the end of the slot
+         * @param duration the minimum length of a slot
+         */
+        private void addSlot(List<AvailabilitySlotDto> slots, int start, LocalDateTime end, Duration duration) {
+            LocalDateTime startTime = times[start];
+            if (Duration.between(startTime, end).compareTo(duration) < 0) {
+                return;
+            }
+            List<Integer> availableUserIds = new ArrayList<>();
+            for (int member = free.nextSetBit(0); member >= 0; member = free.nextSetBit(member + 1)) {
+                if (freeSince[member] <= start) {
+                    availableUserIds.add(memberIds.get(member));
+                }
+            }
+            availableUserIds.sort(Comparator.naturalOrder());
+            slots.add(new AvailabilitySlotDto(startTime, end, availableUserIds));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ispydeer.WorkPlanner.services.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configures the in-process caches of team and user lookups.
+ * <p>
+ * Every cache is bounded in size and expires entries a fixed time after they were written,
+ * so entries missed by an invalidation, e.g. rows written by the dataset generator, do not live forever.
+ * Pages expire sooner than single entities, as any created or deleted team or user invalidates all of them.
+ * Statistics are recorded for the cache metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String TEAMS = "teams";
+    public static final String USERS = "users";
+    public static final String TEAM_MEMBERS = "teamMembers";
+    public static final String TEAM_PAGES = "teamPages";
+    public static final String USER_PAGES = "userPages";
+    public static final String TEAM_EXISTS = "teamExists";
+    public static final String USER_EXISTS = "userExists";
+
+    private static final long ENTITY_CACHE_SIZE = 10_000;
+    private static final Duration ENTITY_CACHE_TTL = Duration.ofMinutes(10);
+    private static final long PAGE_CACHE_SIZE = 1_000;
+    private static final Duration PAGE_CACHE_TTL = Duration.ofMinutes(1);
+
+    /**
+     * Configures the CacheManager with the fixed set of caches; no other caches are created on demand.
+     *
+     * @return the configured CacheManager
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        for (String cacheName : List.of(TEAMS, USERS, TEAM_MEMBERS, TEAM_EXISTS, USER_EXISTS)) {
+            cacheManager.registerCustomCache(cacheName, caffeine(ENTITY_CACHE_SIZE, ENTITY_CACHE_TTL).build());
+        }
+        for (String cacheName : List.of(TEAM_PAGES, USER_PAGES)) {
+            cacheManager.registerCustomCache(cacheName, caffeine(PAGE_CACHE_SIZE, PAGE_CACHE_TTL).build());
+        }
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> caffeine(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats();
+    }
+}
@@ -0,0 +1,202 @@
+package com.ispydeer.WorkPlanner.services.cache;
+
+import com.ispydeer.WorkPlanner.entities.team.Team;
+import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
+import com.ispydeer.WorkPlanner.repositiories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Existence checks of teams and users backed by the caches, and the invalidation of cached team and user lookups.
+ * <p>
+ * Only positive existence checks are cached, so a created team or user is found immediately,
+ * and deleting one evicts its entry. Evictions are applied immediately and once more when the surrounding
+ * transaction, if any, completes, so that a lookup cached by a concurrent request between the change and
+ * its commit, or a lookup of changes that were rolled back, does not stay in the cache.
+ * <p>
+ * Team memberships are also changed with statements on the join table that Hibernate does not track,
+ * so the members of a team are evicted from the second-level cache the same way.
+ */
+@Component
+public class EntityCache {
+
+    private static final String TEAM_MEMBERS_ROLE = Team.class.getName() + ".setOfUsers";
+
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final org.hibernate.Cache secondLevelCache;
+    private final Cache teams;
+    private final Cache users;
+    private final Cache teamMembers;
+    private final Cache teamPages;
+    private final Cache userPages;
+    private final Cache teamExists;
+    private final Cache userExists;
+
+    /**
+     * Constructs an EntityCache with the specified dependencies.
+     *
+     * @param teamRepository       the repository for team operations
+     * @param userRepository       the repository for user operations
+     * @param cacheManager         the manager of the caches
+     * @param entityManagerFactory the factory owning the second-level cache
+     */
+    public EntityCache(
+            TeamRepository teamRepository,
+            UserRepository userRepository,
+            CacheManager cacheManager,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        this.teamRepository = teamRepository;
+        this.userRepository = userRepository;
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        this.teams = cache(cacheManager, CacheConfiguration.TEAMS);
+        this.users = cache(cacheManager, CacheConfiguration.USERS);
+        this.teamMembers = cache(cacheManager, CacheConfiguration.TEAM_MEMBERS);
+        this.teamPages = cache(cacheManager, CacheConfiguration.TEAM_PAGES);
+        this.userPages = cache(cacheManager, CacheConfiguration.USER_PAGES);
+        this.teamExists = cache(cacheManager, CacheConfiguration.TEAM_EXISTS);
+        this.userExists = cache(cacheManager, CacheConfiguration.USER_EXISTS);
+    }
+
+    /**
+     * Checks whether a team exists.
+     *
+     * @param teamId the ID of the team
+     * @return true if the team exists
+     */
+    public boolean teamExists(int teamId) {
+        return exists(teamExists, teamId, teamRepository::existsById);
+    }
+
+    /**
+     * Checks whether a user exists.
+     *
+     * @param userId the ID of the user
+     * @return true if the user exists
+     */
+    public boolean userExists(int userId) {
+        return exists(userExists, userId, userRepository::existsById);
+    }
+
+    /**
+     * Invalidates the cached team and the cached team pages after the team was changed.
+     *
+     * @param teamId the ID of the team
+     */
+    public void evictTeam(int teamId) {
+        evict(teams, teamId);
+        clear(teamPages);
+    }
+
+    /**
+     * Invalidates the cached members of a team after its membership changed,
+     * including the team's members in the second-level cache.
+     *
+     * @param teamId the ID of the team
+     */
+    public void evictTeamMembers(int teamId) {
+        evict(teamMembers, teamId);
+        secondLevelCache.evictCollectionData(TEAM_MEMBERS_ROLE, teamId);
+        afterCompletion(status -> secondLevelCache.evictCollectionData(TEAM_MEMBERS_ROLE, teamId));
+    }
+
+    /**
+     * Invalidates the cached team pages after a team was created.
+     */
+    public void evictTeamPages() {
+        clear(teamPages);
+    }
+
+    /**
+     * Invalidates everything cached about a deleted team.
+     *
+     * @param teamId the ID of the team
+     */
+    public void evictDeletedTeam(int teamId) {
+        evict(teamExists, teamId);
+        evict(teamMembers, teamId);
+        evictTeam(teamId);
+    }
+
+    /**
+     * Invalidates the cached user pages after a user was created.
+     */
+    public void evictUserPages() {
+        clear(userPages);
+    }
+
+    /**
+     * Invalidates everything cached about a deleted user, except the teams they were a member or leader of.
+     *
+     * @param userId the ID of the user
+     */
+    public void evictDeletedUser(int userId) {
+        evict(userExists, userId);
+        evict(users, userId);
+        clear(userPages);
+    }
+
+    /**
+     * Checks whether an entity exists, caching a positive result. The cached result is evicted again
+     * if the surrounding transaction, which may have created the entity, does not commit.
+     *
+     * @param cache  the cache of positive results
+     * @param id     the ID of the entity
+     * @param lookup the existence check against the database
+     * @return true if the entity exists
+     */
+    private boolean exists(Cache cache, int id, Predicate<Integer> lookup) {
+        if (cache.get(id) != null) {
+            return true;
+        }
+        boolean exists = lookup.test(id);
+        if (exists) {
+            cache.put(id, Boolean.TRUE);
+            afterCompletion(status -> {
+                if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                    cache.evict(id);
+                }
+            });
+        }
+        return exists;
+    }
+
+    private void evict(Cache cache, int key) {
+        cache.evict(key);
+        afterCompletion(status -> cache.evict(key));
+    }
+
+    private void clear(Cache cache) {
+        cache.clear();
+        afterCompletion(status -> cache.clear());
+    }
+
+    /**
+     * Runs an action when the surrounding transaction completes; does nothing outside a transaction.
+     *
+     * @param action the action, receiving the completion status
+     */
+    private static void afterCompletion(IntConsumer action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status);
+                }
+            });
+        }
+    }
+
+    private static Cache cache(CacheManager cacheManager, String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+}
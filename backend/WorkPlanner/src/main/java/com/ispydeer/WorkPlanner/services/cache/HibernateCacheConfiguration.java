@@ -0,0 +1,74 @@
+package com.ispydeer.WorkPlanner.services.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.ispydeer.WorkPlanner.entities.team.Team;
+import com.ispydeer.WorkPlanner.entities.user.User;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configures the regions of the Hibernate second-level cache and query cache.
+ * <p>
+ * The regions are JCache caches backed by Caffeine. They are created here rather than on demand,
+ * so every region has a size limit and records statistics, and an entity or query marked as cacheable
+ * without a configured region fails at startup instead of getting an unbounded cache.
+ * Every application context gets its own cache manager, so test contexts do not share cached entities.
+ */
+@Configuration
+public class HibernateCacheConfiguration {
+
+    private static final long TEAM_REGION_SIZE = 10_000;
+    private static final long TEAM_MEMBERS_REGION_SIZE = 10_000;
+    private static final long USER_REGION_SIZE = 50_000;
+    private static final long QUERY_RESULTS_REGION_SIZE = 10_000;
+
+    /**
+     * Creates the cache manager holding the regions. The update timestamps region is not bounded,
+     * as it holds one entry per table and evicting one would serve stale query results.
+     *
+     * @return the cache manager of the second-level cache
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("workplanner:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(Team.CACHE_REGION, regionConfiguration(TEAM_REGION_SIZE));
+        cacheManager.createCache(Team.MEMBERS_CACHE_REGION, regionConfiguration(TEAM_MEMBERS_REGION_SIZE));
+        cacheManager.createCache(User.CACHE_REGION, regionConfiguration(USER_REGION_SIZE));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(QUERY_RESULTS_REGION_SIZE));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(null));
+        return cacheManager;
+    }
+
+    /**
+     * Passes the cache manager to Hibernate, which uses it instead of creating its own.
+     *
+     * @param hibernateCacheManager the cache manager of the second-level cache
+     * @return the customizer adding the cache manager to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return (Map<String, Object> properties) -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(Long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize == null ? OptionalLong.empty() : OptionalLong.of(maximumSize));
+        configuration.setStatisticsEnabled(true);
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,211 @@
+package com.ispydeer.WorkPlanner.services.conflict;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
+import com.ispydeer.WorkPlanner.entities.user.User;
+import com.ispydeer.WorkPlanner.repositiories.BusyInterval;
+import com.ispydeer.WorkPlanner.repositiories.PlanEntryRepository;
+import com.ispydeer.WorkPlanner.repositiories.RecurringPlanEntryRepository;
+import com.ispydeer.WorkPlanner.repositiories.UserRepository;
+import com.ispydeer.WorkPlanner.services.recurrence.RecurrenceRule;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Detects plan entries overlapping another plan entry of the same user, in any team, using the database.
+ * Occurrences of the user's recurring plan entries count as plan entries, as they do for team availability.
+ * <p>
+ * Checking for overlaps and storing the new plan entry must not interleave with another request for the
+ * same user, also when several application instances share the database. The transaction creating
+ * plan entries therefore first locks the rows of their users, so such requests run one after another
+ * and each one sees the plan entries committed before it. Nothing is kept beyond the transaction.
+ */
+@Component
+public class PlanEntryConflictDetector {
+
+    private final PlanEntryRepository planEntryRepository;
+    private final RecurringPlanEntryRepository recurringPlanEntryRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs a PlanEntryConflictDetector with the specified dependencies.
+     *
+     * @param planEntryRepository          the repository for plan entry operations
+     * @param recurringPlanEntryRepository the repository for recurring plan entry operations
+     * @param userRepository               the repository for user operations
+     */
+    public PlanEntryConflictDetector(
+            PlanEntryRepository planEntryRepository,
+            RecurringPlanEntryRepository recurringPlanEntryRepository,
+            UserRepository userRepository
+    ) {
+        this.planEntryRepository = planEntryRepository;
+        this.recurringPlanEntryRepository = recurringPlanEntryRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Locks a user until the end of the current transaction.
+     *
+     * @param userId the ID of the user
+     * @return false if the user does not exist, true otherwise
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean lockUser(int userId) {
+        return userRepository.lockById(userId).isPresent();
+    }
+
+    /**
+     * Locks the given users until the end of the current transaction.
+     *
+     * @param userIds the IDs of the users
+     * @return the locked users; users that do not exist are missing
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<User> lockUsers(Collection<Integer> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findForUpdateByIdIn(userIds);
+    }
+
+    /**
+     * Checks whether a locked user has a plan entry or an occurrence of a recurring plan entry
+     * overlapping the given time window. The recurring plan entries are only read without a plan entry conflict.
+     *
+     * @param userId the ID of the user
+     * @param from   the inclusive start of the time window
+     * @param to     the exclusive end of the time window
+     * @return true if the time window overlaps a plan entry or an occurrence of the user
+     */
+    public boolean hasConflict(int userId, LocalDateTime from, LocalDateTime to) {
+        return planEntryRepository.existsPlanEntryByUserIdInTimeWindow(userId, from, to)
+                || recurringPlanEntryRepository.findRecurringPlanEntriesByUserIdsInTimeWindow(List.of(userId), from, to)
+                .stream()
+                .anyMatch(recurringPlanEntry -> hasOccurrence(RecurrenceRule.of(recurringPlanEntry), from, to));
+    }
+
+    /**
+     * Checks whether an occurrence of a new recurring plan entry of a locked user, starting before the given time,
+     * overlaps a plan entry or an occurrence of another recurring plan entry of the user.
+     * Must be called before the new recurring plan entry is saved, so it is not checked against itself.
+     *
+     * @param userId the ID of the user
+     * @param rule   the recurrence rule of the new recurring plan entry
+     * @param to     the exclusive upper bound of the start times of the checked occurrences
+     * @return true if a checked occurrence overlaps a plan entry or an occurrence of the user
+     */
+    public boolean hasConflict(int userId, RecurrenceRule rule, LocalDateTime to) {
+        List<LocalDateTime> occurrences = rule.occurrencesOverlapping(rule.startTime(), to);
+        if (occurrences.isEmpty()) {
+            return false;
+        }
+        BusyTimes busyTimes = loadBusyTimes(
+                List.of(userId), occurrences.getFirst(), occurrences.getLast().plus(rule.duration()));
+        return occurrences.stream()
+                .anyMatch(startTime -> busyTimes.overlaps(userId, startTime, startTime.plus(rule.duration())));
+    }
+
+    /**
+     * Reads the busy intervals and recurring plan entries of locked users within the given time window
+     * with one query each, to check many new plan entries without a query per plan entry.
+     *
+     * @param userIds the IDs of the users
+     * @param from    the inclusive start of the time window
+     * @param to      the exclusive end of the time window
+     * @return the busy times of the users within the time window
+     */
+    public BusyTimes loadBusyTimes(Collection<Integer> userIds, LocalDateTime from, LocalDateTime to) {
+        BusyTimes busyTimes = new BusyTimes();
+        if (!userIds.isEmpty()) {
+            planEntryRepository.findBusyIntervalsByUserIdsInTimeWindow(userIds, from, to)
+                    .forEach(busyTimes::add);
+            recurringPlanEntryRepository.findRecurringPlanEntriesByUserIdsInTimeWindow(userIds, from, to)
+                    .forEach(recurringPlanEntry -> busyTimes.recurrenceRulesByUserId
+                            .computeIfAbsent(recurringPlanEntry.getUser().getId(), userId -> new ArrayList<>())
+                            .add(RecurrenceRule.of(recurringPlanEntry)));
+        }
+        return busyTimes;
+    }
+
+    /**
+     * Checks whether a recurrence rule has an occurrence overlapping the given time window.
+     *
+     * @param rule the recurrence rule
+     * @param from the inclusive start of the time window
+     * @param to   the exclusive end of the time window
+     * @return true if an occurrence starts before {@code to} and ends after {@code from}
+     */
+    private static boolean hasOccurrence(RecurrenceRule rule, LocalDateTime from, LocalDateTime to) {
+        return !rule.occurrencesOverlapping(from, to).isEmpty();
+    }
+
+    /**
+     * The busy intervals and recurring plan entries of some users within a time window, read for a single request.
+     * The intervals of every user are sorted by start time, and as no plan entry lasts longer than
+     * {@link PlanEntry#MAX_DURATION}, a check only visits intervals starting within that duration before its
+     * time window, as the database query does. Checking and adding an interval therefore costs O(log n + k)
+     * for n intervals of the user and k of them starting near the time window.
+     * Occurrences are expanded only within the time window of every checked plan entry, which is short.
+     * Intervals of plan entries accepted by the request are added, so later plan entries of the same request
+     * are checked against them as well.
+     */
+    public static final class BusyTimes {
+
+        private final Map<Integer, NavigableMap<LocalDateTime, List<BusyInterval>>> intervalsByUserId = new HashMap<>();
+        private final Map<Integer, List<RecurrenceRule>> recurrenceRulesByUserId = new HashMap<>();
+
+        private BusyTimes() {
+        }
+
+        /**
+         * Checks whether a user is busy at any time within the given time window.
+         *
+         * @param userId the ID of the user
+         * @param from   the inclusive start of the time window
+         * @param to     the exclusive end of the time window
+         * @return true if a busy interval or an occurrence of the user starts before {@code to}
+         * and ends after {@code from}
+         */
+        public boolean overlaps(int userId, LocalDateTime from, LocalDateTime to) {
+            NavigableMap<LocalDateTime, List<BusyInterval>> intervalsByStartTime = intervalsByUserId.get(userId);
+            if (intervalsByStartTime != null) {
+                for (List<BusyInterval> intervals : intervalsByStartTime
+                        .subMap(from.minus(PlanEntry.MAX_DURATION), false, to, false)
+                        .values()) {
+                    for (BusyInterval interval : intervals) {
+                        if (interval.endTime().isAfter(from)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            for (RecurrenceRule rule : recurrenceRulesByUserId.getOrDefault(userId, List.of())) {
+                if (hasOccurrence(rule, from, to)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Adds a busy interval of a user.
+         *
+         * @param interval the busy interval
+         */
+        public void add(BusyInterval interval) {
+            intervalsByUserId.computeIfAbsent(interval.userId(), userId -> new TreeMap<>())
+                    .computeIfAbsent(interval.startTime(), startTime -> new ArrayList<>(1))
+                    .add(interval);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.ispydeer.WorkPlanner.services.datagen;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.planEntryColor.PlanEntryColor;
+import com.ispydeer.WorkPlanner.entities.user.role.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates large synthetic datasets directly into the schema, for load tests, benchmarks and the dev profile.
+ * <p>
+ * Rows are written with batched JDBC statements instead of through JPA, so millions of plan entries
+ * can be loaded in minutes. IDs are allocated from the same sequences and in the same blocks as Hibernate's
+ * pooled optimizer does, so the application keeps creating entities without conflicts during and after generation.
+ * Weekly hours rollups of the generated plan entries are written as well.
+ * <p>
+ * Team sizes are skewed: every team gets one member, who leads it, and the remaining users join teams
+ * with decreasing probability; one in ten users is a member of a second team as well. Users work most weekdays
+ * and few weekend days, mostly in their usual shift: early, day, late, night or long day.
+ * <p>
+ * When called within a transaction, all rows are written in that transaction; otherwise every batch is committed
+ * on its own. Generation only adds new users, teams and plan entries, so no cached state of existing ones changes.
+ */
+@Component
+public class DatasetGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int SEQUENCE_INCREMENT = 50;
+    private static final int SEQUENCE_BLOCKS_PER_QUERY = 20;
+
+    private static final String[] FIRST_NAMES = {
+            "Jan", "Adam", "Ewa", "Barbara", "Marcin", "Piotr", "Kasia", "Karol", "Wioletta", "Andrzej",
+            "Tomasz", "Agnieszka", "Paweł", "Beata", "Stanisław", "Magdalena", "Dorota", "Krzysztof", "Anna"
+    };
+    private static final String[] LAST_NAMES = {
+            "Kowalski", "Nowak", "Mickiewicz", "Piasecka", "Jankowska", "Lis", "Wiktor", "Zadrożna", "Wielki",
+            "Zygmunt", "Krawczyk", "Mielnik", "Zaleska", "Jasiński", "Jarecka", "Zubek", "Lewandowska", "Kowal"
+    };
+    private static final String[] TITLES = {
+            "Assembly Line", "Quality Inspection", "Machine Calibration", "Inventory Check", "Maintenance",
+            "Packaging", "Shipping", "Training", "Paint Shop", "Supervision"
+    };
+    private static final Shift[] SHIFTS = {
+            new Shift(6, 8, 35),
+            new Shift(8, 8, 30),
+            new Shift(14, 8, 20),
+            new Shift(22, 8, 10),
+            new Shift(7, 12, 5)
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructs a DatasetGenerator with the specified dependencies.
+     *
+     * @param jdbcTemplate         the JDBC template writing the rows
+     * @param passwordEncoder      the encoder of the users' password
+     * @param entityManagerFactory the factory whose second-level cache is evicted after generating
+     */
+    public DatasetGenerator(
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Generates a dataset. The password is hashed once and shared by all users.
+     * As the rows bypass Hibernate, the second-level cache and query cache are evicted afterwards.
+     *
+     * @param spec the size and shape of the dataset
+     * @return the identifiers of the generated dataset
+     */
+    public GeneratedDataset generate(DatasetSpec spec) {
+        Random random = new Random(spec.seed());
+        LocalDateTime creationDate = spec.firstDay().atStartOfDay();
+
+        List<Integer> userIds = new ArrayList<>(spec.users());
+        List<String> usernames = new ArrayList<>(spec.users());
+        String passwordHash = passwordEncoder.encode(spec.password());
+        IdAllocator userIdAllocator = new IdAllocator("basic_user_seq");
+        try (BatchWriter users = new BatchWriter("INSERT INTO basic_user"
+                + "(id, username, first_name, last_name, password, account_creation_date, role) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int user = 0; user < spec.users(); user++) {
+                int userId = userIdAllocator.next();
+                String username = spec.usernamePrefix() + user;
+                users.add(userId, username, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                        LAST_NAMES[random.nextInt(LAST_NAMES.length)], passwordHash, creationDate, Role.USER.name());
+                userIds.add(userId);
+                usernames.add(username);
+            }
+        }
+
+        List<Integer> teamIds = new ArrayList<>(spec.teams());
+        IdAllocator teamIdAllocator = new IdAllocator("team_seq");
+        try (BatchWriter teams = new BatchWriter("INSERT INTO team"
+                + "(id, name, description, team_creation_date, team_leader_id) VALUES (?, ?, ?, ?, ?)")) {
+            for (int team = 0; team < spec.teams(); team++) {
+                int teamId = teamIdAllocator.next();
+                teams.add(teamId, "Team" + teamId, "Generated team " + team, creationDate, userIds.get(team));
+                teamIds.add(teamId);
+            }
+        }
+
+        int[] homeTeam = new int[spec.users()];
+        int[] secondTeam = new int[spec.users()];
+        Map<Integer, List<Integer>> memberIdsByTeamId = new LinkedHashMap<>();
+        teamIds.forEach(teamId -> memberIdsByTeamId.put(teamId, new ArrayList<>()));
+        try (BatchWriter members = new BatchWriter(
+                "INSERT INTO team_set_of_users(set_of_teams_id, set_of_users_id) VALUES (?, ?)")) {
+            for (int user = 0; user < spec.users(); user++) {
+                homeTeam[user] = user < spec.teams() ? user : (int) (spec.teams() * Math.pow(random.nextDouble(), 2));
+                secondTeam[user] = spec.teams() > 1 && random.nextInt(10) == 0
+                        ? (homeTeam[user] + 1 + random.nextInt(spec.teams() - 1)) % spec.teams()
+                        : -1;
+                for (int team : new int[]{homeTeam[user], secondTeam[user]}) {
+                    if (team >= 0) {
+                        members.add(teamIds.get(team), userIds.get(user));
+                        memberIdsByTeamId.get(teamIds.get(team)).add(userIds.get(user));
+                    }
+                }
+            }
+        }
+
+        long planEntryCount = 0;
+        IdAllocator planEntryIdAllocator = new IdAllocator("plan_entry_seq");
+        IdAllocator rollupIdAllocator = new IdAllocator("weekly_hours_rollup_seq");
+        try (BatchWriter planEntries = new BatchWriter("INSERT INTO plan_entry"
+                + "(id, title, start_time, end_time, team_id, user_id, plan_entry_color) VALUES (?, ?, ?, ?, ?, ?, ?)");
+             BatchWriter rollups = new BatchWriter("INSERT INTO weekly_hours_rollup"
+                     + "(id, team_id, user_id, week_start, total_minutes, entry_count) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int user = 0; user < spec.users(); user++) {
+                Shift usualShift = pickShift(random);
+                Map<RollupKey, long[]> weekTotals = new HashMap<>();
+                LocalDate day = spec.firstDay();
+                for (int created = 0; created < spec.planEntriesPerUser(); day = day.plusDays(1)) {
+                    boolean weekend = day.getDayOfWeek().compareTo(DayOfWeek.SATURDAY) >= 0;
+                    boolean working = weekend ? random.nextInt(10) == 0 : random.nextInt(10) != 0;
+                    if (working) {
+                        Shift shift = random.nextInt(5) == 0 ? pickShift(random) : usualShift;
+                        LocalDateTime startTime = day.atTime(shift.startHour(), 0);
+                        LocalDateTime endTime = startTime.plusHours(shift.hours());
+                        int team = secondTeam[user] >= 0 && random.nextInt(5) == 0 ? secondTeam[user] : homeTeam[user];
+                        planEntries.add(planEntryIdAllocator.next(), TITLES[random.nextInt(TITLES.length)],
+                                startTime, endTime, teamIds.get(team), userIds.get(user),
+                                PlanEntryColor.values()[random.nextInt(PlanEntryColor.values().length)].name());
+                        accumulate(weekTotals, team, startTime, endTime);
+                        created++;
+                    }
+                }
+                for (Map.Entry<RollupKey, long[]> entry : weekTotals.entrySet()) {
+                    rollups.add(rollupIdAllocator.next(), teamIds.get(entry.getKey().team()), userIds.get(user),
+                            entry.getKey().weekStart(), entry.getValue()[0], (int) entry.getValue()[1]);
+                }
+                planEntryCount += spec.planEntriesPerUser();
+            }
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        return new GeneratedDataset(teamIds, userIds, usernames, memberIdsByTeamId, planEntryCount, spec.password());
+    }
+
+    /**
+     * Picks a shift according to the shift weights.
+     *
+     * @param random the source of the random values
+     * @return the shift
+     */
+    private static Shift pickShift(Random random) {
+        int value = random.nextInt(100);
+        for (Shift shift : SHIFTS) {
+            value -= shift.weight();
+            if (value < 0) {
+                return shift;
+            }
+        }
+        return SHIFTS[0];
+    }
+
+    /**
+     * Adds a plan entry to the weekly totals of a user the way WeeklyHoursRollupService does:
+     * its minutes to every week it overlaps, and one entry to the week it starts.
+     *
+     * @param weekTotals the minutes and the number of entries per team and week
+     * @param team       the number of the team of the plan entry
+     * @param startTime  the start time of the plan entry
+     * @param endTime    the end time of the plan entry
+     */
+    private static void accumulate(Map<RollupKey, long[]> weekTotals, int team, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDate week = startTime.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        weekTotals.computeIfAbsent(new RollupKey(team, week), key -> new long[2])[1]++;
+        for (LocalDateTime start = startTime; start.isBefore(endTime); week = week.plusWeeks(1)) {
+            LocalDateTime weekEnd = week.plusWeeks(1).atStartOfDay();
+            LocalDateTime end = endTime.isBefore(weekEnd) ? endTime : weekEnd;
+            weekTotals.computeIfAbsent(new RollupKey(team, week), key -> new long[2])[0] +=
+                    Duration.between(start, end).toMinutes();
+            start = end;
+        }
+    }
+
+    /**
+     * A shift, starting at a full hour.
+     *
+     * @param startHour the hour the shift starts
+     * @param hours     the length of the shift in hours
+     * @param weight    how often the shift is picked, in percent
+     */
+    private record Shift(int startHour, int hours, int weight) {
+    }
+
+    /**
+     * Identifies the rollup of the current user in a team for one week.
+     *
+     * @param team      the number of the team
+     * @param weekStart the Monday of the week
+     */
+    private record RollupKey(int team, LocalDate weekStart) {
+    }
+
+    /**
+     * Allocates IDs from a database sequence in the blocks Hibernate's pooled optimizer uses:
+     * a sequence value {@code v} reserves the IDs from {@code v - 49} to {@code v}.
+     */
+    private final class IdAllocator {
+
+        private final String sequenceName;
+        private final Deque<Long> blocks = new ArrayDeque<>();
+        private long next;
+        private long last = -1;
+
+        private IdAllocator(String sequenceName) {
+            this.sequenceName = sequenceName;
+        }
+
+        /**
+         * Returns the next reserved ID, reserving more blocks when needed.
+         *
+         * @return the ID
+         */
+        private int next() {
+            if (next > last) {
+                if (blocks.isEmpty()) {
+                    blocks.addAll(jdbcTemplate.queryForList("SELECT NEXT VALUE FOR " + sequenceName
+                            + " FROM SYSTEM_RANGE(1, " + SEQUENCE_BLOCKS_PER_QUERY + ")", Long.class));
+                }
+                last = blocks.poll();
+                next = Math.max(1, last - SEQUENCE_INCREMENT + 1);
+            }
+            return Math.toIntExact(next++);
+        }
+    }
+
+    /**
+     * Collects the rows of one insert statement and writes them in batches.
+     */
+    private final class BatchWriter implements AutoCloseable {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        private BatchWriter(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * Adds a row, writing the batch when it is full.
+         *
+         * @param values the values of the row
+         */
+        private void add(Object... values) {
+            rows.add(values);
+            if (rows.size() == BATCH_SIZE) {
+                close();
+            }
+        }
+
+        /**
+         * Writes the remaining rows.
+         */
+        @Override
+        public void close() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
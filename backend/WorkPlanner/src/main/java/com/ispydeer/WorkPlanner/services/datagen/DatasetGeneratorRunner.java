@@ -0,0 +1,56 @@
+package com.ispydeer.WorkPlanner.services.datagen;
+
+import com.ispydeer.WorkPlanner.services.WeeklyHoursRollupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates a synthetic dataset on startup of the dev profile, sized by the {@code workplanner.datagen.*} properties.
+ */
+@Component
+@Profile("dev")
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    private final DatasetGenerator datasetGenerator;
+    private final WeeklyHoursRollupService weeklyHoursRollupService;
+    private final DatasetSpec spec;
+
+    /**
+     * Constructs a DatasetGeneratorRunner with the specified dependencies and dataset size.
+     *
+     * @param datasetGenerator         the generator of the dataset
+     * @param weeklyHoursRollupService the service maintaining the weekly hours rollups
+     * @param users                    the number of users
+     * @param teams                    the number of teams
+     * @param planEntriesPerUser       the number of plan entries of every user
+     * @param seed                     the seed of the random values
+     */
+    public DatasetGeneratorRunner(
+            DatasetGenerator datasetGenerator,
+            WeeklyHoursRollupService weeklyHoursRollupService,
+            @Value("${workplanner.datagen.users}") int users,
+            @Value("${workplanner.datagen.teams}") int teams,
+            @Value("${workplanner.datagen.plan-entries-per-user}") int planEntriesPerUser,
+            @Value("${workplanner.datagen.seed:" + DatasetSpec.DEFAULT_SEED + "}") long seed
+    ) {
+        this.datasetGenerator = datasetGenerator;
+        this.weeklyHoursRollupService = weeklyHoursRollupService;
+        this.spec = new DatasetSpec(users, teams, planEntriesPerUser, DatasetSpec.DEFAULT_FIRST_DAY, seed,
+                DatasetSpec.DEFAULT_USERNAME_PREFIX, DatasetSpec.DEFAULT_PASSWORD);
+    }
+
+    /**
+     * Builds the rollups of the seeded plan entries first, as the generated rollups would otherwise
+     * keep the rollup table from being rebuilt, and then generates the dataset.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        weeklyHoursRollupService.rebuildIfEmpty();
+        datasetGenerator.generate(spec);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ispydeer.WorkPlanner.services.datagen;
+
+import java.time.LocalDate;
+
+/**
+ * The size and shape of a synthetic dataset generated by {@link DatasetGenerator}.
+ * The same specification always generates the same dataset.
+ *
+ * @param users              the number of users
+ * @param teams              the number of teams, at most the number of users
+ * @param planEntriesPerUser the number of plan entries of every user
+ * @param firstDay           the day of the first plan entries and the creation date of all users and teams
+ * @param seed               the seed of the random values
+ * @param usernamePrefix     the prefix of the generated usernames, followed by the number of the user
+ * @param password           the raw password of all users
+ */
+public record DatasetSpec(
+        int users,
+        int teams,
+        int planEntriesPerUser,
+        LocalDate firstDay,
+        long seed,
+        String usernamePrefix,
+        String password
+) {
+
+    public static final LocalDate DEFAULT_FIRST_DAY = LocalDate.of(2024, 1, 1);
+    public static final long DEFAULT_SEED = 42;
+    public static final String DEFAULT_USERNAME_PREFIX = "gen";
+    public static final String DEFAULT_PASSWORD = "password";
+
+    public DatasetSpec {
+        if (teams < 1 || users < teams || planEntriesPerUser < 0) {
+            throw new IllegalArgumentException("A dataset needs at least one team, at least as many users as teams "
+                    + "and a non-negative number of plan entries per user");
+        }
+    }
+
+    /**
+     * Creates the specification of a dataset with the default first day, seed, username prefix and password.
+     *
+     * @param users              the number of users
+     * @param teams              the number of teams
+     * @param planEntriesPerUser the number of plan entries of every user
+     * @return the specification
+     */
+    public static DatasetSpec of(int users, int teams, int planEntriesPerUser) {
+        return new DatasetSpec(users, teams, planEntriesPerUser,
+                DEFAULT_FIRST_DAY, DEFAULT_SEED, DEFAULT_USERNAME_PREFIX, DEFAULT_PASSWORD);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ispydeer.WorkPlanner.services.datagen;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The identifiers of a dataset generated by {@link DatasetGenerator}.
+ *
+ * @param teamIds            the IDs of the teams, in generation order
+ * @param userIds            the IDs of the users, in generation order
+ * @param usernames          the usernames of the users, in the order of {@code userIds}
+ * @param memberIdsByTeamId  the IDs of the members of every team
+ * @param planEntryCount     the number of generated plan entries
+ * @param password           the raw password of all users
+ */
+public record GeneratedDataset(
+        List<Integer> teamIds,
+        List<Integer> userIds,
+        List<String> usernames,
+        Map<Integer, List<Integer>> memberIdsByTeamId,
+        long planEntryCount,
+        String password
+) {
+}
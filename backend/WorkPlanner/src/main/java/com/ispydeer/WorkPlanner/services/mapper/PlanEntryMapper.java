@@ -0,0 +1,45 @@
+package com.ispydeer.WorkPlanner.services.mapper;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps plan entries to and from their DTOs by copying fields directly, without reflection.
+ */
+@Component
+public class PlanEntryMapper {
+
+    /**
+     * Maps a plan entry to a PlanEntryDto. Its team and user are not accessed, so lazy associations stay unloaded.
+     *
+     * @param planEntry the plan entry
+     * @return the PlanEntryDto
+     */
+    public PlanEntryDto toDto(PlanEntry planEntry) {
+        return new PlanEntryDto(
+                planEntry.getId(),
+                planEntry.getTitle(),
+                planEntry.getStartTime(),
+                planEntry.getEndTime(),
+                planEntry.getPlanEntryColor(),
+                null
+        );
+    }
+
+    /**
+     * Maps plan entry data to a new plan entry. The ID, team and user are left unset,
+     * so the plan entry is always created rather than overwriting an existing one.
+     *
+     * @param planEntryDto the plan entry data
+     * @return the new plan entry
+     */
+    public PlanEntry toEntity(PlanEntryDto planEntryDto) {
+        PlanEntry planEntry = new PlanEntry();
+        planEntry.setTitle(planEntryDto.getTitle());
+        planEntry.setStartTime(planEntryDto.getStartTime());
+        planEntry.setEndTime(planEntryDto.getEndTime());
+        planEntry.setPlanEntryColor(planEntryDto.getPlanEntryColor());
+        return planEntry;
+    }
+}
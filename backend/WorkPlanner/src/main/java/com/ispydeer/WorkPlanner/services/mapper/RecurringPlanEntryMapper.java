@@ -0,0 +1,62 @@
+package com.ispydeer.WorkPlanner.services.mapper;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.RecurringPlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.RecurringPlanEntryDto;
+import org.springframework.stereotype.Component;
+
+import java.util.TreeSet;
+
+/**
+ * Maps recurring plan entries to and from their DTOs by copying fields directly, without reflection.
+ */
+@Component
+public class RecurringPlanEntryMapper {
+
+    /**
+     * Maps a recurring plan entry to a RecurringPlanEntryDto.
+     *
+     * @param recurringPlanEntry the recurring plan entry
+     * @return the RecurringPlanEntryDto
+     */
+    public RecurringPlanEntryDto toDto(RecurringPlanEntry recurringPlanEntry) {
+        return new RecurringPlanEntryDto(
+                recurringPlanEntry.getId(),
+                recurringPlanEntry.getTitle(),
+                recurringPlanEntry.getStartTime(),
+                recurringPlanEntry.getEndTime(),
+                recurringPlanEntry.getPlanEntryColor(),
+                recurringPlanEntry.getFrequency(),
+                recurringPlanEntry.getInterval(),
+                new TreeSet<>(recurringPlanEntry.getWeekdays()),
+                recurringPlanEntry.getUntil(),
+                recurringPlanEntry.getCount(),
+                new TreeSet<>(recurringPlanEntry.getExceptionDates())
+        );
+    }
+
+    /**
+     * Maps recurring plan entry data to a new recurring plan entry. The ID, team, user and series end time
+     * are left unset.
+     *
+     * @param recurringPlanEntryDto the recurring plan entry data
+     * @return the new recurring plan entry
+     */
+    public RecurringPlanEntry toEntity(RecurringPlanEntryDto recurringPlanEntryDto) {
+        RecurringPlanEntry recurringPlanEntry = new RecurringPlanEntry();
+        recurringPlanEntry.setTitle(recurringPlanEntryDto.getTitle());
+        recurringPlanEntry.setStartTime(recurringPlanEntryDto.getStartTime());
+        recurringPlanEntry.setEndTime(recurringPlanEntryDto.getEndTime());
+        recurringPlanEntry.setPlanEntryColor(recurringPlanEntryDto.getPlanEntryColor());
+        recurringPlanEntry.setFrequency(recurringPlanEntryDto.getFrequency());
+        recurringPlanEntry.setInterval(recurringPlanEntryDto.getInterval());
+        if (recurringPlanEntryDto.getWeekdays() != null) {
+            recurringPlanEntry.setWeekdays(new TreeSet<>(recurringPlanEntryDto.getWeekdays()));
+        }
+        recurringPlanEntry.setUntil(recurringPlanEntryDto.getUntil());
+        recurringPlanEntry.setCount(recurringPlanEntryDto.getCount());
+        if (recurringPlanEntryDto.getExceptionDates() != null) {
+            recurringPlanEntry.setExceptionDates(new TreeSet<>(recurringPlanEntryDto.getExceptionDates()));
+        }
+        return recurringPlanEntry;
+    }
+}
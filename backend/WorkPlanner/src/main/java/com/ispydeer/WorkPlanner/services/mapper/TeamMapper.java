@@ -0,0 +1,50 @@
+package com.ispydeer.WorkPlanner.services.mapper;
+
+import com.ispydeer.WorkPlanner.entities.team.Team;
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps teams to and from their DTOs by copying fields directly, without reflection.
+ */
+@Component
+public class TeamMapper {
+
+    private final UserMapper userMapper;
+
+    /**
+     * Constructs a TeamMapper with the specified dependencies.
+     *
+     * @param userMapper the mapper for the team leader
+     */
+    public TeamMapper(UserMapper userMapper) {
+        this.userMapper = userMapper;
+    }
+
+    /**
+     * Maps a team to a TeamDto, including its team leader.
+     * The team leader must have been fetched with the team to avoid an extra query.
+     *
+     * @param team the team
+     * @return the TeamDto
+     */
+    public TeamDto toDto(Team team) {
+        return new TeamDto(
+                team.getId(),
+                team.getName(),
+                team.getDescription(),
+                userMapper.toDto(team.getTeamLeader())
+        );
+    }
+
+    /**
+     * Maps team data to a new team. The ID and team leader are left unset;
+     * the team leader is assigned separately.
+     *
+     * @param teamDto the team data
+     * @return the new team
+     */
+    public Team toEntity(TeamDto teamDto) {
+        return new Team(teamDto.getName(), teamDto.getDescription());
+    }
+}
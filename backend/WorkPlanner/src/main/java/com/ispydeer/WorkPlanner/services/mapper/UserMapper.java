@@ -0,0 +1,49 @@
+package com.ispydeer.WorkPlanner.services.mapper;
+
+import com.ispydeer.WorkPlanner.entities.user.User;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps users to and from their DTOs by copying fields directly, without reflection.
+ */
+@Component
+public class UserMapper {
+
+    /**
+     * Maps a user to a UserDto.
+     *
+     * @param user the user, or null
+     * @return the UserDto, or null if the user is null
+     */
+    public UserDto toDto(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserDto(
+                user.getId(),
+                user.getUsername(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getRole()
+        );
+    }
+
+    /**
+     * Maps registration data to a new user. The ID and role are left unset and the password is copied
+     * as given, so the caller assigns the role and encodes the password.
+     *
+     * @param userRegistrationDto the registration data
+     * @return the new user
+     */
+    public User toEntity(UserRegistrationDto userRegistrationDto) {
+        User user = new User(
+                userRegistrationDto.getUsername(),
+                userRegistrationDto.getFirstName(),
+                userRegistrationDto.getLastName()
+        );
+        user.setPassword(userRegistrationDto.getPassword());
+        return user;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ispydeer.WorkPlanner.services.membership;
+
+import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
+import com.ispydeer.WorkPlanner.services.cache.EntityCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Adds users to and removes users from teams with set-based statements on the membership join table,
+ * without loading the team's members.
+ * <p>
+ * Adding inserts only the memberships that do not exist yet and removing deletes only the existing ones,
+ * so repeating a change has no effect. The team is locked first, so concurrent changes of the same team
+ * are applied one after another and none of them is lost or fails on a duplicate membership.
+ * Large sets of users are split into batches, keeping the number of statement parameters bounded.
+ */
+@Component
+public class TeamMemberships {
+
+    /**
+     * The maximum number of user IDs passed to a single statement.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    private final TeamRepository teamRepository;
+    private final EntityCache entityCache;
+
+    /**
+     * Constructs a TeamMemberships with the specified dependencies.
+     *
+     * @param teamRepository the repository for team operations
+     * @param entityCache    the cache of team and user lookups
+     */
+    public TeamMemberships(TeamRepository teamRepository, EntityCache entityCache) {
+        this.teamRepository = teamRepository;
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * Adds users to a team. Users that are already members and IDs of users that do not exist are skipped.
+     *
+     * @param teamId  the ID of the team
+     * @param userIds the IDs of the users to add
+     * @return false if the team does not exist, true otherwise
+     */
+    @Transactional
+    public boolean addUsers(int teamId, Collection<Integer> userIds) {
+        if (teamRepository.findForUpdateById(teamId).isEmpty()) {
+            return false;
+        }
+        for (List<Integer> batch : batches(userIds)) {
+            teamRepository.insertMembers(teamId, batch);
+        }
+        entityCache.evictTeamMembers(teamId);
+        return true;
+    }
+
+    /**
+     * Removes users from a team, and removes the team leader if they are one of them.
+     * Users that are not members are skipped.
+     *
+     * @param teamId  the ID of the team
+     * @param userIds the IDs of the users to remove
+     * @return false if the team does not exist, true otherwise
+     */
+    @Transactional
+    public boolean removeUsers(int teamId, Collection<Integer> userIds) {
+        if (teamRepository.findForUpdateById(teamId).isEmpty()) {
+            return false;
+        }
+        boolean leaderRemoved = false;
+        for (List<Integer> batch : batches(userIds)) {
+            leaderRemoved |= teamRepository.clearTeamLeader(teamId, batch) > 0;
+            teamRepository.deleteMembers(teamId, batch);
+        }
+        if (leaderRemoved) {
+            entityCache.evictTeam(teamId);
+        }
+        entityCache.evictTeamMembers(teamId);
+        return true;
+    }
+
+    /**
+     * Splits user IDs into batches of at most {@link #BATCH_SIZE} distinct IDs.
+     */
+    private static List<List<Integer>> batches(Collection<Integer> userIds) {
+        List<Integer> distinctIds = userIds.stream().distinct().toList();
+        int batchCount = (distinctIds.size() + BATCH_SIZE - 1) / BATCH_SIZE;
+        return IntStream.range(0, batchCount)
+                .mapToObj(batch -> distinctIds.subList(
+                        batch * BATCH_SIZE,
+                        Math.min((batch + 1) * BATCH_SIZE, distinctIds.size())))
+                .toList();
+    }
+}
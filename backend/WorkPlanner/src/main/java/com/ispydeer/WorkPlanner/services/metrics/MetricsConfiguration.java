@@ -0,0 +1,32 @@
+package com.ispydeer.WorkPlanner.services.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the timers of the service methods.
+ * <p>
+ * Every public method of a service annotated with {@code @Timed(MetricsConfiguration.SERVICE_TIMER)} is timed
+ * by a single timer tagged with the class and method name, and with the simple name of the exception thrown,
+ * or {@code none}. The count of a timer is the number of calls, so no separate counters are needed.
+ * Calls of a method of the same service bypass the proxy and are not timed.
+ * Hibernate statistics and the connection pool metrics are bound by Spring Boot.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    public static final String SERVICE_TIMER = "workplanner.service";
+
+    /**
+     * Configures the aspect timing the methods annotated with {@code @Timed}.
+     *
+     * @param meterRegistry the registry of the timers
+     * @return the configured TimedAspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ispydeer.WorkPlanner.services.pagination;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidPageRequestException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A single page of a keyset-paginated list.
+ *
+ * @param items         the elements of the page
+ * @param nextPageToken the encoded token of the next page, or null if this is the last page
+ * @param <T>           the type of the page elements
+ */
+public record CursorPage<T>(List<T> items, String nextPageToken) {
+
+    /**
+     * The response header carrying the token of the next page.
+     */
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+
+    /**
+     * The page size used when a client does not ask for one.
+     */
+    public static final String DEFAULT_PAGE_SIZE = "100";
+
+    /**
+     * The largest page size a client may ask for.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Builds the response headers advertising the next page, if there is one.
+     *
+     * @return headers containing the next page token, or empty headers for the last page
+     */
+    public HttpHeaders nextPageHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextPageToken != null) {
+            headers.add(NEXT_PAGE_TOKEN_HEADER, nextPageToken);
+        }
+        return headers;
+    }
+
+    /**
+     * Builds the query limit for a page, fetching one extra row to detect whether a next page exists.
+     *
+     * @param pageSize the requested page size
+     * @return the limit to pass to the repository query
+     * @throws InvalidPageRequestException if the page size is out of range
+     */
+    public static Limit limitFor(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException();
+        }
+        return Limit.of(pageSize + 1);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@link #limitFor(int)}.
+     *
+     * @param rows      the fetched rows, possibly one more than the page size
+     * @param pageSize  the requested page size
+     * @param tokenOf   creates the page token pointing after a given row
+     * @param converter converts a row into a page element
+     * @param <E>       the type of the fetched rows
+     * @param <T>       the type of the page elements
+     * @return the page
+     */
+    public static <E, T> CursorPage<T> of(
+            List<E> rows,
+            int pageSize,
+            Function<E, PageToken> tokenOf,
+            Function<E, T> converter
+    ) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextPageToken = hasNext ? tokenOf.apply(pageRows.getLast()).encode() : null;
+        return new CursorPage<>(pageRows.stream().map(converter).toList(), nextPageToken);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ispydeer.WorkPlanner.services.pagination;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Continuation token of a keyset-paginated list.
+ * Holds the sort key and the ID of the last element of the previous page,
+ * and is handed to clients as an opaque URL-safe string.
+ *
+ * @param sortKey the sort key of the last element of the previous page
+ * @param id      the ID of the last element of the previous page, used as a tie-breaker
+ */
+public record PageToken(String sortKey, int id) {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Creates a token pointing after an element sorted by a date-time key.
+     *
+     * @param sortKey the date-time sort key of the element
+     * @param id      the ID of the element
+     * @return the page token
+     */
+    public static PageToken of(LocalDateTime sortKey, int id) {
+        return new PageToken(sortKey.toString(), id);
+    }
+
+    /**
+     * Encodes the token into its opaque string form.
+     *
+     * @return the encoded token
+     */
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param encoded the encoded token
+     * @return the decoded token
+     * @throws InvalidPageRequestException if the token is malformed
+     */
+    public static PageToken decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidPageRequestException();
+            }
+            int id = Integer.parseInt(raw.substring(0, separatorIndex));
+            return new PageToken(raw.substring(separatorIndex + 1), id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException();
+        }
+    }
+
+    /**
+     * Interprets the sort key as a date-time.
+     *
+     * @return the sort key as a LocalDateTime
+     * @throws InvalidPageRequestException if the sort key is not a date-time
+     */
+    public LocalDateTime sortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new InvalidPageRequestException();
+        }
+    }
+}
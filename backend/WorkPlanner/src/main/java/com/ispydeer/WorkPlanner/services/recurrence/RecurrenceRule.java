@@ -0,0 +1,192 @@
+package com.ispydeer.WorkPlanner.services.recurrence;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.RecurringPlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.recurrenceFrequency.RecurrenceFrequency;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The recurrence rule of a recurring plan entry, which expands occurrences lazily.
+ * <p>
+ * The first repetition overlapping a time window is computed arithmetically from the start of the series,
+ * so expanding a window costs time proportional to the number of repetitions within the window,
+ * not to how long ago the series started or how far into the future it runs.
+ * Occurrences are numbered from the start of the series before exceptions are removed,
+ * so {@code count} limits the series the same way with and without exception dates.
+ *
+ * @param startTime      the start time of the first occurrence
+ * @param duration       the duration of every occurrence
+ * @param frequency      how often the plan entry repeats
+ * @param interval       the number of days or weeks between repetitions
+ * @param weekdays       the weekdays of a weekly rule, in week order
+ * @param until          the latest start time of an occurrence, or null
+ * @param count          the number of occurrences, or null
+ * @param exceptionDates the dates on which no occurrence takes place
+ */
+public record RecurrenceRule(
+        LocalDateTime startTime,
+        Duration duration,
+        RecurrenceFrequency frequency,
+        int interval,
+        List<DayOfWeek> weekdays,
+        LocalDateTime until,
+        Integer count,
+        Set<LocalDate> exceptionDates
+) {
+
+    /**
+     * Creates the recurrence rule of a recurring plan entry.
+     * A weekly rule without weekdays repeats on the weekday of the first occurrence.
+     *
+     * @param recurringPlanEntry the recurring plan entry
+     * @return the recurrence rule
+     */
+    public static RecurrenceRule of(RecurringPlanEntry recurringPlanEntry) {
+        List<DayOfWeek> weekdays = recurringPlanEntry.getWeekdays().stream().sorted().toList();
+        if (weekdays.isEmpty()) {
+            weekdays = List.of(recurringPlanEntry.getStartTime().getDayOfWeek());
+        }
+        return new RecurrenceRule(
+                recurringPlanEntry.getStartTime(),
+                Duration.between(recurringPlanEntry.getStartTime(), recurringPlanEntry.getEndTime()),
+                recurringPlanEntry.getFrequency(),
+                recurringPlanEntry.getInterval(),
+                weekdays,
+                recurringPlanEntry.getUntil(),
+                recurringPlanEntry.getCount(),
+                recurringPlanEntry.getExceptionDates()
+        );
+    }
+
+    /**
+     * Expands the occurrences overlapping the given time window.
+     *
+     * @param from the inclusive start of the time window
+     * @param to   the exclusive end of the time window
+     * @return the start times of the occurrences that start before {@code to} and end after {@code from},
+     * sorted
+     */
+    public List<LocalDateTime> occurrencesOverlapping(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime lowerBound = from.minus(duration);
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        if (frequency == RecurrenceFrequency.DAILY) {
+            long daysBefore = ChronoUnit.DAYS.between(startTime.toLocalDate(), lowerBound.toLocalDate());
+            for (long index = Math.max(0, Math.floorDiv(daysBefore, interval)); ; index++) {
+                LocalDateTime occurrence = startTime.plusDays(index * interval);
+                if (!occurrence.isBefore(to) || !isWithinSeries(index, occurrence)) {
+                    return occurrences;
+                }
+                addIfIncluded(occurrences, occurrence, lowerBound);
+            }
+        }
+
+        LocalDate firstWeek = weekOf(startTime.toLocalDate());
+        long weeksBefore = ChronoUnit.WEEKS.between(firstWeek, weekOf(lowerBound.toLocalDate()));
+        long firstWeekCount = firstWeekOccurrenceCount();
+        for (long period = Math.max(0, Math.floorDiv(weeksBefore, interval)); ; period++) {
+            LocalDate week = firstWeek.plusWeeks(period * interval);
+            long index = period == 0 ? 0 : firstWeekCount + (period - 1) * weekdays.size();
+            for (DayOfWeek weekday : weekdays) {
+                LocalDateTime occurrence = week.plusDays(weekday.ordinal()).atTime(startTime.toLocalTime());
+                if (occurrence.isBefore(startTime)) {
+                    continue;
+                }
+                if (!occurrence.isBefore(to) || !isWithinSeries(index, occurrence)) {
+                    return occurrences;
+                }
+                addIfIncluded(occurrences, occurrence, lowerBound);
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Computes the end time of the last occurrence, ignoring exceptions.
+     * For a series limited by {@code until} only, the end of an occurrence starting at {@code until}
+     * is returned as an upper bound.
+     *
+     * @return the end time of the last occurrence, or null for a series without end
+     */
+    public LocalDateTime seriesEndTime() {
+        LocalDateTime lastStart = until;
+        if (count != null) {
+            LocalDateTime lastCounted = occurrenceStart(count - 1);
+            lastStart = lastStart == null || lastCounted.isBefore(lastStart) ? lastCounted : lastStart;
+        }
+        return lastStart == null ? null : lastStart.plus(duration);
+    }
+
+    /**
+     * Computes the start time of the occurrence with the given number, counted from zero.
+     *
+     * @param index the number of the occurrence
+     * @return the start time of the occurrence
+     */
+    private LocalDateTime occurrenceStart(long index) {
+        if (frequency == RecurrenceFrequency.DAILY) {
+            return startTime.plusDays(index * interval);
+        }
+        LocalDate firstWeek = weekOf(startTime.toLocalDate());
+        long firstWeekCount = firstWeekOccurrenceCount();
+        if (index < firstWeekCount) {
+            DayOfWeek weekday = weekdays.get((int) (weekdays.size() - firstWeekCount + index));
+            return firstWeek.plusDays(weekday.ordinal()).atTime(startTime.toLocalTime());
+        }
+        long remaining = index - firstWeekCount;
+        long period = 1 + remaining / weekdays.size();
+        DayOfWeek weekday = weekdays.get((int) (remaining % weekdays.size()));
+        return firstWeek.plusWeeks(period * interval).plusDays(weekday.ordinal()).atTime(startTime.toLocalTime());
+    }
+
+    /**
+     * Counts the occurrences in the week of the first occurrence, which skips weekdays before it.
+     *
+     * @return the number of occurrences in the first week
+     */
+    private long firstWeekOccurrenceCount() {
+        DayOfWeek firstWeekday = startTime.getDayOfWeek();
+        return weekdays.stream().filter(weekday -> weekday.compareTo(firstWeekday) >= 0).count();
+    }
+
+    /**
+     * Checks whether the occurrence with the given number and start time belongs to the series.
+     *
+     * @param index      the number of the occurrence
+     * @param occurrence the start time of the occurrence
+     * @return true if neither {@code count} nor {@code until} ends the series before the occurrence
+     */
+    private boolean isWithinSeries(long index, LocalDateTime occurrence) {
+        return (count == null || index < count) && (until == null || !occurrence.isAfter(until));
+    }
+
+    /**
+     * Adds an occurrence that ends after the start of the time window and is not an exception.
+     *
+     * @param occurrences the expanded occurrences
+     * @param occurrence  the start time of the occurrence
+     * @param lowerBound  the start of the time window minus the duration of an occurrence
+     */
+    private void addIfIncluded(List<LocalDateTime> occurrences, LocalDateTime occurrence, LocalDateTime lowerBound) {
+        if (occurrence.isAfter(lowerBound) && !exceptionDates.contains(occurrence.toLocalDate())) {
+            occurrences.add(occurrence);
+        }
+    }
+
+    /**
+     * Returns the Monday of the week of the given date.
+     *
+     * @param date the date
+     * @return the first day of the date's week
+     */
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,23 @@
+package com.ispydeer.WorkPlanner.services.statements;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of SQL statements a request to a controller method may execute,
+ * including the statements of its authentication. A request exceeding the budget is logged and counted;
+ * when budgets are enforced, as in the integration tests, it fails with a StatementBudgetExceededException.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    /**
+     * @return the maximum number of statements, counting a JDBC batch once
+     */
+    int value();
+}
@@ -0,0 +1,12 @@
+package com.ispydeer.WorkPlanner.services.statements;
+
+/**
+ * Thrown when budgets are enforced and a request executed more statements than the
+ * {@link StatementBudget} of its controller method allows.
+ */
+public class StatementBudgetExceededException extends IllegalStateException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ispydeer.WorkPlanner.services.statements;
+
+/**
+ * The statements executed by the current thread while handling one HTTP request.
+ * <p>
+ * The statistics of a request are bound to the thread handling it by the StatementStatisticsFilter
+ * and filled by the StatementStatisticsListener for every statement the data source executes.
+ * A JDBC batch counts as one statement, as it is sent to the database at once.
+ */
+public final class StatementStatistics {
+
+    private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long elapsedMillis;
+    private int slowStatementCount;
+
+    private StatementStatistics() {
+    }
+
+    /**
+     * Starts recording the statements of the current thread.
+     *
+     * @return the statistics being recorded
+     */
+    static StatementStatistics start() {
+        StatementStatistics statistics = new StatementStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops recording the statements of the current thread.
+     */
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the statistics recorded by the current thread.
+     *
+     * @return the statistics, or null if the current thread is not handling a request
+     */
+    static StatementStatistics current() {
+        return CURRENT.get();
+    }
+
+    void record(long elapsedMillis, boolean slow) {
+        this.statementCount++;
+        this.elapsedMillis += elapsedMillis;
+        if (slow) {
+            this.slowStatementCount++;
+        }
+    }
+
+    /**
+     * @return the number of statements executed
+     */
+    public int statementCount() {
+        return statementCount;
+    }
+
+    /**
+     * @return the total time spent executing statements, in milliseconds
+     */
+    public long elapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return the number of statements slower than the slow statement threshold
+     */
+    public int slowStatementCount() {
+        return slowStatementCount;
+    }
+}
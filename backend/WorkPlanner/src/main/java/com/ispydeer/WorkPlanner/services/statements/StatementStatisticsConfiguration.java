@@ -0,0 +1,70 @@
+package com.ispydeer.WorkPlanner.services.statements;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configures the recording of the SQL statements executed per HTTP request.
+ * <p>
+ * The data source is wrapped in a proxy notifying a StatementStatisticsListener of every executed statement.
+ * The proxy unwraps to the connection pool, so the pool metrics are still bound.
+ */
+@Configuration
+public class StatementStatisticsConfiguration {
+
+    /**
+     * Wraps the data source in a proxy recording its statements. The post processor is created
+     * before the other beans, so it must not depend on them.
+     *
+     * @param slowStatementThreshold the execution time from which a statement is logged as slow
+     * @return the post processor wrapping the data source
+     */
+    @Bean
+    public static BeanPostProcessor statementRecordingDataSourcePostProcessor(
+            @Value("${workplanner.sql-statistics.slow-statement-threshold:100ms}") Duration slowStatementThreshold
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new StatementStatisticsListener(slowStatementThreshold))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Registers the filter recording the statements of every request before all other filters,
+     * so the statements of the authentication are included.
+     *
+     * @param meterRegistry   the registry of the per-endpoint statement metrics
+     * @param responseHeaders whether to return the statistics in response headers, as in the dev profile
+     * @param enforceBudgets  whether requests exceeding their statement budget fail, as in the tests
+     * @return the registration of the StatementStatisticsFilter
+     */
+    @Bean
+    public FilterRegistrationBean<StatementStatisticsFilter> statementStatisticsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${workplanner.sql-statistics.response-headers:false}") boolean responseHeaders,
+            @Value("${workplanner.sql-statistics.enforce-budgets:false}") boolean enforceBudgets
+    ) {
+        FilterRegistrationBean<StatementStatisticsFilter> registration = new FilterRegistrationBean<>(
+                new StatementStatisticsFilter(meterRegistry, responseHeaders, enforceBudgets));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
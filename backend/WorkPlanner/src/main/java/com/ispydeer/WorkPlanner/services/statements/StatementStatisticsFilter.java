@@ -0,0 +1,122 @@
+package com.ispydeer.WorkPlanner.services.statements;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the SQL statements executed while handling every HTTP request.
+ * <p>
+ * The number of statements and the time spent executing them are recorded per endpoint as the metrics
+ * {@code workplanner.http.sql.statements} and {@code workplanner.http.sql.time}, and logged at debug level.
+ * If enabled, as in the dev profile, they are also returned in the {@code X-SQL-Statements},
+ * {@code X-SQL-Time-Ms} and {@code X-SQL-Slow-Statements} response headers; the response body is then buffered,
+ * so the headers can be set after the statements ran. Requests exceeding the {@link StatementBudget}
+ * of their controller method are logged and counted, or fail if budgets are enforced.
+ */
+public class StatementStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String SLOW_STATEMENTS_HEADER = "X-SQL-Slow-Statements";
+
+    private static final Logger log = LoggerFactory.getLogger(StatementStatisticsFilter.class);
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final boolean enforceBudgets;
+
+    /**
+     * Constructs a StatementStatisticsFilter with the specified settings.
+     *
+     * @param meterRegistry   the registry of the per-endpoint statement metrics
+     * @param responseHeaders whether to return the statistics in response headers
+     * @param enforceBudgets  whether requests exceeding their statement budget fail
+     */
+    public StatementStatisticsFilter(MeterRegistry meterRegistry, boolean responseHeaders, boolean enforceBudgets) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.enforceBudgets = enforceBudgets;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        ContentCachingResponseWrapper bufferedResponse = responseHeaders
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+        StatementStatistics statistics = StatementStatistics.start();
+        try {
+            filterChain.doFilter(request, bufferedResponse != null ? bufferedResponse : response);
+        } finally {
+            StatementStatistics.stop();
+            record(request, statistics);
+            if (bufferedResponse != null) {
+                bufferedResponse.setHeader(STATEMENTS_HEADER, String.valueOf(statistics.statementCount()));
+                bufferedResponse.setHeader(TIME_HEADER, String.valueOf(statistics.elapsedMillis()));
+                bufferedResponse.setHeader(SLOW_STATEMENTS_HEADER, String.valueOf(statistics.slowStatementCount()));
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+        checkBudget(request, statistics);
+    }
+
+    private void record(HttpServletRequest request, StatementStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        DistributionSummary.builder("workplanner.http.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.statementCount());
+        Timer.builder("workplanner.http.sql.time")
+                .description("Time spent executing SQL statements per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.elapsedMillis(), TimeUnit.MILLISECONDS);
+        log.debug("{} {} executed {} statements in {} ms, {} slow",
+                request.getMethod(), uri,
+                statistics.statementCount(), statistics.elapsedMillis(), statistics.slowStatementCount());
+    }
+
+    private void checkBudget(HttpServletRequest request, StatementStatistics statistics) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        StatementBudget budget = handler.getMethodAnnotation(StatementBudget.class);
+        if (budget == null || statistics.statementCount() <= budget.value()) {
+            return;
+        }
+        String message = String.format("%s %s executed %d statements, exceeding its budget of %d",
+                request.getMethod(), request.getRequestURI(), statistics.statementCount(), budget.value());
+        Counter.builder("workplanner.http.sql.budget.exceeded")
+                .description("HTTP requests executing more SQL statements than their budget")
+                .tag("handler", handler.getShortLogMessage())
+                .register(meterRegistry)
+                .increment();
+        if (enforceBudgets) {
+            throw new StatementBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
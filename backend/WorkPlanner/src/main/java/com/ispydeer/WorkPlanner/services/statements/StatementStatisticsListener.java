@@ -0,0 +1,51 @@
+package com.ispydeer.WorkPlanner.services.statements;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Listens to the statements executed through the data source, adding them to the StatementStatistics
+ * of the current request and logging every statement slower than a threshold, in or outside a request.
+ */
+public class StatementStatisticsListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementStatisticsListener.class);
+
+    private final long slowStatementThresholdMillis;
+
+    /**
+     * Constructs a StatementStatisticsListener with the specified threshold.
+     *
+     * @param slowStatementThreshold the execution time from which a statement is logged as slow
+     */
+    public StatementStatisticsListener(Duration slowStatementThreshold) {
+        this.slowStatementThresholdMillis = slowStatementThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        boolean slow = elapsedMillis >= slowStatementThresholdMillis;
+        if (slow) {
+            log.warn("Slow statement took {} ms{}: {}",
+                    elapsedMillis,
+                    execInfo.isBatch() ? " for a batch of " + execInfo.getBatchSize() : "",
+                    queryInfoList.stream().map(QueryInfo::getQuery).distinct().collect(Collectors.joining("; ")));
+        }
+        StatementStatistics statistics = StatementStatistics.current();
+        if (statistics != null) {
+            statistics.record(elapsedMillis, slow);
+        }
+    }
+}
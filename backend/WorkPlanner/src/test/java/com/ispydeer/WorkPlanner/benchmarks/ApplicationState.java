@@ -0,0 +1,61 @@
+package com.ispydeer.WorkPlanner.benchmarks;
+
+import com.ispydeer.WorkPlanner.WorkPlannerApplication;
+import com.ispydeer.WorkPlanner.services.datagen.DatasetGenerator;
+import com.ispydeer.WorkPlanner.services.datagen.DatasetSpec;
+import com.ispydeer.WorkPlanner.services.datagen.GeneratedDataset;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The running application with the benchmark dataset, started once per benchmark trial
+ * and shared by all benchmark threads. The dataset has 10 teams, 200 users and 100 plan entries per user,
+ * generated from a fixed seed.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    public ConfigurableApplicationContext context;
+    public GeneratedDataset dataset;
+    public TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(WorkPlannerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+        dataset = context.getBean(DatasetGenerator.class).generate(DatasetSpec.of(200, 10, 100));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * Returns a bean of the running application.
+     *
+     * @param type the type of the bean
+     * @param <T>  the type of the bean
+     * @return the bean
+     */
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
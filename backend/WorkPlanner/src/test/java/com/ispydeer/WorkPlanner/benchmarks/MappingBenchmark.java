@@ -0,0 +1,127 @@
+package com.ispydeer.WorkPlanner.benchmarks;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.team.Team;
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import com.ispydeer.WorkPlanner.entities.user.User;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.services.mapper.PlanEntryMapper;
+import com.ispydeer.WorkPlanner.services.mapper.TeamMapper;
+import com.ispydeer.WorkPlanner.services.mapper.UserMapper;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of mapping a single entity to its DTO, or a DTO to a new entity,
+ * with the hand-written mappers compared to ModelMapper, which the services used before.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.include=MappingBenchmark}, or run {@link #main(String[])}
+ * on the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final UserMapper userMapper = new UserMapper();
+    private final TeamMapper teamMapper = new TeamMapper(userMapper);
+    private final PlanEntryMapper planEntryMapper = new PlanEntryMapper();
+
+    private PlanEntry planEntry;
+    private PlanEntryDto planEntryDto;
+    private Team team;
+    private User user;
+    private UserRegistrationDto userRegistrationDto;
+
+    @Setup
+    public void createEntities() {
+        user = TestDataCreator.createUserA();
+        user.setId(1);
+        team = TestDataCreator.createTeamA();
+        team.setId(1);
+        team.setTeamLeader(user);
+        planEntry = TestDataCreator.createPlanEntryA();
+        planEntry.setId(1);
+        planEntryDto = TestDataCreator.createPlanEntryDtoA();
+        userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+
+        modelMapper.map(planEntry, PlanEntryDto.class);
+        modelMapper.map(team, TeamDto.class);
+        modelMapper.map(user, UserDto.class);
+    }
+
+    @Benchmark
+    public PlanEntryDto planEntryToDtoWithModelMapper() {
+        return modelMapper.map(planEntry, PlanEntryDto.class);
+    }
+
+    @Benchmark
+    public PlanEntryDto planEntryToDtoWithMapper() {
+        return planEntryMapper.toDto(planEntry);
+    }
+
+    @Benchmark
+    public PlanEntry planEntryDtoToEntityWithModelMapper() {
+        return modelMapper.map(planEntryDto, PlanEntry.class);
+    }
+
+    @Benchmark
+    public PlanEntry planEntryDtoToEntityWithMapper() {
+        return planEntryMapper.toEntity(planEntryDto);
+    }
+
+    @Benchmark
+    public TeamDto teamToDtoWithModelMapper() {
+        return modelMapper.map(team, TeamDto.class);
+    }
+
+    @Benchmark
+    public TeamDto teamToDtoWithMapper() {
+        return teamMapper.toDto(team);
+    }
+
+    @Benchmark
+    public UserDto userToDtoWithModelMapper() {
+        return modelMapper.map(user, UserDto.class);
+    }
+
+    @Benchmark
+    public UserDto userToDtoWithMapper() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public User userRegistrationDtoToEntityWithModelMapper() {
+        return modelMapper.map(userRegistrationDto, User.class);
+    }
+
+    @Benchmark
+    public User userRegistrationDtoToEntityWithMapper() {
+        return userMapper.toEntity(userRegistrationDto);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MappingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,152 @@
+package com.ispydeer.WorkPlanner.benchmarks;
+
+import com.ispydeer.WorkPlanner.security.CachingAuthenticationProvider;
+import com.ispydeer.WorkPlanner.security.jwt.CachingJwtDecoder;
+import com.ispydeer.WorkPlanner.security.jwt.JwtKeySet;
+import com.ispydeer.WorkPlanner.security.jwt.JwtSigningKey;
+import com.ispydeer.WorkPlanner.security.jwt.JwtTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the authentication paths: issuing and decoding JWTs with JwtTokenService and the configured decoder,
+ * and verifying passwords through AuthUserDetailsService and BCrypt, as Basic authentication and
+ * {@code /authenticate} do, with and without the credential cache. The cost of signing and verifying
+ * a token is also measured per signing algorithm, outside the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityBenchmark {
+
+    /**
+     * An authenticated user of the benchmark dataset and a token issued for them.
+     */
+    @State(Scope.Benchmark)
+    public static class Credentials {
+
+        private String username;
+        private String password;
+        private String passwordHash;
+        private Authentication authentication;
+        private String token;
+
+        @Setup(Level.Trial)
+        public void authenticate(ApplicationState state) {
+            username = state.dataset.usernames().getFirst();
+            password = state.dataset.password();
+            authentication = state.bean(AuthenticationManager.class)
+                    .authenticate(UsernamePasswordAuthenticationToken.unauthenticated(username, password));
+            passwordHash = state.bean(PasswordEncoder.class).encode(password);
+            token = state.bean(JwtTokenService.class).generateToken(authentication);
+        }
+    }
+
+    /**
+     * A signing key of each compared algorithm, its encoder and decoders, and a token signed with it.
+     */
+    @State(Scope.Benchmark)
+    public static class SigningKey {
+
+        @Param({"RS256", "PS256", "ES256"})
+        public SignatureAlgorithm algorithm;
+
+        private JwtSigningKey signingKey;
+        private JwtEncoder encoder;
+        private JwtDecoder decoder;
+        private JwtDecoder cachingDecoder;
+        private JwtClaimsSet claims;
+        private String token;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            signingKey = JwtSigningKey.generate(algorithm);
+            encoder = signingKey.encoder();
+            decoder = JwtKeySet.of(signingKey).decoder();
+            cachingDecoder = new CachingJwtDecoder(decoder, new SimpleMeterRegistry());
+            claims = JwtClaimsSet.builder()
+                    .issuer("self")
+                    .issuedAt(Instant.now())
+                    .expiresAt(Instant.now().plus(120, ChronoUnit.MINUTES))
+                    .subject("benchmark")
+                    .build();
+            token = sign(this);
+        }
+    }
+
+    @Benchmark
+    public String signToken(SigningKey signingKey) {
+        return sign(signingKey);
+    }
+
+    @Benchmark
+    public Jwt verifyToken(SigningKey signingKey) {
+        return signingKey.decoder.decode(signingKey.token);
+    }
+
+    @Benchmark
+    public Jwt verifyCachedToken(SigningKey signingKey) {
+        return signingKey.cachingDecoder.decode(signingKey.token);
+    }
+
+    @Benchmark
+    public String generateToken(ApplicationState state, Credentials credentials) {
+        return state.bean(JwtTokenService.class).generateToken(credentials.authentication);
+    }
+
+    @Benchmark
+    public Jwt decodeToken(ApplicationState state, Credentials credentials) {
+        return state.bean(JwtDecoder.class).decode(credentials.token);
+    }
+
+    @Benchmark
+    public Authentication authenticateWithPassword(ApplicationState state, Credentials credentials) {
+        state.bean(CachingAuthenticationProvider.class).evict(credentials.username);
+        return state.bean(AuthenticationManager.class)
+                .authenticate(UsernamePasswordAuthenticationToken.unauthenticated(credentials.username, credentials.password));
+    }
+
+    @Benchmark
+    public Authentication authenticateWithCachedPassword(ApplicationState state, Credentials credentials) {
+        return state.bean(AuthenticationManager.class)
+                .authenticate(UsernamePasswordAuthenticationToken.unauthenticated(credentials.username, credentials.password));
+    }
+
+    @Benchmark
+    public boolean verifyPasswordHash(ApplicationState state, Credentials credentials) {
+        return state.bean(PasswordEncoder.class).matches(credentials.password, credentials.passwordHash);
+    }
+
+    private static String sign(SigningKey signingKey) {
+        return signingKey.encoder
+                .encode(JwtEncoderParameters.from(signingKey.signingKey.header(), signingKey.claims))
+                .getTokenValue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.ispydeer.WorkPlanner.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.planEntryColor.PlanEntryColor;
+import com.ispydeer.WorkPlanner.services.datagen.DatasetSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of plan entry lists as returned by the plan entry endpoints,
+ * using an ObjectMapper configured the way Spring MVC configures its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<PlanEntryDto>> PLAN_ENTRY_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<PlanEntryDto> planEntries;
+    private String json;
+
+    @Setup
+    public void createPlanEntries() throws JsonProcessingException {
+        Random random = new Random(DatasetSpec.DEFAULT_SEED);
+        LocalDateTime firstDay = LocalDateTime.of(2024, 1, 1, 0, 0);
+        planEntries = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            LocalDateTime startTime = firstDay.plusDays(index).plusHours(random.nextInt(16));
+            PlanEntryColor color = PlanEntryColor.values()[random.nextInt(PlanEntryColor.values().length)];
+            planEntries.add(new PlanEntryDto(index, "Shift", startTime, startTime.plusHours(8), color, null));
+        }
+        json = objectMapper.writeValueAsString(planEntries);
+    }
+
+    @Benchmark
+    public byte[] serializePlanEntries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(planEntries);
+    }
+
+    @Benchmark
+    public List<PlanEntryDto> deserializePlanEntries() throws JsonProcessingException {
+        return objectMapper.readValue(json, PLAN_ENTRY_LIST);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ispydeer.WorkPlanner.benchmarks;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
+import com.ispydeer.WorkPlanner.services.PlanEntryService;
+import com.ispydeer.WorkPlanner.services.TeamService;
+import com.ispydeer.WorkPlanner.services.datagen.GeneratedDataset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures service reads against the benchmark dataset, each in its own read-only transaction
+ * as a request would run them. Every invocation reads the next team and member, so all of the data is visited.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    /**
+     * The position of a benchmark thread in the dataset.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int advance() {
+            return next++;
+        }
+    }
+
+    @Benchmark
+    public List<PlanEntryDto> retrievePlanEntriesByTeamIdAndUserId(ApplicationState state, Cursor cursor) {
+        int position = cursor.advance();
+        GeneratedDataset dataset = state.dataset;
+        int teamId = dataset.teamIds().get(position % dataset.teamIds().size());
+        List<Integer> memberIds = dataset.memberIdsByTeamId().get(teamId);
+        int userId = memberIds.get((position / dataset.teamIds().size()) % memberIds.size());
+        PlanEntryService planEntryService = state.bean(PlanEntryService.class);
+        return state.readOnlyTransaction.execute(status ->
+                planEntryService.retrievePlanEntriesByTeamIdAndUserId(teamId, userId));
+    }
+
+    @Benchmark
+    public List<UserDto> retrieveTeamUsers(ApplicationState state, Cursor cursor) {
+        GeneratedDataset dataset = state.dataset;
+        int teamId = dataset.teamIds().get(cursor.advance() % dataset.teamIds().size());
+        TeamService teamService = state.bean(TeamService.class);
+        return state.readOnlyTransaction.execute(status -> teamService.retrieveTeamUsers(teamId));
+    }
+}
@@ -0,0 +1,74 @@
+package com.ispydeer.WorkPlanner.controllers;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.TeamNotFoundException;
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import com.ispydeer.WorkPlanner.services.TeamService;
+import com.ispydeer.WorkPlanner.services.metrics.MetricsConfiguration;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class ActuatorIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testThatServiceMethodsAreTimedWithTheirOutcome() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        assertThatThrownBy(() -> teamService.retrieveTeamById(9999)).isInstanceOf(TeamNotFoundException.class);
+
+        assertThat(serviceTimerCount("createTeam", "none")).isEqualTo(1);
+        assertThat(serviceTimerCount("retrieveTeamById", TeamNotFoundException.class.getSimpleName())).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatPrometheusEndpointExposesServiceHibernateAndConnectionPoolMetrics() throws Exception {
+        teamService.createTeam(TestDataCreator.createTeamDtoA());
+
+        String metrics = mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics)
+                .contains("workplanner_service_seconds_count{class=\"" + TeamService.class.getName())
+                .contains("workplanner_service_seconds_bucket")
+                .contains("hibernate_statements_total")
+                .contains("hibernate_second_level_cache_requests_total")
+                .contains("hikaricp_connections_active");
+    }
+
+    private long serviceTimerCount(String method, String exception) {
+        return meterRegistry.get(MetricsConfiguration.SERVICE_TIMER)
+                .tag("class", TeamService.class.getName())
+                .tag("method", method)
+                .tag("exception", exception)
+                .timer()
+                .count();
+    }
+}
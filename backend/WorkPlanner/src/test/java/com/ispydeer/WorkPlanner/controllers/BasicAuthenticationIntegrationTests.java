@@ -0,0 +1,86 @@
+package com.ispydeer.WorkPlanner.controllers;
+
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.services.UserService;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+@Transactional
+public class BasicAuthenticationIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testThatRepeatedBasicAuthenticationVerifiesPasswordOnce() throws Exception {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+
+        for (int request = 0; request < 3; request++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                            .with(httpBasic(userRegistrationDtoA.getUsername(), userRegistrationDtoA.getPassword())))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+
+        assertThat(passwordVerifications()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatWrongPasswordIsRejectedAfterCorrectPasswordWasCached() throws Exception {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .with(httpBasic(userRegistrationDtoA.getUsername(), userRegistrationDtoA.getPassword())))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .with(httpBasic(userRegistrationDtoA.getUsername(), userRegistrationDtoA.getPassword() + "x")))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+
+        assertThat(passwordVerifications()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatCachedCredentialsOfDeletedUserAreRejected() throws Exception {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        int userId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .with(httpBasic(userRegistrationDtoA.getUsername(), userRegistrationDtoA.getPassword())))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        userService.deleteUser(userId);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .with(httpBasic(userRegistrationDtoA.getUsername(), userRegistrationDtoA.getPassword())))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+
+    private double passwordVerifications() {
+        return meterRegistry.get("security.password.verifications").counter().count();
+    }
+}
@@ -3,13 +3,16 @@ package com.ispydeer.WorkPlanner.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
 import com.ispydeer.WorkPlanner.security.jwt.JwtTokenRequest;
+import com.ispydeer.WorkPlanner.security.jwt.JwtTokenResponse;
 import com.ispydeer.WorkPlanner.services.UserService;
 import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -17,6 +20,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -29,6 +34,9 @@ public class JwtAuthenticationControllerIntegrationTests {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     @Test
@@ -48,4 +56,32 @@ public class JwtAuthenticationControllerIntegrationTests {
                 .andExpect(MockMvcResultMatchers.status().isOk());
 
     }
+
+    @Test
+    public void testThatRepeatedBearerTokenIsVerifiedOnce() throws Exception {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+
+        JwtTokenRequest request = new JwtTokenRequest(
+                userRegistrationDtoA.getUsername(),
+                userRegistrationDtoA.getPassword());
+
+        String response = mockMvc.perform(MockMvcRequestBuilders.post("/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = mapper.readValue(response, JwtTokenResponse.class).token();
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x"))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+
+        assertThat(meterRegistry.get("security.jwt.verifications").counter().count()).isEqualTo(2);
+    }
 }
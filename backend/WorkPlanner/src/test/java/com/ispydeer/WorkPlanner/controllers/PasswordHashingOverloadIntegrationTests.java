@@ -0,0 +1,85 @@
+package com.ispydeer.WorkPlanner.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ispydeer.WorkPlanner.controllers.exceptions.PasswordHashingOverloadedException;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.security.jwt.JwtTokenRequest;
+import com.ispydeer.WorkPlanner.services.UserService;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+@Transactional
+public class PasswordHashingOverloadIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private UserRegistrationDto userRegistrationDtoA;
+
+    @BeforeEach
+    public void setUp() {
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+        when(passwordEncoder.matches(any(), any())).thenThrow(new PasswordHashingOverloadedException());
+        userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+    }
+
+    @Test
+    public void testThatBasicAuthenticationReturnsStatus503WithRetryAfterWhenHashingIsOverloaded() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                        .with(httpBasic(userRegistrationDtoA.getUsername(), userRegistrationDtoA.getPassword())))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void testThatTokenRequestReturnsStatus503WithRetryAfterWhenHashingIsOverloaded() throws Exception {
+        JwtTokenRequest request = new JwtTokenRequest(
+                userRegistrationDtoA.getUsername(),
+                userRegistrationDtoA.getPassword());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void testThatTokenAuthenticatedReadsAreServedWhenHashingIsOverloaded() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/users").with(jwt()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+}
@@ -2,6 +2,7 @@ package com.ispydeer.WorkPlanner.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryBulkItemDto;
 import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
 import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
@@ -9,6 +10,8 @@ import com.ispydeer.WorkPlanner.services.PlanEntryService;
 import com.ispydeer.WorkPlanner.services.TeamService;
 import com.ispydeer.WorkPlanner.services.UserService;
 import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
+import jakarta.persistence.EntityManager;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +27,9 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -43,6 +49,9 @@ public class PlanEntryControllerIntegrationTests {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private final ObjectMapper mapper = new ObjectMapper()
             .registerModule(new JavaTimeModule());
 
@@ -83,7 +92,7 @@ public class PlanEntryControllerIntegrationTests {
         PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
         planEntryService.createPlanEntry(planEntryDtoA, teamId, userId);
 
-        Integer planEntryId = planEntryService.retrieveAllPlanEntries().getFirst().getId();
+        Integer planEntryId = planEntryService.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items().getFirst().getId();
 
         mockMvc.perform(MockMvcRequestBuilders.get("/plan-entries/" + planEntryId))
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -116,6 +125,7 @@ public class PlanEntryControllerIntegrationTests {
         planEntryService.createPlanEntry(planEntryDtoA, teamId, userId);
         PlanEntryDto planEntryDtoB = TestDataCreator.createPlanEntryDtoB();
         planEntryService.createPlanEntry(planEntryDtoB, teamId, userId);
+        entityManager.flush();
 
         mockMvc.perform(MockMvcRequestBuilders.get("/plan-entries"))
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -139,9 +149,137 @@ public class PlanEntryControllerIntegrationTests {
         PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
         planEntryService.createPlanEntry(planEntryDtoA, teamId, userId);
 
-        Integer planEntryId = planEntryService.retrieveAllPlanEntries().getFirst().getId();
+        Integer planEntryId = planEntryService.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items().getFirst().getId();
 
         mockMvc.perform(MockMvcRequestBuilders.delete("/plan-entries/" + planEntryId))
                 .andExpect(MockMvcResultMatchers.status().isNoContent());
     }
+
+    @Test
+    @WithMockUser
+    public void testThatListsPlanEntriesInTimeWindowSuccessfullyAndReturnsHttpStatus200() throws Exception {
+        UserRegistrationDto userDtoRegA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userDtoRegA);
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+
+        Integer userId = userService.retrieveUserByUsername(userDtoRegA.getUsername()).getId();
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        LocalDateTime weekStart = LocalDateTime.of(2024, 10, 7, 0, 0);
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        planEntryDtoA.setStartTime(weekStart.plusHours(8));
+        planEntryDtoA.setEndTime(weekStart.plusHours(16));
+        planEntryService.createPlanEntry(planEntryDtoA, teamId, userId);
+        PlanEntryDto planEntryDtoB = TestDataCreator.createPlanEntryDtoB();
+        planEntryDtoB.setStartTime(weekStart.minusWeeks(1));
+        planEntryDtoB.setEndTime(weekStart.minusWeeks(1).plusHours(8));
+        planEntryService.createPlanEntry(planEntryDtoB, teamId, userId);
+        entityManager.flush();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/plan-entries/teams/" + teamId + "/users/" + userId)
+                        .param("from", weekStart.toString())
+                        .param("to", weekStart.plusWeeks(1).toString()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].title",
+                        Matchers.contains(planEntryDtoA.getTitle())));
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatListsPlanEntriesWithInvalidTimeWindowAndReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/plan-entries")
+                        .param("from", "2024-10-14T00:00:00"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatCreatesOverlappingPlanEntryReturnsHttpStatus409() throws Exception {
+        UserRegistrationDto userDtoRegA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userDtoRegA);
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+
+        Integer userId = userService.retrieveUserByUsername(userDtoRegA.getUsername()).getId();
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        planEntryService.createPlanEntry(planEntryDtoA, teamId, userId);
+
+        String json = mapper.writeValueAsString(planEntryDtoA);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/plan-entries/teams/" + teamId + "/users/" + userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+        mockMvc.perform(MockMvcRequestBuilders.post("/plan-entries/teams/" + teamId + "/users/" + userId)
+                        .param("allowConflicts", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatListsPlanEntryConflictsReturnsHttpStatus200() throws Exception {
+        UserRegistrationDto userDtoRegA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userDtoRegA);
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+
+        Integer userId = userService.retrieveUserByUsername(userDtoRegA.getUsername()).getId();
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        planEntryService.createPlanEntry(planEntryDtoA, teamId, userId);
+        PlanEntryDto planEntryDtoB = TestDataCreator.createPlanEntryDtoB();
+        planEntryService.createPlanEntry(planEntryDtoB, teamId, userId);
+        entityManager.flush();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/plan-entries/users/" + userId + "/conflicts")
+                        .param("from", planEntryDtoA.getStartTime().plusHours(1).toString())
+                        .param("to", planEntryDtoA.getStartTime().plusHours(2).toString()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].title",
+                        Matchers.contains(planEntryDtoA.getTitle())));
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatCreatesPlanEntriesInBulkReturnsHttpStatus200() throws Exception {
+        UserRegistrationDto userDtoRegA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userDtoRegA);
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+
+        Integer userId = userService.retrieveUserByUsername(userDtoRegA.getUsername()).getId();
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        List<PlanEntryBulkItemDto> items = List.of(
+                new PlanEntryBulkItemDto(teamId, userId, TestDataCreator.createPlanEntryDtoA()),
+                new PlanEntryBulkItemDto(teamId, userId, TestDataCreator.createPlanEntryDtoA())
+        );
+        String json = mapper.writeValueAsString(items);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/plan-entries/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].status",
+                        Matchers.contains("CREATED", "CONFLICT")));
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatCreatesNoPlanEntriesInBulkReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/plan-entries/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
 }
@@ -0,0 +1,154 @@
+package com.ispydeer.WorkPlanner.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.RecurringPlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.services.PlanEntryService;
+import com.ispydeer.WorkPlanner.services.RecurringPlanEntryService;
+import com.ispydeer.WorkPlanner.services.TeamService;
+import com.ispydeer.WorkPlanner.services.UserService;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+@Transactional
+public class RecurringPlanEntryControllerIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecurringPlanEntryService recurringPlanEntryService;
+
+    @Autowired
+    private PlanEntryService planEntryService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserService userService;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+
+    @Test
+    @WithMockUser
+    public void testThatCreatesRecurringPlanEntrySuccessfullyAndReturnsHttpStatus201() throws Exception {
+        UserRegistrationDto userDtoRegA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userDtoRegA);
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+
+        Integer userId = userService.retrieveUserByUsername(userDtoRegA.getUsername()).getId();
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        String json = mapper.writeValueAsString(TestDataCreator.createRecurringPlanEntryDtoA());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/recurring-plan-entries/teams/" + teamId + "/users/" + userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").isNumber());
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatCreatesRecurringPlanEntryEndingBeforeStartReturnsHttpStatus400() throws Exception {
+        UserRegistrationDto userDtoRegA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userDtoRegA);
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+
+        Integer userId = userService.retrieveUserByUsername(userDtoRegA.getUsername()).getId();
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        RecurringPlanEntryDto recurringPlanEntryDto = TestDataCreator.createRecurringPlanEntryDtoA();
+        recurringPlanEntryDto.setUntil(recurringPlanEntryDto.getStartTime().minusDays(1));
+        String json = mapper.writeValueAsString(recurringPlanEntryDto);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/recurring-plan-entries/teams/" + teamId + "/users/" + userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatCreatesRecurringPlanEntryOverlappingPlanEntryReturnsHttpStatus409() throws Exception {
+        UserRegistrationDto userDtoRegA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userDtoRegA);
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+
+        Integer userId = userService.retrieveUserByUsername(userDtoRegA.getUsername()).getId();
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        PlanEntryDto planEntryDto = TestDataCreator.createPlanEntryDtoA();
+        planEntryDto.setStartTime(LocalDateTime.of(2024, 1, 8, 12, 0));
+        planEntryDto.setEndTime(LocalDateTime.of(2024, 1, 8, 13, 0));
+        planEntryService.createPlanEntry(planEntryDto, teamId, userId);
+        entityManager.flush();
+
+        String json = mapper.writeValueAsString(TestDataCreator.createRecurringPlanEntryDtoA());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/recurring-plan-entries/teams/" + teamId + "/users/" + userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+        mockMvc.perform(MockMvcRequestBuilders.post("/recurring-plan-entries/teams/" + teamId + "/users/" + userId)
+                        .param("allowConflicts", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatAddsRecurringPlanEntryExceptionReturnsHttpStatus200() throws Exception {
+        UserRegistrationDto userDtoRegA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userDtoRegA);
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+
+        Integer userId = userService.retrieveUserByUsername(userDtoRegA.getUsername()).getId();
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        Integer recurringPlanEntryId = recurringPlanEntryService
+                .createRecurringPlanEntry(TestDataCreator.createRecurringPlanEntryDtoA(), teamId, userId)
+                .getId();
+
+        mockMvc.perform(MockMvcRequestBuilders.put(
+                        "/recurring-plan-entries/" + recurringPlanEntryId + "/exceptions/2024-01-03"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/recurring-plan-entries/" + recurringPlanEntryId))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.exceptionDates[0]").value("2024-01-03"));
+    }
+}
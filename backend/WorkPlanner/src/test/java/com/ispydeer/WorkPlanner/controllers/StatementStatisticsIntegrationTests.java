@@ -0,0 +1,61 @@
+package com.ispydeer.WorkPlanner.controllers;
+
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.services.UserService;
+import com.ispydeer.WorkPlanner.services.statements.StatementStatisticsFilter;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+
+/**
+ * Tests of the statement statistics of real requests. The tests are not transactional,
+ * so every request commits and its statements reach the database.
+ */
+@SpringBootTest(properties = "workplanner.sql-statistics.response-headers=true")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class StatementStatisticsIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    public void testThatStatementsOfRequestAreReturnedInHeaders() throws Exception {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users").with(jwt()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(StatementStatisticsFilter.STATEMENTS_HEADER, "1"))
+                .andExpect(MockMvcResultMatchers.header().exists(StatementStatisticsFilter.TIME_HEADER));
+        // The page is now cached
+        mockMvc.perform(MockMvcRequestBuilders.get("/users").with(jwt()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(StatementStatisticsFilter.STATEMENTS_HEADER, "0"));
+    }
+
+    @Test
+    public void testThatRegistrationStaysWithinItsBudget() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/users")
+                        .contentType("application/json")
+                        .content("""
+                                {"firstName": "First", "lastName": "Last", "username": "username", "password": "password"}
+                                """))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().exists(StatementStatisticsFilter.STATEMENTS_HEADER));
+    }
+}
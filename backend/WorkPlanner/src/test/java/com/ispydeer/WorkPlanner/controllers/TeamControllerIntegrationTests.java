@@ -1,10 +1,13 @@
 package com.ispydeer.WorkPlanner.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
 import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.services.PlanEntryService;
 import com.ispydeer.WorkPlanner.services.TeamService;
 import com.ispydeer.WorkPlanner.services.UserService;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
 import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -21,6 +24,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -40,6 +44,9 @@ public class TeamControllerIntegrationTests {
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private PlanEntryService planEntryService;
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     @Test
@@ -204,4 +211,136 @@ public class TeamControllerIntegrationTests {
         mockMvc.perform(MockMvcRequestBuilders.delete("/teams/" + teamId + "/users/" + userAId))
                 .andExpect(MockMvcResultMatchers.status().isNoContent());
     }
+
+    @Test
+    @WithMockUser
+    public void testThatGetsTeamScheduleSuccessfullyAndReturnsStatus200() throws Exception {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        Integer userAId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        teamService.addTeamUsers(teamId, List.of(userAId));
+
+        LocalDateTime weekStart = LocalDateTime.of(2024, 10, 7, 0, 0);
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        planEntryDtoA.setStartTime(weekStart.plusHours(8));
+        planEntryDtoA.setEndTime(weekStart.plusHours(16));
+        planEntryService.createPlanEntry(planEntryDtoA, teamId, userAId);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/" + teamId + "/schedule")
+                        .param("from", weekStart.toString())
+                        .param("to", weekStart.plusWeeks(1).toString()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].user.id").value(userAId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].planEntries[*].title",
+                        Matchers.contains(planEntryDtoA.getTitle())));
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatGetsTeamScheduleUnsuccessfullyAndReturnsStatus404() throws Exception {
+        final int ID_OF_NOT_EXISTING_TEAM = 999;
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/" + ID_OF_NOT_EXISTING_TEAM + "/schedule")
+                        .param("from", "2024-10-07T00:00:00")
+                        .param("to", "2024-10-14T00:00:00"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatGetsTeamAvailabilitySuccessfullyAndReturnsStatus200() throws Exception {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        Integer userAId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        teamService.addTeamUsers(teamId, List.of(userAId));
+
+        LocalDateTime dayStart = LocalDateTime.of(2024, 10, 7, 8, 0);
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        planEntryDtoA.setStartTime(dayStart);
+        planEntryDtoA.setEndTime(dayStart.plusHours(4));
+        planEntryService.createPlanEntry(planEntryDtoA, teamId, userAId);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/" + teamId + "/availability")
+                        .param("from", dayStart.toString())
+                        .param("to", dayStart.plusHours(10).toString())
+                        .param("duration", "PT2H")
+                        .param("minMembers", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].startTime").value("2024-10-07T12:00:00"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].endTime").value("2024-10-07T18:00:00"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].availableUserIds", Matchers.contains(userAId)));
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatGetsTeamAvailabilityWithInvalidDurationReturnsStatus400() throws Exception {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/" + teamId + "/availability")
+                        .param("from", "2024-10-07T00:00:00")
+                        .param("to", "2024-10-14T00:00:00")
+                        .param("duration", "PT0S"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatGetsWeeklyHoursSuccessfullyAndReturnsStatus200() throws Exception {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        Integer userAId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        LocalDateTime weekStart = LocalDateTime.of(2024, 10, 7, 0, 0);
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        planEntryDtoA.setStartTime(weekStart.plusHours(8));
+        planEntryDtoA.setEndTime(weekStart.plusHours(16));
+        planEntryService.createPlanEntry(planEntryDtoA, teamId, userAId);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/" + teamId + "/weekly-hours")
+                        .param("from", "2024-10-07")
+                        .param("to", "2024-10-14"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].userId").value(userAId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].weekStart").value("2024-10-07"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].totalMinutes").value(480))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].entryCount").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatListsTeamUsersPageReturnsNextPageTokenAndStatus200() throws Exception {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userRegistrationDtoB);
+
+        Integer userAId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        Integer userBId = userService.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId();
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        Integer teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        teamService.addTeamUsers(teamId, Arrays.asList(userAId, userBId));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/" + teamId + "/users").param("size", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(CursorPage.NEXT_PAGE_TOKEN_HEADER))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].firstName",
+                        Matchers.contains(userRegistrationDtoA.getFirstName())));
+    }
 }
@@ -5,6 +5,7 @@ import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
 import com.ispydeer.WorkPlanner.services.TeamService;
 import com.ispydeer.WorkPlanner.services.UserService;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
 import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -95,6 +96,28 @@ public class UserControllerIntegrationTests {
                                 userDtoRegB.getFirstName())));
     }
 
+    @Test
+    @WithMockUser
+    public void testThatListsUsersPageReturnsNextPageTokenAndHttpStatus200() throws Exception {
+        UserRegistrationDto userDtoRegA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userDtoRegA);
+        UserRegistrationDto userDtoRegB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userDtoRegB);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users").param("size", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(CursorPage.NEXT_PAGE_TOKEN_HEADER))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].firstName",
+                        Matchers.contains(userDtoRegA.getFirstName())));
+    }
+
+    @Test
+    @WithMockUser
+    public void testThatListsUsersWithInvalidPageTokenReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/users").param("pageToken", "not-a-token"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(authorities = {"SCOPE_ADMIN"})
     public void testThatDeletesUserReturnsHttpStatus204() throws Exception {
@@ -0,0 +1,102 @@
+package com.ispydeer.WorkPlanner.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latencies and errors of the requests of a load test, recorded per endpoint in HdrHistograms
+ * with three significant digits.
+ */
+final class EndpointLatencies {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Records a request.
+     *
+     * @param endpoint the method and path template of the request
+     * @param nanos    the latency of the request in nanoseconds
+     * @param error    whether the request failed or was answered with an error status
+     */
+    void record(String endpoint, long nanos, boolean error) {
+        Endpoint latencies = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        latencies.histogram.recordValue(nanos);
+        if (error) {
+            latencies.errors.increment();
+        }
+    }
+
+    /**
+     * Discards all recorded requests, e.g. those of the warmup.
+     */
+    void reset() {
+        endpoints.values().forEach(latencies -> {
+            latencies.histogram.reset();
+            latencies.errors.reset();
+        });
+    }
+
+    /**
+     * Formats the throughput and latency percentiles of every endpoint and of all requests together.
+     *
+     * @param elapsed the time the requests were recorded in
+     * @return the report, one line per endpoint
+     */
+    String report(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        StringBuilder report = new StringBuilder(String.format("%-50s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram histogram = entry.getValue().histogram.copy();
+            long errors = entry.getValue().errors.sum();
+            appendLine(report, entry.getKey(), histogram, errors, seconds);
+            total.add(histogram);
+            totalErrors += errors;
+        }
+        appendLine(report, "Total", total, totalErrors, seconds);
+        return report.toString();
+    }
+
+    /**
+     * Appends the report line of an endpoint.
+     *
+     * @param report    the report
+     * @param endpoint  the name of the endpoint
+     * @param histogram the latencies of the endpoint in nanoseconds
+     * @param errors    the number of failed requests
+     * @param seconds   the time the requests were recorded in
+     */
+    private static void appendLine(StringBuilder report, String endpoint, Histogram histogram, long errors, double seconds) {
+        report.append(String.format("%-50s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * The recorded requests of one endpoint. The histogram resizes itself to the largest recorded latency.
+     */
+    private static final class Endpoint {
+
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,378 @@
+package com.ispydeer.WorkPlanner.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ispydeer.WorkPlanner.WorkPlannerApplication;
+import com.ispydeer.WorkPlanner.services.datagen.DatasetGenerator;
+import com.ispydeer.WorkPlanner.services.datagen.DatasetSpec;
+import com.ispydeer.WorkPlanner.services.datagen.GeneratedDataset;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A closed-loop HTTP load test of a locally started application.
+ * <p>
+ * The application is started on a random port with its own in-memory database, filled by {@link DatasetGenerator}.
+ * Every worker thread authenticates as a generated user through {@code /authenticate} and then sends requests
+ * with its JWT, one after another, picking every operation at random according to the mix. Requests of the warmup
+ * are discarded; afterwards the throughput and the p50, p99 and p99.9 latencies of every endpoint are reported.
+ * As every worker waits for its response before sending the next request, latencies are measured at the throughput
+ * the application sustains, not at a fixed arrival rate.
+ * <p>
+ * Run with {@code mvn -Ploadtest verify}. All settings are system properties:
+ * {@code loadtest.users}, {@code loadtest.teams} and {@code loadtest.planEntriesPerUser} size the dataset,
+ * {@code loadtest.threads} is the number of workers, {@code loadtest.warmup} and {@code loadtest.duration}
+ * are ISO-8601 durations, {@code loadtest.mix} weighs the operations as in
+ * {@code calendar:50,schedule:20,create:15,delete:10,membership:5}, {@code loadtest.virtualThreads} chooses
+ * whether the application handles requests on virtual threads (the default) or on the platform thread pool
+ * of Tomcat, and the report is also written to {@code loadtest.report} if set.
+ */
+public class LoadTest {
+
+    private static final String DEFAULT_MIX = "calendar:50,schedule:20,create:15,delete:10,membership:5";
+    private static final LocalDateTime FIRST_CREATED_SLOT = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final URI baseUri;
+    private final GeneratedDataset dataset;
+    private final DatasetSpec spec;
+    private final Map<Operation, Integer> mix;
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EndpointLatencies latencies = new EndpointLatencies();
+    private final AtomicLong nextCreatedSlot = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * An operation of the mix. An operation sends one or more requests.
+     */
+    enum Operation {
+        /**
+         * Reads the plan entries of a team member in one week.
+         */
+        CALENDAR,
+        /**
+         * Reads the schedule of all members of a team in one week.
+         */
+        SCHEDULE,
+        /**
+         * Creates a one-hour plan entry after the generated ones, so it never conflicts.
+         */
+        CREATE,
+        /**
+         * Looks up a plan entry created by the worker and deletes it, or creates one if there is none.
+         */
+        DELETE,
+        /**
+         * Adds a user to a team they are not a member of, or removes the user the worker added last.
+         */
+        MEMBERSHIP
+    }
+
+    LoadTest(URI baseUri, GeneratedDataset dataset, DatasetSpec spec, Map<Operation, Integer> mix) {
+        this.baseUri = baseUri;
+        this.dataset = dataset;
+        this.spec = spec;
+        this.mix = mix;
+    }
+
+    public static void main(String[] args) throws Exception {
+        DatasetSpec spec = DatasetSpec.of(
+                Integer.getInteger("loadtest.users", 5000),
+                Integer.getInteger("loadtest.teams", 200),
+                Integer.getInteger("loadtest.planEntriesPerUser", 200));
+        int threads = Integer.getInteger("loadtest.threads", 16);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        Map<Operation, Integer> mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+        String reportFile = System.getProperty("loadtest.report");
+        boolean virtualThreads = Boolean.parseBoolean(System.getProperty("loadtest.virtualThreads", "true"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WorkPlannerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN",
+                        "spring.threads.virtual.enabled=" + virtualThreads
+                )
+                .run(args)) {
+            GeneratedDataset dataset = context.getBean(DatasetGenerator.class).generate(spec);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTest loadTest = new LoadTest(URI.create("http://localhost:" + port), dataset, spec, mix);
+
+            String report = String.format("%d users, %d teams, %d plan entries; %d threads, mix %s, %s warmup; "
+                            + "requests on %s threads%n%n",
+                    spec.users(), spec.teams(), dataset.planEntryCount(), threads, mix, warmup,
+                    virtualThreads ? "virtual" : "platform")
+                    + loadTest.run(threads, warmup, duration);
+            System.out.println(report);
+            if (reportFile != null) {
+                Files.writeString(Path.of(reportFile), report);
+            }
+        }
+    }
+
+    /**
+     * Runs the workers for the warmup and the measured duration.
+     *
+     * @param threads  the number of workers
+     * @param warmup   the time before latencies are recorded
+     * @param duration the time latencies are recorded
+     * @return the report of the measured requests
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    String run(int threads, Duration warmup, Duration duration) throws InterruptedException {
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int worker = 0; worker < threads; worker++) {
+            workers.add(Thread.ofPlatform().name("load-test-worker-" + worker).start(new Worker(worker)));
+        }
+        Thread.sleep(warmup);
+        latencies.reset();
+        long start = System.nanoTime();
+        Thread.sleep(duration);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return latencies.report(elapsed);
+    }
+
+    /**
+     * Parses an operation mix such as {@code calendar:50,create:10}. Operations not listed are not sent.
+     *
+     * @param mix the weights of the operations
+     * @return the weight of every listed operation
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * A plan entry created by a worker.
+     */
+    private record CreatedPlanEntry(int teamId, int userId, LocalDateTime startTime) {
+    }
+
+    /**
+     * A membership added by a worker.
+     */
+    private record AddedMembership(int teamId, int userId) {
+    }
+
+    /**
+     * A worker sending requests one after another as a single authenticated user.
+     */
+    private final class Worker implements Runnable {
+
+        private final Random random;
+        private final String username;
+        private final Deque<CreatedPlanEntry> createdPlanEntries = new ArrayDeque<>();
+        private final Deque<AddedMembership> addedMemberships = new ArrayDeque<>();
+        private final int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        private String token;
+
+        private Worker(int worker) {
+            this.random = new Random(spec.seed() + worker);
+            this.username = dataset.usernames().get(worker % dataset.usernames().size());
+        }
+
+        @Override
+        public void run() {
+            try {
+                authenticate();
+                while (running) {
+                    switch (pickOperation()) {
+                        case CALENDAR -> readCalendar();
+                        case SCHEDULE -> readSchedule();
+                        case CREATE -> createPlanEntry();
+                        case DELETE -> deletePlanEntry();
+                        case MEMBERSHIP -> changeMembership();
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(username + " could not authenticate", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void authenticate() throws IOException, InterruptedException {
+            String body = objectMapper.writeValueAsString(Map.of("username", username, "password", dataset.password()));
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/authenticate"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Authentication returned HTTP " + response.statusCode());
+            }
+            token = objectMapper.readTree(response.body()).get("token").asText();
+        }
+
+        private Operation pickOperation() {
+            int value = random.nextInt(totalWeight);
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                value -= entry.getValue();
+                if (value < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Empty operation mix");
+        }
+
+        private void readCalendar() throws InterruptedException {
+            int teamId = randomTeamId();
+            int userId = randomMemberId(teamId);
+            LocalDateTime from = randomWeek();
+            send("GET /plan-entries/teams/{teamId}/users/{userId}", request(
+                    "/plan-entries/teams/" + teamId + "/users/" + userId + "?from=" + from + "&to=" + from.plusWeeks(1))
+                    .GET());
+        }
+
+        private void readSchedule() throws InterruptedException {
+            int teamId = randomTeamId();
+            LocalDateTime from = randomWeek();
+            send("GET /teams/{teamId}/schedule", request(
+                    "/teams/" + teamId + "/schedule?from=" + from + "&to=" + from.plusWeeks(1))
+                    .GET());
+        }
+
+        private void createPlanEntry() throws InterruptedException {
+            int teamId = randomTeamId();
+            int userId = randomMemberId(teamId);
+            LocalDateTime startTime = FIRST_CREATED_SLOT.plusHours(nextCreatedSlot.getAndIncrement());
+            String body = json(Map.of(
+                    "title", "Load test",
+                    "startTime", startTime.toString(),
+                    "endTime", startTime.plusHours(1).toString(),
+                    "planEntryColor", "BLUE"));
+            HttpResponse<String> response = send("POST /plan-entries/teams/{teamId}/users/{userId}", request(
+                    "/plan-entries/teams/" + teamId + "/users/" + userId)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+            if (response != null && response.statusCode() == 201) {
+                createdPlanEntries.push(new CreatedPlanEntry(teamId, userId, startTime));
+            }
+        }
+
+        private void deletePlanEntry() throws InterruptedException {
+            CreatedPlanEntry planEntry = createdPlanEntries.poll();
+            if (planEntry == null) {
+                createPlanEntry();
+                return;
+            }
+            HttpResponse<String> lookup = send("GET /plan-entries/teams/{teamId}/users/{userId}", request(
+                    "/plan-entries/teams/" + planEntry.teamId() + "/users/" + planEntry.userId()
+                            + "?from=" + planEntry.startTime() + "&to=" + planEntry.startTime().plusHours(1))
+                    .GET());
+            if (lookup == null || lookup.statusCode() != 200) {
+                return;
+            }
+            try {
+                for (JsonNode found : objectMapper.readTree(lookup.body())) {
+                    send("DELETE /plan-entries/{planEntryId}", request("/plan-entries/" + found.get("id").asInt()).DELETE());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected plan entry response: " + lookup.body(), e);
+            }
+        }
+
+        private void changeMembership() throws InterruptedException {
+            AddedMembership membership = addedMemberships.poll();
+            if (membership != null) {
+                send("DELETE /teams/{teamId}/users/{userId}", request(
+                        "/teams/" + membership.teamId() + "/users/" + membership.userId()).DELETE());
+                return;
+            }
+            int teamId = randomTeamId();
+            int userId = dataset.userIds().get(random.nextInt(dataset.userIds().size()));
+            if (dataset.memberIdsByTeamId().get(teamId).contains(userId)) {
+                return;
+            }
+            HttpResponse<String> response = send("PUT /teams/{teamId}/users", request("/teams/" + teamId + "/users")
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("[" + userId + "]")));
+            if (response != null && response.statusCode() == 200) {
+                addedMemberships.push(new AddedMembership(teamId, userId));
+            }
+        }
+
+        private HttpRequest.Builder request(String pathAndQuery) {
+            return HttpRequest.newBuilder(baseUri.resolve(pathAndQuery)).header("Authorization", "Bearer " + token);
+        }
+
+        /**
+         * Sends a request and records its latency, counting failures and error statuses as errors.
+         *
+         * @param endpoint the name the request is recorded under
+         * @param request  the request
+         * @return the response, or null if the request failed
+         * @throws InterruptedException if interrupted while waiting for the response
+         */
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                latencies.record(endpoint, System.nanoTime() - start, response.statusCode() >= 400);
+                return response;
+            } catch (IOException e) {
+                latencies.record(endpoint, System.nanoTime() - start, true);
+                return null;
+            }
+        }
+
+        private String json(Map<String, String> fields) {
+            try {
+                return objectMapper.writeValueAsString(fields);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private int randomTeamId() {
+            return dataset.teamIds().get(random.nextInt(dataset.teamIds().size()));
+        }
+
+        private int randomMemberId(int teamId) {
+            List<Integer> memberIds = dataset.memberIdsByTeamId().get(teamId);
+            return memberIds.get(random.nextInt(memberIds.size()));
+        }
+
+        /**
+         * Picks the start of a week within the generated plan entries, which cover about
+         * five working days per week.
+         *
+         * @return the Monday of the week at midnight
+         */
+        private LocalDateTime randomWeek() {
+            int weeks = Math.max(1, spec.planEntriesPerUser() / 5);
+            return spec.firstDay().atStartOfDay().plusWeeks(random.nextInt(weeks));
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -89,4 +90,59 @@ public class PlanEntryRepositoryIntegrationTests {
         Optional<PlanEntry> result = underTest.findById(planEntryA.getId());
         assertThat(result).isNotPresent();
     }
+
+    @Test
+    public void testThatPlanEntriesOverlappingTimeWindowCanBeRecalledByTeamAndUser() {
+        Team team = TestDataCreator.createTeamA();
+        teamRepository.save(team);
+        User user = TestDataCreator.createUserA();
+        userRepository.save(user);
+
+        LocalDateTime weekStart = LocalDateTime.of(2024, 10, 7, 0, 0);
+        PlanEntry planEntryA = TestDataCreator.createPlanEntryA();
+        planEntryA.setStartTime(weekStart.minusHours(2));
+        planEntryA.setEndTime(weekStart.plusHours(6));
+        planEntryA.setTeam(team);
+        planEntryA.setUser(user);
+        underTest.save(planEntryA);
+
+        PlanEntry planEntryB = TestDataCreator.createPlanEntryB();
+        planEntryB.setStartTime(weekStart.minusHours(10));
+        planEntryB.setEndTime(weekStart);
+        planEntryB.setTeam(team);
+        planEntryB.setUser(user);
+        underTest.save(planEntryB);
+
+        List<PlanEntry> result = underTest.findPlanEntriesByTeamIdAndUserIdInTimeWindow(
+                team.getId(), user.getId(), weekStart, weekStart.plusWeeks(1));
+        assertThat(result).containsExactly(planEntryA);
+    }
+
+    @Test
+    public void testThatPlanEntryOfMaximumDurationStartingBeforeTimeWindowIsRecalled() {
+        Team team = TestDataCreator.createTeamA();
+        teamRepository.save(team);
+        User user = TestDataCreator.createUserA();
+        userRepository.save(user);
+
+        LocalDateTime weekStart = LocalDateTime.of(2024, 10, 7, 0, 0);
+        PlanEntry planEntryA = TestDataCreator.createPlanEntryA();
+        planEntryA.setStartTime(weekStart.minus(PlanEntry.MAX_DURATION).plusMinutes(1));
+        planEntryA.setEndTime(weekStart.plusMinutes(1));
+        planEntryA.setTeam(team);
+        planEntryA.setUser(user);
+        underTest.save(planEntryA);
+
+        PlanEntry planEntryB = TestDataCreator.createPlanEntryB();
+        planEntryB.setStartTime(weekStart.minus(PlanEntry.MAX_DURATION));
+        planEntryB.setEndTime(weekStart);
+        planEntryB.setTeam(team);
+        planEntryB.setUser(user);
+        underTest.save(planEntryB);
+
+        assertThat(underTest.findPlanEntriesByTeamIdAndUserIdInTimeWindow(
+                team.getId(), user.getId(), weekStart, weekStart.plusWeeks(1))).containsExactly(planEntryA);
+        assertThat(underTest.findBusyIntervalsByUserIdsInTimeWindow(
+                List.of(user.getId()), weekStart, weekStart.plusWeeks(1))).hasSize(1);
+    }
 }
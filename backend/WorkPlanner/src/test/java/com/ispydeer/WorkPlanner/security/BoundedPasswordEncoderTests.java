@@ -0,0 +1,71 @@
+package com.ispydeer.WorkPlanner.security;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTests {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BoundedPasswordEncoder underTest = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, meterRegistry);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        underTest.close();
+    }
+
+    @Test
+    public void testThatHashesBeyondThreadsAndQueueAreRejected() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> underTest.encode("a"));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> underTest.matches("b", "b"));
+        while (meterRegistry.get("executor.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> underTest.matches("c", "c")).isInstanceOf(PasswordHashingOverloadedException.class);
+        assertThat(meterRegistry.get("security.password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("security.password.hashing").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("security.password.hashing").tag("operation", "matches").timer().count())
+                .isEqualTo(1);
+    }
+
+    /**
+     * An encoder storing passwords in plain text, which blocks until released.
+     */
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ispydeer.WorkPlanner.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachingJwtDecoderTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @ParameterizedTest
+    @EnumSource(value = SignatureAlgorithm.class, names = {"RS256", "PS256", "ES256", "ES384", "ES512"})
+    public void testThatTokenSignedWithKeyIsDecoded(SignatureAlgorithm algorithm) {
+        JwtSigningKey signingKey = JwtSigningKey.generate(algorithm);
+        String token = token(signingKey, Instant.now().plus(10, ChronoUnit.MINUTES));
+
+        assertThat(JwtKeySet.of(signingKey).decoder().decode(token).getSubject()).isEqualTo("userA");
+    }
+
+    @Test
+    public void testThatTokenSignedWithOtherKeyIsRejected() {
+        JwtSigningKey signingKey = JwtSigningKey.generate(SignatureAlgorithm.ES256);
+        String token = token(JwtSigningKey.generate(SignatureAlgorithm.ES256), Instant.now().plus(10, ChronoUnit.MINUTES));
+
+        assertThatThrownBy(() -> JwtKeySet.of(signingKey).decoder().decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    public void testThatRepeatedTokenIsVerifiedOnce() {
+        JwtSigningKey signingKey = JwtSigningKey.generate(SignatureAlgorithm.RS256);
+        CachingJwtDecoder underTest = new CachingJwtDecoder(JwtKeySet.of(signingKey).decoder(), meterRegistry);
+        String token = token(signingKey, Instant.now().plus(10, ChronoUnit.MINUTES));
+
+        for (int request = 0; request < 3; request++) {
+            assertThat(underTest.decode(token).getSubject()).isEqualTo("userA");
+        }
+
+        assertThat(verifications()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatTamperedTokenIsRejectedAfterOriginalWasCached() {
+        JwtSigningKey signingKey = JwtSigningKey.generate(SignatureAlgorithm.ES256);
+        CachingJwtDecoder underTest = new CachingJwtDecoder(JwtKeySet.of(signingKey).decoder(), meterRegistry);
+        String token = token(signingKey, Instant.now().plus(10, ChronoUnit.MINUTES));
+        underTest.decode(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BA" : "AA");
+
+        assertThatThrownBy(() -> underTest.decode(tampered)).isInstanceOf(JwtException.class);
+        assertThat(verifications()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatRejectedTokenIsNotCached() {
+        JwtSigningKey signingKey = JwtSigningKey.generate(SignatureAlgorithm.RS256);
+        CachingJwtDecoder underTest = new CachingJwtDecoder(JwtKeySet.of(signingKey).decoder(), meterRegistry);
+        String token = token(signingKey, Instant.now().minus(10, ChronoUnit.MINUTES));
+
+        assertThatThrownBy(() -> underTest.decode(token)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> underTest.decode(token)).isInstanceOf(JwtException.class);
+        assertThat(verifications()).isEqualTo(2);
+    }
+
+    private double verifications() {
+        return meterRegistry.get("security.jwt.verifications").counter().count();
+    }
+
+    private static String token(JwtSigningKey signingKey, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(expiresAt.minus(20, ChronoUnit.MINUTES))
+                .expiresAt(expiresAt)
+                .subject("userA")
+                .build();
+        return signingKey.encoder()
+                .encode(JwtEncoderParameters.from(signingKey.header(), claims))
+                .getTokenValue();
+    }
+}
@@ -0,0 +1,102 @@
+package com.ispydeer.WorkPlanner.security.jwt;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JwtKeySetTests {
+
+    @TempDir
+    private Path directory;
+
+    private final JwtSigningKey keyA = JwtSigningKey.generate(SignatureAlgorithm.RS256);
+    private final JwtSigningKey keyB = JwtSigningKey.generate(SignatureAlgorithm.ES256);
+
+    @Test
+    public void testThatTokenIssuedByOneInstanceIsAcceptedByAnother() throws IOException {
+        Resource jwkSet = jwkSetFile(keyA.jwk());
+        JwtKeySet instanceA = JwtKeySet.load(jwkSet, null);
+        JwtKeySet instanceB = JwtKeySet.load(jwkSet, null);
+
+        String token = token(instanceA.signingKey());
+
+        assertThat(instanceB.decoder().decode(token).getSubject()).isEqualTo("userA");
+    }
+
+    @Test
+    public void testThatTokenSignedWithPreviousKeyIsAcceptedAfterRotation() throws IOException {
+        Resource jwkSet = jwkSetFile(keyA.jwk(), keyB.jwk());
+        JwtKeySet beforeRotation = JwtKeySet.load(jwkSet, keyA.jwk().getKeyID());
+        JwtKeySet afterRotation = JwtKeySet.load(jwkSet, keyB.jwk().getKeyID());
+
+        String oldToken = token(beforeRotation.signingKey());
+        String newToken = token(afterRotation.signingKey());
+
+        assertThat(afterRotation.signingKey().algorithm()).isEqualTo(SignatureAlgorithm.ES256);
+        assertThat(afterRotation.decoder().decode(oldToken).getHeaders()).containsEntry("kid", keyA.jwk().getKeyID());
+        assertThat(afterRotation.decoder().decode(newToken).getHeaders()).containsEntry("kid", keyB.jwk().getKeyID());
+        assertThat(beforeRotation.decoder().decode(newToken).getSubject()).isEqualTo("userA");
+    }
+
+    @Test
+    public void testThatTokenSignedWithRemovedKeyIsRejected() throws IOException {
+        String oldToken = token(JwtKeySet.load(jwkSetFile(keyA.jwk(), keyB.jwk()), keyA.jwk().getKeyID()).signingKey());
+
+        JwtKeySet afterRemoval = JwtKeySet.load(jwkSetFile(keyB.jwk()), null);
+
+        assertThatThrownBy(() -> afterRemoval.decoder().decode(oldToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    public void testThatMissingActiveKeyIsRejected() throws IOException {
+        Resource jwkSet = jwkSetFile(keyA.jwk(), keyB.jwk());
+
+        assertThatThrownBy(() -> JwtKeySet.load(jwkSet, null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> JwtKeySet.load(jwkSet, "unknown")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testThatActiveKeyWithoutPrivateKeyIsRejected() throws IOException {
+        Resource jwkSet = jwkSetFile(keyA.jwk().toPublicJWK(), keyB.jwk());
+
+        assertThat(JwtKeySet.load(jwkSet, keyB.jwk().getKeyID()).signingKey().jwk().getKeyID())
+                .isEqualTo(keyB.jwk().getKeyID());
+        assertThatThrownBy(() -> JwtKeySet.load(jwkSet, keyA.jwk().getKeyID()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private Resource jwkSetFile(JWK... keys) throws IOException {
+        Path file = Files.createTempFile(directory, "jwks", ".json");
+        Files.writeString(file, new JWKSet(List.of(keys)).toString(false));
+        return new FileSystemResource(file);
+    }
+
+    private static String token(JwtSigningKey signingKey) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plus(10, ChronoUnit.MINUTES))
+                .subject("userA")
+                .build();
+        return signingKey.encoder()
+                .encode(JwtEncoderParameters.from(signingKey.header(), claims))
+                .getTokenValue();
+    }
+}
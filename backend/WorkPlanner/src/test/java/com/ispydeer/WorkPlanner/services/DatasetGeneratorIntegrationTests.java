@@ -0,0 +1,130 @@
+package com.ispydeer.WorkPlanner.services;
+
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.WeeklyHoursDto;
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.repositiories.PlanEntryRepository;
+import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
+import com.ispydeer.WorkPlanner.repositiories.UserRepository;
+import com.ispydeer.WorkPlanner.repositiories.WeeklyHoursRollupRepository;
+import com.ispydeer.WorkPlanner.services.datagen.DatasetGenerator;
+import com.ispydeer.WorkPlanner.services.datagen.DatasetSpec;
+import com.ispydeer.WorkPlanner.services.datagen.GeneratedDataset;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Transactional
+public class DatasetGeneratorIntegrationTests {
+
+    private static final DatasetSpec SPEC = DatasetSpec.of(60, 5, 30);
+
+    @Autowired
+    private DatasetGenerator underTest;
+
+    @Autowired
+    private WeeklyHoursRollupService weeklyHoursRollupService;
+
+    @Autowired
+    private WeeklyHoursRollupRepository weeklyHoursRollupRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlanEntryService planEntryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlanEntryRepository planEntryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void testThatDatasetIsGeneratedWithRequestedSize() {
+        GeneratedDataset result = underTest.generate(SPEC);
+
+        assertThat(userRepository.count()).isEqualTo(60);
+        assertThat(teamRepository.count()).isEqualTo(5);
+        assertThat(planEntryRepository.count()).isEqualTo(60 * 30).isEqualTo(result.planEntryCount());
+        assertThat(result.memberIdsByTeamId().values().stream().flatMap(List::stream).distinct())
+                .containsExactlyInAnyOrderElementsOf(result.userIds());
+        for (Map.Entry<Integer, List<Integer>> team : result.memberIdsByTeamId().entrySet()) {
+            TeamDto teamDto = teamService.retrieveTeamById(team.getKey());
+            assertThat(teamService.retrieveTeamUsers(team.getKey()))
+                    .extracting(UserDto::getId)
+                    .containsExactlyInAnyOrderElementsOf(team.getValue())
+                    .contains(teamDto.getTeamLeader().getId());
+        }
+        assertThat(userService.retrieveUserByUsername(result.usernames().getFirst()).getId())
+                .isEqualTo(result.userIds().getFirst());
+    }
+
+    @Test
+    public void testThatGeneratedRollupsMatchRollupsRebuiltFromPlanEntries() {
+        GeneratedDataset dataset = underTest.generate(SPEC);
+        LocalDate from = SPEC.firstDay();
+        LocalDate to = from.plusYears(1);
+        List<List<WeeklyHoursDto>> generated = dataset.teamIds().stream()
+                .map(teamId -> weeklyHoursRollupService.retrieveWeeklyHours(teamId, null, from, to))
+                .toList();
+
+        weeklyHoursRollupRepository.deleteAllInBatch();
+        weeklyHoursRollupService.rebuildIfEmpty();
+        entityManager.flush();
+        entityManager.clear();
+
+        List<List<WeeklyHoursDto>> rebuilt = dataset.teamIds().stream()
+                .map(teamId -> weeklyHoursRollupService.retrieveWeeklyHours(teamId, null, from, to))
+                .toList();
+        assertThat(generated).allSatisfy(weeklyHours -> assertThat(weeklyHours).isNotEmpty());
+        assertThat(rebuilt).isEqualTo(generated);
+    }
+
+    @Test
+    public void testThatEntitiesCreatedBeforeAndAfterGenerationDoNotConflictWithGeneratedIds() {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        entityManager.flush();
+
+        underTest.generate(SPEC);
+
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userRegistrationDtoB);
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        int userId = userService.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId();
+        planEntryService.createPlanEntry(TestDataCreator.createPlanEntryDtoA(), teamId, userId);
+        entityManager.flush();
+
+        assertThat(userRepository.count()).isEqualTo(62);
+        assertThat(teamRepository.count()).isEqualTo(6);
+        assertThat(planEntryRepository.count()).isEqualTo(60 * 30 + 1);
+    }
+}
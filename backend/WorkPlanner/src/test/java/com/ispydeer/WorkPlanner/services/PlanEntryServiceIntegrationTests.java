@@ -1,10 +1,28 @@
 package com.ispydeer.WorkPlanner.services;
 
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidAvailabilityRequestException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidPlanEntryTimeException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidTimeWindowException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.PlanEntryConflictException;
 import com.ispydeer.WorkPlanner.controllers.exceptions.PlanEntryNotFoundException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.TeamNotFoundException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.UserNotFoundException;
+import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryBulkItemDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryBulkResultDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryBulkStatus;
 import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.UserScheduleDto;
+import com.ispydeer.WorkPlanner.entities.team.dto.AvailabilitySlotDto;
 import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.repositiories.PlanEntryRepository;
+import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
+import com.ispydeer.WorkPlanner.repositiories.UserRepository;
+import com.ispydeer.WorkPlanner.utilities.StatementCounter;
 import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +31,9 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -33,6 +54,21 @@ public class PlanEntryServiceIntegrationTests {
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private RecurringPlanEntryService recurringPlanEntryService;
+
+    @Autowired
+    private PlanEntryRepository planEntryRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     public void testThatPlanEntryIsSuccessfullySavedAndRecalledById() {
         TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
@@ -46,7 +82,10 @@ public class PlanEntryServiceIntegrationTests {
         PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
         underTest.createPlanEntry(planEntryDtoA, teamId, userId);
 
-        int planEntryId = underTest.retrieveAllPlanEntries().getFirst().getId();
+        int planEntryId = underTest.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE)
+                .items()
+                .getFirst()
+                .getId();
         PlanEntryDto result = underTest.retrievePlanEntryById(planEntryId);
 
         assertThat(result).isNotNull();
@@ -94,7 +133,7 @@ public class PlanEntryServiceIntegrationTests {
         PlanEntryDto planEntryDtoB = TestDataCreator.createPlanEntryDtoB();
         underTest.createPlanEntry(planEntryDtoB, teamId, userId);
 
-        List<PlanEntryDto> result = underTest.retrieveAllPlanEntries();
+        List<PlanEntryDto> result = underTest.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items();
         assertThat(result)
                 .hasSize(2)
                 .extracting(PlanEntryDto::getTitle)
@@ -120,7 +159,7 @@ public class PlanEntryServiceIntegrationTests {
         underTest.createPlanEntry(planEntryDtoB, teamId, userId);
 
         int planEntryId = underTest
-                .retrieveAllPlanEntries()
+                .retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items()
                 .stream()
                 .filter(planEntry -> planEntry.getTitle().equals(planEntryDtoA.getTitle()))
                 .findFirst()
@@ -132,7 +171,7 @@ public class PlanEntryServiceIntegrationTests {
 
         underTest.deletePlanEntryById(planEntryId);
 
-        List<PlanEntryDto> result = underTest.retrieveAllPlanEntries();
+        List<PlanEntryDto> result = underTest.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items();
         assertThat(result)
                 .hasSize(1)
                 .extracting(PlanEntryDto::getTitle)
@@ -141,4 +180,549 @@ public class PlanEntryServiceIntegrationTests {
                 );
 
     }
+
+    @Test
+    public void testThatOnlyPlanEntriesOverlappingTimeWindowAreRecalled() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        LocalDateTime weekStart = LocalDateTime.of(2024, 10, 7, 0, 0);
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        planEntryDtoA.setStartTime(weekStart.plusHours(8));
+        planEntryDtoA.setEndTime(weekStart.plusHours(16));
+        underTest.createPlanEntry(planEntryDtoA, teamId, userId);
+        PlanEntryDto planEntryDtoB = TestDataCreator.createPlanEntryDtoB();
+        planEntryDtoB.setStartTime(weekStart.plusWeeks(1).plusHours(8));
+        planEntryDtoB.setEndTime(weekStart.plusWeeks(1).plusHours(16));
+        underTest.createPlanEntry(planEntryDtoB, teamId, userId);
+
+        List<PlanEntryDto> allInWindow = underTest.retrievePlanEntriesInTimeWindow(
+                weekStart, weekStart.plusWeeks(1), null, CursorPage.MAX_PAGE_SIZE).items();
+        List<PlanEntryDto> teamUserInWindow = underTest.retrievePlanEntriesByTeamIdAndUserIdInTimeWindow(
+                teamId, userId, weekStart.plusHours(15), weekStart.plusWeeks(1).plusHours(9));
+
+        assertThat(allInWindow)
+                .extracting(PlanEntryDto::getTitle)
+                .containsExactly(planEntryDtoA.getTitle());
+        assertThat(teamUserInWindow)
+                .extracting(PlanEntryDto::getTitle)
+                .containsExactlyInAnyOrder(planEntryDtoA.getTitle(), planEntryDtoB.getTitle());
+    }
+
+    @Test
+    public void testThatInvalidTimeWindowIsRejected() {
+        LocalDateTime from = LocalDateTime.of(2024, 10, 14, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 10, 7, 0, 0);
+        assertThatThrownBy(() -> underTest.retrievePlanEntriesInTimeWindow(from, to, null, CursorPage.MAX_PAGE_SIZE))
+                .isInstanceOf(InvalidTimeWindowException.class);
+        assertThatThrownBy(() -> underTest.retrievePlanEntriesInTimeWindow(from, null, null, CursorPage.MAX_PAGE_SIZE))
+                .isInstanceOf(InvalidTimeWindowException.class);
+    }
+
+    @Test
+    public void testThatTimeWindowLongerThanMaximumIsRejected() {
+        LocalDateTime from = LocalDateTime.of(2024, 10, 7, 0, 0);
+        LocalDateTime to = from.plus(PlanEntryService.MAX_TIME_WINDOW);
+        assertThat(underTest.retrievePlanEntriesInTimeWindow(from, to, null, CursorPage.MAX_PAGE_SIZE).items())
+                .isEmpty();
+        assertThatThrownBy(() -> underTest.retrievePlanEntriesInTimeWindow(
+                from, to.plusMinutes(1), null, CursorPage.MAX_PAGE_SIZE))
+                .isInstanceOf(InvalidTimeWindowException.class);
+        assertThatThrownBy(() -> underTest.retrieveTeamSchedule(1, from, to.plusMinutes(1)))
+                .isInstanceOf(InvalidTimeWindowException.class);
+    }
+
+    @Test
+    public void testThatTeamScheduleIsRecalledGroupedByMember() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userRegistrationDtoB);
+
+        int userAId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        int userBId = userService.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        teamService.addTeamUsers(teamId, List.of(userAId, userBId));
+
+        LocalDateTime weekStart = LocalDateTime.of(2024, 10, 7, 0, 0);
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        planEntryDtoA.setStartTime(weekStart.plusHours(8));
+        planEntryDtoA.setEndTime(weekStart.plusHours(16));
+        underTest.createPlanEntry(planEntryDtoA, teamId, userAId);
+        PlanEntryDto planEntryDtoB = TestDataCreator.createPlanEntryDtoB();
+        planEntryDtoB.setStartTime(weekStart.plusWeeks(2));
+        planEntryDtoB.setEndTime(weekStart.plusWeeks(2).plusHours(8));
+        underTest.createPlanEntry(planEntryDtoB, teamId, userBId);
+
+        List<UserScheduleDto> result = underTest.retrieveTeamSchedule(teamId, weekStart, weekStart.plusWeeks(1));
+
+        assertThat(result)
+                .extracting(schedule -> schedule.getUser().getId())
+                .containsExactly(userAId, userBId);
+        assertThat(result.get(0).getPlanEntries())
+                .extracting(PlanEntryDto::getTitle)
+                .containsExactly(planEntryDtoA.getTitle());
+        assertThat(result.get(1).getPlanEntries()).isEmpty();
+    }
+
+    @Test
+    public void testThatTeamScheduleIsNotFoundForNonExistingTeam() {
+        final int ID_OF_NON_EXISTING_TEAM = 9999;
+        LocalDateTime from = LocalDateTime.of(2024, 10, 7, 0, 0);
+        assertThatThrownBy(() -> underTest.retrieveTeamSchedule(ID_OF_NON_EXISTING_TEAM, from, from.plusWeeks(1)))
+                .isInstanceOf(TeamNotFoundException.class);
+    }
+
+    @Test
+    public void testThatTeamAvailabilityIsFoundAcrossTeamsOfMembers() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        TeamDto teamDtoB = TestDataCreator.createTeamDtoB();
+        teamService.createTeam(teamDtoB);
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userRegistrationDtoB);
+
+        int userAId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        int userBId = userService.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId();
+        int teamAId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        int teamBId = teamService.retrieveTeamByName(teamDtoB.getName()).getId();
+        teamService.addTeamUsers(teamAId, List.of(userAId, userBId));
+
+        LocalDateTime dayStart = LocalDateTime.of(2024, 10, 7, 8, 0);
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        planEntryDtoA.setStartTime(dayStart.plusHours(1));
+        planEntryDtoA.setEndTime(dayStart.plusHours(4));
+        underTest.createPlanEntry(planEntryDtoA, teamAId, userAId);
+        PlanEntryDto planEntryDtoB = TestDataCreator.createPlanEntryDtoB();
+        planEntryDtoB.setStartTime(dayStart.plusHours(3));
+        planEntryDtoB.setEndTime(dayStart.plusHours(6));
+        underTest.createPlanEntry(planEntryDtoB, teamBId, userBId);
+
+        List<AvailabilitySlotDto> allMembers = underTest.retrieveTeamAvailability(
+                teamAId, dayStart, dayStart.plusHours(10), Duration.ofHours(1), null);
+        List<AvailabilitySlotDto> longSlots = underTest.retrieveTeamAvailability(
+                teamAId, dayStart, dayStart.plusHours(10), Duration.ofHours(2), 2);
+        List<AvailabilitySlotDto> anyMember = underTest.retrieveTeamAvailability(
+                teamAId, dayStart, dayStart.plusHours(10), Duration.ofHours(1), 1);
+
+        assertThat(allMembers).containsExactly(
+                new AvailabilitySlotDto(dayStart, dayStart.plusHours(1), List.of(userAId, userBId)),
+                new AvailabilitySlotDto(dayStart.plusHours(6), dayStart.plusHours(10), List.of(userAId, userBId))
+        );
+        assertThat(longSlots).containsExactly(
+                new AvailabilitySlotDto(dayStart.plusHours(6), dayStart.plusHours(10), List.of(userAId, userBId))
+        );
+        assertThat(anyMember).containsExactly(
+                new AvailabilitySlotDto(dayStart, dayStart.plusHours(1), List.of(userAId, userBId)),
+                new AvailabilitySlotDto(dayStart, dayStart.plusHours(3), List.of(userBId)),
+                new AvailabilitySlotDto(dayStart.plusHours(4), dayStart.plusHours(10), List.of(userAId))
+        );
+    }
+
+    @Test
+    public void testThatTeamAvailabilityTreatsRecurringOccurrencesAsBusy() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        teamService.addTeamUsers(teamId, List.of(userId));
+        recurringPlanEntryService.createRecurringPlanEntry(TestDataCreator.createRecurringPlanEntryDtoA(), teamId, userId);
+
+        LocalDateTime monday = LocalDateTime.of(2024, 10, 7, 0, 0);
+        List<AvailabilitySlotDto> result = underTest.retrieveTeamAvailability(
+                teamId, monday, monday.plusDays(1), Duration.ofHours(1), null);
+
+        assertThat(result).containsExactly(
+                new AvailabilitySlotDto(monday, monday.plusHours(8), List.of(userId)),
+                new AvailabilitySlotDto(monday.plusHours(16), monday.plusDays(1), List.of(userId))
+        );
+    }
+
+    @Test
+    public void testThatInvalidAvailabilityRequestIsRejected() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        final int ID_OF_NON_EXISTING_TEAM = 9999;
+        LocalDateTime from = LocalDateTime.of(2024, 10, 7, 0, 0);
+        LocalDateTime to = from.plusWeeks(1);
+
+        assertThatThrownBy(() -> underTest.retrieveTeamAvailability(teamId, from, to, Duration.ZERO, null))
+                .isInstanceOf(InvalidAvailabilityRequestException.class);
+        assertThatThrownBy(() -> underTest.retrieveTeamAvailability(teamId, from, to, Duration.ofHours(1), 0))
+                .isInstanceOf(InvalidAvailabilityRequestException.class);
+        assertThatThrownBy(() -> underTest.retrieveTeamAvailability(teamId, to, from, Duration.ofHours(1), null))
+                .isInstanceOf(InvalidTimeWindowException.class);
+        assertThatThrownBy(() -> underTest.retrieveTeamAvailability(
+                ID_OF_NON_EXISTING_TEAM, from, to, Duration.ofHours(1), null))
+                .isInstanceOf(TeamNotFoundException.class);
+        assertThat(underTest.retrieveTeamAvailability(teamId, from, to, Duration.ofHours(1), null)).isEmpty();
+    }
+
+    @Test
+    public void testThatPlanEntryReadsIssueConstantNumberOfStatements() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        TeamDto teamDtoB = TestDataCreator.createTeamDtoB();
+        teamService.createTeam(teamDtoB);
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userRegistrationDtoB);
+
+        List<Integer> teamIds = List.of(
+                teamService.retrieveTeamByName(teamDtoA.getName()).getId(),
+                teamService.retrieveTeamByName(teamDtoB.getName()).getId()
+        );
+        List<Integer> userIds = List.of(
+                userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId(),
+                userService.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId()
+        );
+        for (int teamId : teamIds) {
+            teamService.addTeamUsers(teamId, userIds);
+            teamService.setTeamLeader(teamId, userIds.getFirst());
+            for (int userId : userIds) {
+                underTest.createPlanEntry(TestDataCreator.createPlanEntryDtoA(), teamId, userId, true);
+                underTest.createPlanEntry(TestDataCreator.createPlanEntryDtoB(), teamId, userId, true);
+            }
+        }
+        int teamId = teamIds.getFirst();
+        int userId = userIds.getFirst();
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+        assertThat(StatementCounter.countStatements(entityManager,
+                () -> underTest.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE)))
+                .isEqualTo(1);
+        assertThat(StatementCounter.countStatements(entityManager,
+                () -> underTest.retrievePlanEntriesInTimeWindow(from, to, null, CursorPage.MAX_PAGE_SIZE)))
+                .isEqualTo(1);
+        // the existence of the team and the user was cached when their plan entries were created
+        assertThat(StatementCounter.countStatements(entityManager,
+                () -> underTest.retrievePlanEntriesByTeamIdAndUserId(teamId, userId)))
+                .isEqualTo(1);
+        assertThat(StatementCounter.countStatements(entityManager,
+                () -> underTest.retrievePlanEntriesByTeamIdAndUserIdInTimeWindow(teamId, userId, from, to)))
+                .isEqualTo(2);
+        assertThat(StatementCounter.countStatements(entityManager,
+                () -> underTest.retrieveTeamSchedule(teamId, from, to)))
+                .isEqualTo(2);
+        assertThat(StatementCounter.countStatements(entityManager,
+                () -> underTest.retrieveTeamAvailability(teamId, from, to, Duration.ofHours(1), 1)))
+                .isEqualTo(3);
+    }
+
+    @Test
+    public void testThatPlanEntryOfDeletedUserIsRejectedAfterExistenceWasCached() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        teamService.addTeamUsers(teamId, List.of(userId));
+        underTest.createPlanEntry(TestDataCreator.createPlanEntryDtoA(), teamId, userId);
+
+        assertThat(StatementCounter.countStatements(entityManager,
+                () -> underTest.retrievePlanEntriesByTeamIdAndUserId(teamId, userId)))
+                .isEqualTo(1);
+
+        entityManager.flush();
+        entityManager.clear();
+        userService.deleteUser(userId);
+        assertThatThrownBy(() -> underTest.createPlanEntry(TestDataCreator.createPlanEntryDtoB(), teamId, userId))
+                .isInstanceOf(UserNotFoundException.class);
+
+        teamService.deleteTeam(teamId);
+        assertThatThrownBy(() -> underTest.retrieveTeamSchedule(
+                teamId,
+                LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1)
+        )).isInstanceOf(TeamNotFoundException.class);
+    }
+
+    @Test
+    public void testThatOverlappingPlanEntryOfSameUserInAnotherTeamIsRejected() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        TeamDto teamDtoB = TestDataCreator.createTeamDtoB();
+        teamService.createTeam(teamDtoB);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        int teamAId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        int teamBId = teamService.retrieveTeamByName(teamDtoB.getName()).getId();
+
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        underTest.createPlanEntry(planEntryDtoA, teamAId, userId);
+        PlanEntryDto overlappingPlanEntryDto = TestDataCreator.createPlanEntryDtoA();
+        overlappingPlanEntryDto.setStartTime(planEntryDtoA.getStartTime().plusHours(4));
+        overlappingPlanEntryDto.setEndTime(planEntryDtoA.getEndTime().plusHours(4));
+
+        assertThatThrownBy(() -> underTest.createPlanEntry(overlappingPlanEntryDto, teamBId, userId))
+                .isInstanceOf(PlanEntryConflictException.class);
+        underTest.createPlanEntry(TestDataCreator.createPlanEntryDtoB(), teamBId, userId);
+        assertThat(underTest.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items())
+                .extracting(PlanEntryDto::getTitle)
+                .containsExactly(TestDataCreator.createPlanEntryDtoB().getTitle(), planEntryDtoA.getTitle());
+    }
+
+    @Test
+    public void testThatOverlappingPlanEntryIsSavedWhenConflictsAreAllowedAndReported() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        underTest.createPlanEntry(planEntryDtoA, teamId, userId);
+        underTest.createPlanEntry(planEntryDtoA, teamId, userId, true);
+
+        List<PlanEntryDto> conflicts = underTest.retrievePlanEntryConflicts(
+                userId, planEntryDtoA.getStartTime().plusHours(1), planEntryDtoA.getStartTime().plusHours(2));
+        assertThat(conflicts)
+                .hasSize(2)
+                .extracting(PlanEntryDto::getTitle)
+                .containsOnly(planEntryDtoA.getTitle());
+        assertThat(underTest.retrievePlanEntryConflicts(
+                userId, planEntryDtoA.getEndTime(), planEntryDtoA.getEndTime().plusHours(1)))
+                .isEmpty();
+    }
+
+    @Test
+    public void testThatDeletedPlanEntryNoLongerConflicts() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        underTest.createPlanEntry(planEntryDtoA, teamId, userId);
+        int planEntryId = underTest.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items().getFirst().getId();
+        underTest.deletePlanEntryById(planEntryId);
+
+        underTest.createPlanEntry(planEntryDtoA, teamId, userId);
+        assertThat(underTest.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items()).hasSize(1);
+    }
+
+    @Test
+    public void testThatPlanEntriesWrittenByAnotherInstanceAreSeenByConflictDetection() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        underTest.createPlanEntry(TestDataCreator.createPlanEntryDtoB(), teamId, userId);
+        PlanEntry planEntryA = TestDataCreator.createPlanEntryA();
+        planEntryA.setTeam(teamRepository.getReferenceById(teamId));
+        planEntryA.setUser(userRepository.getReferenceById(userId));
+        planEntryRepository.saveAndFlush(planEntryA);
+
+        assertThatThrownBy(() -> underTest.createPlanEntry(TestDataCreator.createPlanEntryDtoA(), teamId, userId))
+                .isInstanceOf(PlanEntryConflictException.class);
+        planEntryRepository.delete(planEntryA);
+        underTest.createPlanEntry(TestDataCreator.createPlanEntryDtoA(), teamId, userId);
+        assertThat(underTest.retrievePlanEntriesByTeamIdAndUserId(teamId, userId)).hasSize(2);
+    }
+
+    @Test
+    public void testThatOccurrencesOfRecurringPlanEntriesAreSeenByConflictDetection() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        recurringPlanEntryService.createRecurringPlanEntry(TestDataCreator.createRecurringPlanEntryDtoA(), teamId, userId);
+
+        LocalDateTime monday = LocalDateTime.of(2024, 10, 7, 0, 0);
+        PlanEntryDto onMonday = TestDataCreator.createPlanEntryDtoA();
+        onMonday.setStartTime(monday.plusHours(15));
+        onMonday.setEndTime(monday.plusHours(17));
+        PlanEntryDto onTuesday = TestDataCreator.createPlanEntryDtoB();
+        onTuesday.setStartTime(monday.plusDays(1).plusHours(15));
+        onTuesday.setEndTime(monday.plusDays(1).plusHours(17));
+
+        assertThat(underTest.retrievePlanEntryConflicts(userId, onMonday.getStartTime(), onMonday.getEndTime()))
+                .extracting(PlanEntryDto::getStartTime)
+                .containsExactly(monday.plusHours(8));
+        assertThatThrownBy(() -> underTest.createPlanEntry(onMonday, teamId, userId))
+                .isInstanceOf(PlanEntryConflictException.class);
+        assertThat(underTest.createPlanEntries(List.of(
+                new PlanEntryBulkItemDto(teamId, userId, onMonday),
+                new PlanEntryBulkItemDto(teamId, userId, onTuesday)
+        ), false))
+                .extracting(PlanEntryBulkResultDto::getStatus)
+                .containsExactly(PlanEntryBulkStatus.CONFLICT, PlanEntryBulkStatus.CREATED);
+    }
+
+    @Test
+    public void testThatBulkCreationReportsOutcomeOfEveryItem() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        final int ID_OF_NON_EXISTING_ENTITY = 9999;
+
+        PlanEntryDto invalidPlanEntryDto = TestDataCreator.createPlanEntryDtoA();
+        invalidPlanEntryDto.setTitle("A");
+        List<PlanEntryBulkItemDto> items = List.of(
+                new PlanEntryBulkItemDto(teamId, userId, TestDataCreator.createPlanEntryDtoA()),
+                new PlanEntryBulkItemDto(teamId, userId, invalidPlanEntryDto),
+                new PlanEntryBulkItemDto(ID_OF_NON_EXISTING_ENTITY, userId, TestDataCreator.createPlanEntryDtoB()),
+                new PlanEntryBulkItemDto(teamId, ID_OF_NON_EXISTING_ENTITY, TestDataCreator.createPlanEntryDtoB()),
+                new PlanEntryBulkItemDto(teamId, userId, TestDataCreator.createPlanEntryDtoA()),
+                new PlanEntryBulkItemDto(teamId, userId, TestDataCreator.createPlanEntryDtoB())
+        );
+
+        List<PlanEntryBulkResultDto> results = underTest.createPlanEntries(items, false);
+
+        assertThat(results)
+                .extracting(PlanEntryBulkResultDto::getStatus)
+                .containsExactly(
+                        PlanEntryBulkStatus.CREATED,
+                        PlanEntryBulkStatus.INVALID,
+                        PlanEntryBulkStatus.TEAM_NOT_FOUND,
+                        PlanEntryBulkStatus.USER_NOT_FOUND,
+                        PlanEntryBulkStatus.CONFLICT,
+                        PlanEntryBulkStatus.CREATED
+                );
+        assertThat(results.get(1).getErrors()).hasSize(1);
+        assertThat(underTest.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items())
+                .extracting(PlanEntryDto::getId)
+                .containsExactlyInAnyOrder(results.get(0).getPlanEntryId(), results.get(5).getPlanEntryId());
+    }
+
+    @Test
+    public void testThatBulkItemsInsideLongerPlanEntryOfSameRequestAreReportedAsConflicts() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        LocalDateTime start = LocalDateTime.of(2024, 10, 7, 8, 0);
+        List<PlanEntryBulkItemDto> items = List.of(
+                new PlanEntryBulkItemDto(teamId, userId, planEntryDto(start, start.plus(PlanEntry.MAX_DURATION))),
+                new PlanEntryBulkItemDto(teamId, userId, planEntryDto(start.plusDays(30), start.plusDays(30).plusHours(1))),
+                new PlanEntryBulkItemDto(teamId, userId, planEntryDto(start.minusHours(2), start.minusHours(1))),
+                new PlanEntryBulkItemDto(teamId, userId, planEntryDto(
+                        start.plus(PlanEntry.MAX_DURATION), start.plus(PlanEntry.MAX_DURATION).plusHours(1)))
+        );
+
+        List<PlanEntryBulkResultDto> results = underTest.createPlanEntries(items, false);
+
+        assertThat(results)
+                .extracting(PlanEntryBulkResultDto::getStatus)
+                .containsExactly(
+                        PlanEntryBulkStatus.CREATED,
+                        PlanEntryBulkStatus.CONFLICT,
+                        PlanEntryBulkStatus.CREATED,
+                        PlanEntryBulkStatus.CREATED
+                );
+    }
+
+    @Test
+    public void testThatPlanEntryLongerThanMaximumDurationIsRejected() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        int userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        PlanEntryDto tooLongPlanEntryDto = TestDataCreator.createPlanEntryDtoA();
+        tooLongPlanEntryDto.setEndTime(tooLongPlanEntryDto.getStartTime().plus(PlanEntry.MAX_DURATION).plusMinutes(1));
+        PlanEntryDto endingAtStartPlanEntryDto = TestDataCreator.createPlanEntryDtoA();
+        endingAtStartPlanEntryDto.setEndTime(endingAtStartPlanEntryDto.getStartTime());
+
+        assertThatThrownBy(() -> underTest.createPlanEntry(tooLongPlanEntryDto, teamId, userId))
+                .isInstanceOf(InvalidPlanEntryTimeException.class);
+        assertThatThrownBy(() -> underTest.createPlanEntry(endingAtStartPlanEntryDto, teamId, userId))
+                .isInstanceOf(InvalidPlanEntryTimeException.class);
+        List<PlanEntryBulkResultDto> results = underTest.createPlanEntries(
+                List.of(new PlanEntryBulkItemDto(teamId, userId, tooLongPlanEntryDto)), false);
+        assertThat(results)
+                .extracting(PlanEntryBulkResultDto::getStatus)
+                .containsExactly(PlanEntryBulkStatus.INVALID);
+        assertThat(underTest.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items()).isEmpty();
+    }
+
+    @Test
+    public void testThatBulkCreationIssuesConstantNumberOfStatements() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        TeamDto teamDtoB = TestDataCreator.createTeamDtoB();
+        teamService.createTeam(teamDtoB);
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userRegistrationDtoB);
+
+        List<Integer> teamIds = List.of(
+                teamService.retrieveTeamByName(teamDtoA.getName()).getId(),
+                teamService.retrieveTeamByName(teamDtoB.getName()).getId()
+        );
+        List<Integer> userIds = List.of(
+                userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId(),
+                userService.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId()
+        );
+        List<PlanEntryBulkItemDto> items = new ArrayList<>();
+        for (int day = 0; day < 10; day++) {
+            for (int member = 0; member < 2; member++) {
+                PlanEntryDto planEntryDto = TestDataCreator.createPlanEntryDtoA();
+                planEntryDto.setStartTime(planEntryDto.getStartTime().plusDays(day));
+                planEntryDto.setEndTime(planEntryDto.getEndTime().plusDays(day));
+                items.add(new PlanEntryBulkItemDto(teamIds.get(member), userIds.get(member), planEntryDto));
+            }
+        }
+
+        long statements = StatementCounter.countStatements(entityManager, () -> {
+            underTest.createPlanEntries(items, false);
+            entityManager.flush();
+        });
+
+        assertThat(underTest.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items()).hasSize(20);
+        // teams, users, intervals and recurring plan entries lookups, two sequence calls to initialise
+        // the pooled optimizer and a single batched insert, then the same for the weekly rollups
+        // after locking the existing ones
+        assertThat(statements).isEqualTo(11);
+    }
+
+    private static PlanEntryDto planEntryDto(LocalDateTime startTime, LocalDateTime endTime) {
+        PlanEntryDto planEntryDto = TestDataCreator.createPlanEntryDtoA();
+        planEntryDto.setStartTime(startTime);
+        planEntryDto.setEndTime(endTime);
+        return planEntryDto;
+    }
 }
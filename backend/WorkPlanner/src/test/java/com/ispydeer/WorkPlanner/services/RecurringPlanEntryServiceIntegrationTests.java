@@ -0,0 +1,237 @@
+package com.ispydeer.WorkPlanner.services;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidRecurrenceException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.PlanEntryConflictException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.RecurringPlanEntryNotFoundException;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.RecurringPlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.UserScheduleDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.recurrenceFrequency.RecurrenceFrequency;
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Transactional
+public class RecurringPlanEntryServiceIntegrationTests {
+
+    @Autowired
+    private RecurringPlanEntryService underTest;
+
+    @Autowired
+    private PlanEntryService planEntryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int teamId;
+
+    private int userId;
+
+    @BeforeEach
+    public void createTeamAndUser() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+        teamService.addTeamUsers(teamId, List.of(userId));
+    }
+
+    @Test
+    public void testThatRecurringPlanEntryIsSuccessfullySavedAndRecalledById() {
+        RecurringPlanEntryDto recurringPlanEntryDto = TestDataCreator.createRecurringPlanEntryDtoA();
+        int recurringPlanEntryId = underTest.createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId).getId();
+
+        RecurringPlanEntryDto result = underTest.retrieveRecurringPlanEntryById(recurringPlanEntryId);
+        assertThat(result.getTitle()).isEqualTo(recurringPlanEntryDto.getTitle());
+        assertThat(result.getWeekdays()).containsExactlyInAnyOrder(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY);
+    }
+
+    @Test
+    public void testThatRecurringPlanEntryIsNotFoundById() {
+        final int ID_OF_NON_EXISTING_RECURRING_PLAN_ENTRY = 9999;
+        assertThatThrownBy(() -> underTest.retrieveRecurringPlanEntryById(ID_OF_NON_EXISTING_RECURRING_PLAN_ENTRY))
+                .isInstanceOf(RecurringPlanEntryNotFoundException.class);
+    }
+
+    @Test
+    public void testThatWeeklyOccurrencesAreExpandedOnlyWithinTimeWindowYearsAfterStart() {
+        underTest.createRecurringPlanEntry(TestDataCreator.createRecurringPlanEntryDtoA(), teamId, userId);
+
+        // Monday, 6 January 2031 to Monday, 13 January 2031
+        LocalDateTime from = LocalDateTime.of(2031, 1, 6, 0, 0);
+        List<PlanEntryDto> result = planEntryService
+                .retrievePlanEntriesByTeamIdAndUserIdInTimeWindow(teamId, userId, from, from.plusWeeks(1));
+
+        assertThat(result)
+                .extracting(PlanEntryDto::getStartTime)
+                .containsExactly(LocalDateTime.of(2031, 1, 6, 8, 0), LocalDateTime.of(2031, 1, 8, 8, 0));
+        assertThat(result)
+                .extracting(PlanEntryDto::getEndTime)
+                .containsExactly(LocalDateTime.of(2031, 1, 6, 16, 0), LocalDateTime.of(2031, 1, 8, 16, 0));
+        assertThat(result).allMatch(planEntryDto -> planEntryDto.getRecurringPlanEntryId() != null);
+    }
+
+    @Test
+    public void testThatOccurrencesRespectIntervalCountAndExceptions() {
+        RecurringPlanEntryDto recurringPlanEntryDto = TestDataCreator.createRecurringPlanEntryDtoA();
+        recurringPlanEntryDto.setInterval(2);
+        recurringPlanEntryDto.setCount(5);
+        int recurringPlanEntryId = underTest.createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId).getId();
+        underTest.addRecurringPlanEntryException(recurringPlanEntryId, LocalDate.of(2024, 1, 15));
+
+        List<PlanEntryDto> result = planEntryService.retrievePlanEntriesByTeamIdAndUserIdInTimeWindow(
+                teamId, userId, LocalDateTime.of(2023, 12, 1, 0, 0), LocalDateTime.of(2024, 12, 1, 0, 0));
+
+        // occurrences 1, 3 and 15 January 2024 (the exception), 17 and 29 January 2024
+        assertThat(result)
+                .extracting(planEntryDto -> planEntryDto.getStartTime().toLocalDate())
+                .containsExactly(
+                        LocalDate.of(2024, 1, 1),
+                        LocalDate.of(2024, 1, 3),
+                        LocalDate.of(2024, 1, 17),
+                        LocalDate.of(2024, 1, 29)
+                );
+    }
+
+    @Test
+    public void testThatExceptionOnDateWithoutOccurrenceIsRejected() {
+        RecurringPlanEntryDto recurringPlanEntryDto = TestDataCreator.createRecurringPlanEntryDtoA();
+        recurringPlanEntryDto.setCount(3);
+        int recurringPlanEntryId = underTest.createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId).getId();
+
+        // before the start, on a Tuesday and after the third occurrence on 8 January 2024
+        for (LocalDate date : List.of(LocalDate.of(2023, 12, 27), LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 10))) {
+            assertThatThrownBy(() -> underTest.addRecurringPlanEntryException(recurringPlanEntryId, date))
+                    .isInstanceOf(InvalidRecurrenceException.class);
+        }
+        underTest.addRecurringPlanEntryException(recurringPlanEntryId, LocalDate.of(2024, 1, 8));
+        underTest.addRecurringPlanEntryException(recurringPlanEntryId, LocalDate.of(2024, 1, 8));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(underTest.retrieveRecurringPlanEntryById(recurringPlanEntryId).getExceptionDates())
+                .containsExactly(LocalDate.of(2024, 1, 8));
+    }
+
+    @Test
+    public void testThatDailyOccurrencesRespectUntilAndOverlapWindowStart() {
+        RecurringPlanEntryDto recurringPlanEntryDto = TestDataCreator.createRecurringPlanEntryDtoA();
+        recurringPlanEntryDto.setFrequency(RecurrenceFrequency.DAILY);
+        recurringPlanEntryDto.setWeekdays(Set.of());
+        recurringPlanEntryDto.setInterval(3);
+        recurringPlanEntryDto.setUntil(LocalDateTime.of(2024, 1, 10, 8, 0));
+        underTest.createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId);
+
+        List<PlanEntryDto> result = planEntryService.retrievePlanEntriesByTeamIdAndUserIdInTimeWindow(
+                teamId, userId, LocalDateTime.of(2024, 1, 4, 12, 0), LocalDateTime.of(2024, 2, 1, 0, 0));
+
+        assertThat(result)
+                .extracting(PlanEntryDto::getStartTime)
+                .containsExactly(
+                        LocalDateTime.of(2024, 1, 4, 8, 0),
+                        LocalDateTime.of(2024, 1, 7, 8, 0),
+                        LocalDateTime.of(2024, 1, 10, 8, 0)
+                );
+    }
+
+    @Test
+    public void testThatOccurrencesAreMergedIntoTeamSchedule() {
+        underTest.createRecurringPlanEntry(TestDataCreator.createRecurringPlanEntryDtoA(), teamId, userId);
+        PlanEntryDto planEntryDto = TestDataCreator.createPlanEntryDtoA();
+        planEntryDto.setStartTime(LocalDateTime.of(2024, 1, 2, 8, 0));
+        planEntryDto.setEndTime(LocalDateTime.of(2024, 1, 2, 16, 0));
+        planEntryService.createPlanEntry(planEntryDto, teamId, userId);
+
+        List<UserScheduleDto> result = planEntryService.retrieveTeamSchedule(
+                teamId, LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 8, 0, 0));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.getFirst().getPlanEntries())
+                .extracting(PlanEntryDto::getTitle)
+                .containsExactly(
+                        TestDataCreator.createRecurringPlanEntryDtoA().getTitle(),
+                        planEntryDto.getTitle(),
+                        TestDataCreator.createRecurringPlanEntryDtoA().getTitle()
+                );
+    }
+
+    @Test
+    public void testThatRecurringPlanEntryOverlappingPlanEntryIsRejectedUnlessConflictsAreAllowed() {
+        PlanEntryDto planEntryDto = TestDataCreator.createPlanEntryDtoA();
+        planEntryDto.setStartTime(LocalDateTime.of(2024, 3, 13, 15, 0));
+        planEntryDto.setEndTime(LocalDateTime.of(2024, 3, 13, 17, 0));
+        planEntryService.createPlanEntry(planEntryDto, teamId, userId);
+        RecurringPlanEntryDto recurringPlanEntryDto = TestDataCreator.createRecurringPlanEntryDtoA();
+
+        assertThatThrownBy(() -> underTest.createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId))
+                .isInstanceOf(PlanEntryConflictException.class);
+
+        recurringPlanEntryDto.setUntil(LocalDateTime.of(2024, 3, 12, 8, 0));
+        underTest.createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId);
+        recurringPlanEntryDto.setUntil(null);
+        underTest.createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId, true);
+    }
+
+    @Test
+    public void testThatRecurringPlanEntryOverlappingOccurrenceOfAnotherIsRejected() {
+        underTest.createRecurringPlanEntry(TestDataCreator.createRecurringPlanEntryDtoA(), teamId, userId);
+        RecurringPlanEntryDto recurringPlanEntryDto = TestDataCreator.createRecurringPlanEntryDtoA();
+        recurringPlanEntryDto.setStartTime(LocalDateTime.of(2024, 6, 5, 15, 0));
+        recurringPlanEntryDto.setEndTime(LocalDateTime.of(2024, 6, 5, 17, 0));
+        recurringPlanEntryDto.setWeekdays(Set.of(DayOfWeek.FRIDAY, DayOfWeek.WEDNESDAY));
+
+        assertThatThrownBy(() -> underTest.createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId))
+                .isInstanceOf(PlanEntryConflictException.class);
+    }
+
+    @Test
+    public void testThatDailyRecurrenceWithWeekdaysIsRejected() {
+        RecurringPlanEntryDto recurringPlanEntryDto = TestDataCreator.createRecurringPlanEntryDtoA();
+        recurringPlanEntryDto.setFrequency(RecurrenceFrequency.DAILY);
+
+        assertThatThrownBy(() -> underTest.createRecurringPlanEntry(recurringPlanEntryDto, teamId, userId))
+                .isInstanceOf(InvalidRecurrenceException.class);
+    }
+
+    @Test
+    public void testThatDeletedRecurringPlanEntryHasNoOccurrences() {
+        int recurringPlanEntryId = underTest
+                .createRecurringPlanEntry(TestDataCreator.createRecurringPlanEntryDtoA(), teamId, userId)
+                .getId();
+        underTest.deleteRecurringPlanEntryById(recurringPlanEntryId);
+
+        assertThat(planEntryService.retrievePlanEntriesByTeamIdAndUserIdInTimeWindow(
+                teamId, userId, LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0)))
+                .isEmpty();
+    }
+}
@@ -0,0 +1,160 @@
+package com.ispydeer.WorkPlanner.services;
+
+import com.ispydeer.WorkPlanner.entities.team.Team;
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import com.ispydeer.WorkPlanner.entities.user.User;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
+import com.ispydeer.WorkPlanner.repositiories.UserRepository;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of the second-level cache. The cache is only updated when a transaction commits,
+ * so every step runs in its own transaction instead of one transaction per test.
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class SecondLevelCacheIntegrationTests {
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int teamId;
+    private int userAId;
+    private int userBId;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userRegistrationDtoB);
+        teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        userAId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        userBId = userService.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId();
+    }
+
+    @Test
+    public void testThatTeamMembersAreServedFromCache() {
+        inTransaction(() -> teamService.addTeamUsers(teamId, List.of(userAId, userBId)));
+        assertThat(memberIds()).containsExactlyInAnyOrder(userAId, userBId);
+
+        long collectionHits = statistics.getCacheRegionStatistics(Team.MEMBERS_CACHE_REGION)
+                .getHitCount();
+        assertThat(countStatements(this::memberIds)).isEqualTo(0);
+        assertThat(statistics.getCacheRegionStatistics(Team.MEMBERS_CACHE_REGION).getHitCount())
+                .isEqualTo(collectionHits + 1);
+    }
+
+    @Test
+    public void testThatCachedTeamMembersAreInvalidatedWhenUsersAreAdded() {
+        inTransaction(() -> teamService.addTeamUsers(teamId, List.of(userAId)));
+        assertThat(memberIds()).containsExactly(userAId);
+
+        inTransaction(() -> teamService.addTeamUsers(teamId, List.of(userBId)));
+        assertThat(memberIds()).containsExactlyInAnyOrder(userAId, userBId);
+    }
+
+    @Test
+    public void testThatCachedTeamMembersAreInvalidatedWhenUserIsRemoved() {
+        inTransaction(() -> teamService.addTeamUsers(teamId, List.of(userAId, userBId)));
+        inTransaction(() -> teamService.setTeamLeader(teamId, userAId));
+        assertThat(memberIds()).containsExactlyInAnyOrder(userAId, userBId);
+
+        inTransaction(() -> teamService.deleteTeamUser(teamId, userAId));
+        assertThat(memberIds()).containsExactly(userBId);
+        assertThat(inTransaction(() -> teamRepository.findById(teamId).orElseThrow().getTeamLeader())).isNull();
+    }
+
+    @Test
+    public void testThatCachedTeamMembersAndUserAreInvalidatedWhenUserIsDeleted() {
+        inTransaction(() -> teamService.addTeamUsers(teamId, List.of(userAId, userBId)));
+        assertThat(memberIds()).containsExactlyInAnyOrder(userAId, userBId);
+        assertThat(inTransaction(() -> userRepository.findById(userAId))).isPresent();
+
+        inTransaction(() -> userService.deleteUser(userAId));
+        assertThat(memberIds()).containsExactly(userBId);
+        assertThat(inTransaction(() -> userRepository.findById(userAId))).isEmpty();
+    }
+
+    @Test
+    public void testThatUsernameLookupIsServedFromQueryCacheUntilUsersChange() {
+        String username = TestDataCreator.createUserRegistrationDtoA().getUsername();
+        assertThat(inTransaction(() -> userRepository.findByUsername(username))).isPresent();
+        assertThat(countStatements(() -> userRepository.findByUsername(username))).isEqualTo(0);
+
+        inTransaction(() -> userService.deleteUser(userAId));
+        assertThat(inTransaction(() -> userRepository.findByUsername(username))).isEmpty();
+    }
+
+    @Test
+    public void testThatTeamNameLookupIsServedFromQueryCacheUntilTeamsChange() {
+        String name = TestDataCreator.createTeamDtoA().getName();
+        assertThat(inTransaction(() -> teamRepository.findByName(name))).isPresent();
+        assertThat(countStatements(() -> teamRepository.findByName(name))).isEqualTo(0);
+
+        teamService.deleteTeam(teamId);
+        assertThat(inTransaction(() -> teamRepository.findByName(name))).isEmpty();
+    }
+
+    private Set<Integer> memberIds() {
+        return inTransaction(() -> teamRepository.findById(teamId)
+                .map(Team::getSetOfUsers)
+                .orElseThrow()
+                .stream()
+                .map(User::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    private long countStatements(Supplier<?> action) {
+        long before = statistics.getPrepareStatementCount();
+        inTransaction(action);
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private void inTransaction(Runnable action) {
+        transactionTemplate.executeWithoutResult(status -> action.run());
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
@@ -4,7 +4,13 @@ import com.ispydeer.WorkPlanner.controllers.exceptions.TeamNotFoundException;
 import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.utilities.StatementCounter;
 import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import com.ispydeer.WorkPlanner.services.cache.CacheConfiguration;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +37,12 @@ public class TeamServiceIntegrationTests {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     public void testThatTeamIsSuccessfullySavedAndRecalledByName() {
         TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
@@ -72,7 +84,7 @@ public class TeamServiceIntegrationTests {
         underTest.createTeam(teamDtoA);
         underTest.createTeam(teamDtoB);
 
-        List<TeamDto> result = underTest.retrieveAllTeams();
+        List<TeamDto> result = underTest.retrieveAllTeams(null, CursorPage.MAX_PAGE_SIZE).items();
         assertThat(result)
                 .hasSize(2)
                 .extracting(TeamDto::getName)
@@ -82,6 +94,26 @@ public class TeamServiceIntegrationTests {
                 );
     }
 
+    @Test
+    public void testThatTeamsAreRecalledPageByPageInNameOrder() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        TeamDto teamDtoB = TestDataCreator.createTeamDtoB();
+        underTest.createTeam(teamDtoB);
+        underTest.createTeam(teamDtoA);
+
+        CursorPage<TeamDto> firstPage = underTest.retrieveAllTeams(null, 1);
+        CursorPage<TeamDto> secondPage = underTest.retrieveAllTeams(firstPage.nextPageToken(), 1);
+
+        assertThat(firstPage.items())
+                .extracting(TeamDto::getName)
+                .containsExactly(teamDtoA.getName());
+        assertThat(firstPage.nextPageToken()).isNotNull();
+        assertThat(secondPage.items())
+                .extracting(TeamDto::getName)
+                .containsExactly(teamDtoB.getName());
+        assertThat(secondPage.nextPageToken()).isNull();
+    }
+
     @Test
     public void testThatTeamIsSuccessfullyDeleted() {
         TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
@@ -181,4 +213,130 @@ public class TeamServiceIntegrationTests {
                         userRegistrationDtoB.getUsername()
                 );
     }
+
+    @Test
+    public void testThatTeamReadsFetchTeamLeaderInSingleStatement() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        underTest.createTeam(teamDtoA);
+        TeamDto teamDtoB = TestDataCreator.createTeamDtoB();
+        underTest.createTeam(teamDtoB);
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userRegistrationDtoB);
+
+        int teamAId = underTest.retrieveTeamByName(teamDtoA.getName()).getId();
+        int teamBId = underTest.retrieveTeamByName(teamDtoB.getName()).getId();
+        underTest.setTeamLeader(teamAId, userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId());
+        underTest.setTeamLeader(teamBId, userService.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId());
+
+        assertThat(StatementCounter.countStatements(entityManager,
+                () -> underTest.retrieveAllTeams(null, CursorPage.MAX_PAGE_SIZE)))
+                .isEqualTo(1);
+        assertThat(StatementCounter.countStatements(entityManager,
+                () -> underTest.retrieveTeamById(teamAId)))
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testThatRepeatedTeamReadsAreServedFromCache() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        underTest.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+
+        int teamId = underTest.retrieveTeamByName(teamDtoA.getName()).getId();
+        int userId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        underTest.setTeamLeader(teamId, userId);
+        underTest.retrieveAllTeams(null, CursorPage.MAX_PAGE_SIZE);
+        underTest.retrieveTeamById(teamId);
+        underTest.retrieveTeamUsers(teamId);
+
+        assertThat(StatementCounter.countStatements(entityManager, () -> {
+            underTest.retrieveAllTeams(null, CursorPage.MAX_PAGE_SIZE);
+            underTest.retrieveTeamById(teamId);
+            underTest.retrieveTeamUsers(teamId);
+        })).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatCachedTeamReadsReflectChanges() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        underTest.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userRegistrationDtoB);
+
+        int teamId = underTest.retrieveTeamByName(teamDtoA.getName()).getId();
+        int userAId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        int userBId = userService.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId();
+        assertThat(underTest.retrieveTeamById(teamId).getTeamLeader()).isNull();
+        assertThat(underTest.retrieveTeamUsers(teamId)).isEmpty();
+        assertThat(underTest.retrieveAllTeams(null, CursorPage.MAX_PAGE_SIZE).items()).hasSize(1);
+
+        underTest.setTeamLeader(teamId, userAId);
+        assertThat(underTest.retrieveTeamById(teamId).getTeamLeader().getId()).isEqualTo(userAId);
+        assertThat(underTest.retrieveTeamUsers(teamId)).extracting(UserDto::getId).containsExactly(userAId);
+
+        underTest.addTeamUsers(teamId, List.of(userBId));
+        assertThat(underTest.retrieveTeamUsers(teamId)).extracting(UserDto::getId)
+                .containsExactlyInAnyOrder(userAId, userBId);
+
+        underTest.deleteTeamUser(teamId, userAId);
+        assertThat(underTest.retrieveTeamById(teamId).getTeamLeader()).isNull();
+        assertThat(underTest.retrieveTeamUsers(teamId)).extracting(UserDto::getId).containsExactly(userBId);
+
+        underTest.createTeam(TestDataCreator.createTeamDtoB());
+        assertThat(underTest.retrieveAllTeams(null, CursorPage.MAX_PAGE_SIZE).items()).hasSize(2);
+
+        underTest.deleteTeam(teamId);
+        assertThatThrownBy(() -> underTest.retrieveTeamById(teamId)).isInstanceOf(TeamNotFoundException.class);
+        assertThatThrownBy(() -> underTest.retrieveTeamUsers(teamId)).isInstanceOf(TeamNotFoundException.class);
+        assertThat(underTest.retrieveAllTeams(null, CursorPage.MAX_PAGE_SIZE).items()).hasSize(1);
+    }
+
+    @Test
+    public void testThatCacheHitsAndMissesAreRecorded() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        underTest.createTeam(teamDtoA);
+        int teamId = underTest.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        underTest.retrieveTeamById(teamId);
+        underTest.retrieveTeamById(teamId);
+        underTest.retrieveTeamById(teamId);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfiguration.TEAMS).tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfiguration.TEAMS).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatTeamUsersArePagedInFirstNameOrderWithoutManagedEntities() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        underTest.createTeam(teamDtoA);
+        int teamId = underTest.retrieveTeamByName(teamDtoA.getName()).getId();
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        userService.createUser(userRegistrationDtoB);
+        int userAId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        int userBId = userService.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId();
+        underTest.addTeamUsers(teamId, List.of(userBId, userAId));
+        entityManager.flush();
+        entityManager.clear();
+
+        CursorPage<UserDto> firstPage = underTest.retrieveTeamUsers(teamId, null, 1);
+        assertThat(firstPage.items()).extracting(UserDto::getId).containsExactly(userAId);
+        assertThat(firstPage.nextPageToken()).isNotNull();
+        CursorPage<UserDto> secondPage = underTest.retrieveTeamUsers(teamId, firstPage.nextPageToken(), 1);
+        assertThat(secondPage.items()).extracting(UserDto::getId).containsExactly(userBId);
+        assertThat(secondPage.nextPageToken()).isNull();
+        assertThat(underTest.retrieveTeamUsers(teamId)).extracting(UserDto::getId).containsExactly(userAId, userBId);
+
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isEqualTo(0);
+        assertThatThrownBy(() -> underTest.retrieveTeamUsers(9999, null, 1))
+                .isInstanceOf(TeamNotFoundException.class);
+    }
 }
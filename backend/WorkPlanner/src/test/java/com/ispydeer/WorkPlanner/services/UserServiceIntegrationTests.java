@@ -1,10 +1,14 @@
 package com.ispydeer.WorkPlanner.services;
 
 import com.ispydeer.WorkPlanner.controllers.exceptions.UserNotFoundException;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
 import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.utilities.StatementCounter;
 import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import com.ispydeer.WorkPlanner.services.pagination.CursorPage;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +32,12 @@ public class UserServiceIntegrationTests {
     private UserService underTest;
     @Autowired
     private TeamService teamService;
+    @Autowired
+    private PlanEntryService planEntryService;
+    @Autowired
+    private RecurringPlanEntryService recurringPlanEntryService;
+    @Autowired
+    private EntityManager entityManager;
 
     @Test
     public void testThatUserIsSuccessfullySavedAndRecalledByUsername() {
@@ -70,7 +80,7 @@ public class UserServiceIntegrationTests {
         underTest.createUser(userRegistrationDtoA);
         underTest.createUser(userRegistrationDtoB);
 
-        List<UserDto> result = underTest.retrieveAllUsers();
+        List<UserDto> result = underTest.retrieveAllUsers(null, CursorPage.MAX_PAGE_SIZE).items();
         assertThat(result)
                 .hasSize(2)
                 .extracting(UserDto::getUsername)
@@ -143,16 +153,109 @@ public class UserServiceIntegrationTests {
                         teamDtoB.getName()
                 );
     }
-}
-
-
-
-
 
+    @Test
+    public void testThatDeletedUserIsEvictedFromCachedReads() {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        underTest.createUser(userRegistrationDtoA);
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
 
+        int id = underTest.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        int teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        teamService.setTeamLeader(teamId, id);
+        assertThat(underTest.retrieveUserById(id).getId()).isEqualTo(id);
+        assertThat(underTest.retrieveAllUsers(null, CursorPage.MAX_PAGE_SIZE).items()).hasSize(1);
+        assertThat(teamService.retrieveTeamById(teamId).getTeamLeader()).isNotNull();
+        assertThat(teamService.retrieveTeamUsers(teamId)).hasSize(1);
 
+        underTest.createUser(TestDataCreator.createUserRegistrationDtoB());
+        assertThat(underTest.retrieveAllUsers(null, CursorPage.MAX_PAGE_SIZE).items()).hasSize(2);
 
+        entityManager.flush();
+        entityManager.clear();
+        underTest.deleteUser(id);
+        assertThatThrownBy(() -> underTest.retrieveUserById(id)).isInstanceOf(UserNotFoundException.class);
+        assertThat(underTest.retrieveAllUsers(null, CursorPage.MAX_PAGE_SIZE).items()).hasSize(1);
+        assertThat(teamService.retrieveTeamById(teamId).getTeamLeader()).isNull();
+        assertThat(teamService.retrieveTeamUsers(teamId)).isEmpty();
+    }
 
+    @Test
+    public void testThatUserDeletionIssuesConstantNumberOfStatements() {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        underTest.createUser(userRegistrationDtoA);
+        UserRegistrationDto userRegistrationDtoB = TestDataCreator.createUserRegistrationDtoB();
+        underTest.createUser(userRegistrationDtoB);
+        int userAId = underTest.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        int userBId = underTest.retrieveUserByUsername(userRegistrationDtoB.getUsername()).getId();
 
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        TeamDto teamDtoB = TestDataCreator.createTeamDtoB();
+        teamService.createTeam(teamDtoB);
+        int teamAId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        int teamBId = teamService.retrieveTeamByName(teamDtoB.getName()).getId();
+
+        teamService.addTeamUsers(teamAId, List.of(userAId, userBId));
+        teamService.addTeamUsers(teamBId, List.of(userAId));
+        teamService.setTeamLeader(teamAId, userAId);
+        teamService.setTeamLeader(teamBId, userAId);
+        createPlanEntries(teamAId, userAId, 0, 5);
+        createPlanEntries(teamBId, userAId, 5, 5);
+        createPlanEntries(teamAId, userBId, 0, 1);
+        recurringPlanEntryService.createRecurringPlanEntry(
+                TestDataCreator.createRecurringPlanEntryDtoA(), teamBId, userAId);
+
+        // username and team lookups, then one bulk statement each for the team leaders, plan entries,
+        // recurring plan entries, rollups, memberships and the user
+        long statements = StatementCounter.countStatements(entityManager, () -> underTest.deleteUser(userAId));
+        assertThat(statements).isEqualTo(8);
+
+        assertThatThrownBy(() -> underTest.retrieveUserById(userAId)).isInstanceOf(UserNotFoundException.class);
+        assertThat(teamService.retrieveTeamById(teamAId).getTeamLeader()).isNull();
+        assertThat(teamService.retrieveTeamById(teamBId).getTeamLeader()).isNull();
+        assertThat(teamService.retrieveTeamUsers(teamAId)).extracting(UserDto::getId).containsExactly(userBId);
+        assertThat(teamService.retrieveTeamUsers(teamBId)).isEmpty();
+        assertThat(planEntryService.retrieveAllPlanEntries(null, CursorPage.MAX_PAGE_SIZE).items()).hasSize(1);
+
+        long statementsWithoutTeams = StatementCounter.countStatements(entityManager,
+                () -> underTest.deleteUser(userBId));
+        assertThat(statementsWithoutTeams).isEqualTo(statements);
+    }
 
+    private void createPlanEntries(int teamId, int userId, int firstDay, int count) {
+        for (int day = firstDay; day < firstDay + count; day++) {
+            PlanEntryDto planEntryDto = TestDataCreator.createPlanEntryDtoA();
+            planEntryDto.setStartTime(planEntryDto.getStartTime().plusDays(day));
+            planEntryDto.setEndTime(planEntryDto.getEndTime().plusDays(day));
+            planEntryService.createPlanEntry(planEntryDto, teamId, userId);
+        }
+    }
 
+    @Test
+    public void testThatUserTeamsArePagedInNameOrderWithTeamLeaders() {
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        underTest.createUser(userRegistrationDtoA);
+        int userId = underTest.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        TeamDto teamDtoB = TestDataCreator.createTeamDtoB();
+        teamService.createTeam(teamDtoB);
+        int teamAId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        int teamBId = teamService.retrieveTeamByName(teamDtoB.getName()).getId();
+        underTest.addUserTeam(userId, teamBId);
+        underTest.addUserTeam(userId, teamAId);
+        teamService.setTeamLeader(teamBId, userId);
+
+        CursorPage<TeamDto> firstPage = underTest.retrieveUserTeams(userId, null, 1);
+        assertThat(firstPage.items()).extracting(TeamDto::getName).containsExactly(teamDtoA.getName());
+        assertThat(firstPage.items().getFirst().getTeamLeader()).isNull();
+        CursorPage<TeamDto> secondPage = underTest.retrieveUserTeams(userId, firstPage.nextPageToken(), 1);
+        assertThat(secondPage.items()).extracting(TeamDto::getName).containsExactly(teamDtoB.getName());
+        assertThat(secondPage.items().getFirst().getTeamLeader().getId()).isEqualTo(userId);
+        assertThat(secondPage.nextPageToken()).isNull();
+
+        assertThatThrownBy(() -> underTest.retrieveUserTeams(9999)).isInstanceOf(UserNotFoundException.class);
+    }
+}
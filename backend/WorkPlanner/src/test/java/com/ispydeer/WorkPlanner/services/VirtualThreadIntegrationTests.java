@@ -0,0 +1,179 @@
+package com.ispydeer.WorkPlanner.services;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.PlanEntryConflictException;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of request handling on virtual threads. Virtual threads waiting while they hold a monitor pin their
+ * carrier thread, so these tests record the {@code jdk.VirtualThreadPinned} JFR events of concurrent work
+ * and expect none. The tests are not transactional, as every virtual thread runs its own transaction.
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class VirtualThreadIntegrationTests {
+
+    private static final String VIRTUAL_THREAD_PINNED = "jdk.VirtualThreadPinned";
+    private static final int THREADS = 16;
+
+    @Autowired
+    private PlanEntryService planEntryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private WeeklyHoursRollupService weeklyHoursRollupService;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    private int teamId;
+    private int userId;
+
+    @BeforeEach
+    public void setUp() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDtoA = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDtoA);
+        teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        userId = userService.retrieveUserByUsername(userRegistrationDtoA.getUsername()).getId();
+    }
+
+    @Test
+    public void testThatWaitingForUserLockDoesNotPinVirtualThreads() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        List<RecordedEvent> pinnedEvents = recordPinnedEvents(() -> runOnVirtualThreads(thread -> {
+            PlanEntryDto planEntryDto = TestDataCreator.createPlanEntryDtoA();
+            planEntryDto.setStartTime(start.plusHours(thread));
+            planEntryDto.setEndTime(start.plusHours(thread + 1));
+            planEntryService.createPlanEntry(planEntryDto, teamId, userId);
+        }));
+
+        assertThat(pinnedEvents).isEmpty();
+        assertThat(planEntryService.retrievePlanEntryConflicts(userId, start, start.plusHours(THREADS)))
+                .hasSize(THREADS);
+    }
+
+    @Test
+    public void testThatConcurrentPlanEntriesOfUserInNewWeekShareOneRollup() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 0, 0);
+
+        runOnVirtualThreads(thread -> {
+            PlanEntryDto planEntryDto = TestDataCreator.createPlanEntryDtoA();
+            planEntryDto.setStartTime(start.plusHours(thread));
+            planEntryDto.setEndTime(start.plusHours(thread).plusMinutes(30));
+            planEntryService.createPlanEntry(planEntryDto, teamId, userId);
+        });
+
+        assertThat(weeklyHoursRollupService.retrieveWeeklyHours(teamId, userId, start.toLocalDate(),
+                start.toLocalDate().plusWeeks(1)))
+                .singleElement()
+                .satisfies(weeklyHours -> {
+                    assertThat(weeklyHours.getEntryCount()).isEqualTo(THREADS);
+                    assertThat(weeklyHours.getTotalMinutes()).isEqualTo(THREADS * 30L);
+                });
+    }
+
+    @Test
+    public void testThatConcurrentConflictingPlanEntriesOnVirtualThreadsAreCreatedOnceWithoutPinning()
+            throws Exception {
+        PlanEntryDto planEntryDtoA = TestDataCreator.createPlanEntryDtoA();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        List<RecordedEvent> pinnedEvents = recordPinnedEvents(() -> runOnVirtualThreads(thread -> {
+            try {
+                planEntryService.createPlanEntry(planEntryDtoA, teamId, userId);
+                created.incrementAndGet();
+            } catch (PlanEntryConflictException e) {
+                conflicts.incrementAndGet();
+            }
+        }));
+
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(conflicts.get()).isEqualTo(THREADS - 1);
+        assertThat(planEntryService.retrievePlanEntriesByTeamIdAndUserId(teamId, userId)).hasSize(1);
+        assertThat(pinnedEvents).isEmpty();
+    }
+
+    @Test
+    public void testThatApplicationTaskExecutorRunsOnVirtualThreads() throws Exception {
+        assertThat(applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+    }
+
+    /**
+     * Runs an action on a virtual thread per thread number and waits for all of them.
+     *
+     * @param action the action, given the thread number
+     */
+    private static void runOnVirtualThreads(IntConsumer action) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int number = thread;
+                futures.add(executor.submit(() -> action.accept(number)));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * Records the pinned virtual thread events of any duration emitted while running an action.
+     *
+     * @param action the action
+     * @return the recorded events
+     */
+    private static List<RecordedEvent> recordPinnedEvents(ThrowingRunnable action) throws Exception {
+        List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        try (RecordingStream recordingStream = new RecordingStream()) {
+            recordingStream.enable(VIRTUAL_THREAD_PINNED).withThreshold(Duration.ZERO).withStackTrace();
+            recordingStream.onEvent(VIRTUAL_THREAD_PINNED, events::add);
+            recordingStream.startAsync();
+            action.run();
+            recordingStream.stop();
+        }
+        return events;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
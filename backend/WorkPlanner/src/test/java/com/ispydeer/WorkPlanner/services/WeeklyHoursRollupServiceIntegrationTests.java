@@ -0,0 +1,175 @@
+package com.ispydeer.WorkPlanner.services;
+
+import com.ispydeer.WorkPlanner.controllers.exceptions.InvalidTimeWindowException;
+import com.ispydeer.WorkPlanner.controllers.exceptions.TeamNotFoundException;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryBulkItemDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.WeeklyHoursDto;
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
+import com.ispydeer.WorkPlanner.repositiories.WeeklyHoursRollupRepository;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Transactional
+public class WeeklyHoursRollupServiceIntegrationTests {
+
+    private static final LocalDate WEEK = LocalDate.of(2024, 10, 7);
+
+    @Autowired
+    private WeeklyHoursRollupService underTest;
+
+    @Autowired
+    private WeeklyHoursRollupRepository weeklyHoursRollupRepository;
+
+    @Autowired
+    private PlanEntryService planEntryService;
+
+    @Autowired
+    private RecurringPlanEntryService recurringPlanEntryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TeamService teamService;
+
+    private int teamId;
+
+    private int userId;
+
+    @BeforeEach
+    public void createTeamAndUser() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        UserRegistrationDto userRegistrationDto = TestDataCreator.createUserRegistrationDtoA();
+        userService.createUser(userRegistrationDto);
+
+        teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+        userId = userService.retrieveUserByUsername(userRegistrationDto.getUsername()).getId();
+    }
+
+    @Test
+    public void testThatPlanEntriesAreRolledUpPerWeek() {
+        createWorkdayAndNightShift();
+
+        List<WeeklyHoursDto> result = underTest.retrieveWeeklyHours(teamId, null, WEEK, WEEK.plusWeeks(2));
+
+        assertThat(result).containsExactly(
+                new WeeklyHoursDto(userId, WEEK, 720, 2),
+                new WeeklyHoursDto(userId, WEEK.plusWeeks(1), 240, 0)
+        );
+    }
+
+    @Test
+    public void testThatDeletedPlanEntryIsSubtractedFromRollup() {
+        createWorkdayAndNightShift();
+        int workdayId = planEntryService.retrievePlanEntriesByTeamIdAndUserId(teamId, userId).stream()
+                .filter(planEntry -> planEntry.getStartTime().equals(WEEK.atTime(8, 0)))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+
+        planEntryService.deletePlanEntryById(workdayId);
+
+        assertThat(underTest.retrieveWeeklyHours(teamId, userId, WEEK, WEEK.plusDays(1)))
+                .containsExactly(new WeeklyHoursDto(userId, WEEK, 240, 1));
+    }
+
+    @Test
+    public void testThatBulkCreatedPlanEntriesAreRolledUp() {
+        List<PlanEntryBulkItemDto> items = List.of(
+                new PlanEntryBulkItemDto(teamId, userId, planEntryDto(WEEK.atTime(8, 0), WEEK.atTime(12, 0))),
+                new PlanEntryBulkItemDto(teamId, userId, planEntryDto(WEEK.atTime(13, 0), WEEK.atTime(15, 0))),
+                new PlanEntryBulkItemDto(teamId, userId, planEntryDto(WEEK.plusWeeks(1).atTime(8, 0), WEEK.plusWeeks(1).atTime(9, 0)))
+        );
+
+        planEntryService.createPlanEntries(items, false);
+
+        assertThat(underTest.retrieveWeeklyHours(teamId, null, WEEK, WEEK.plusWeeks(2))).containsExactly(
+                new WeeklyHoursDto(userId, WEEK, 360, 2),
+                new WeeklyHoursDto(userId, WEEK.plusWeeks(1), 60, 1)
+        );
+    }
+
+    @Test
+    public void testThatRecurringOccurrencesAreAddedToReport() {
+        planEntryService.createPlanEntry(planEntryDto(WEEK.atTime(17, 0), WEEK.atTime(18, 0)), teamId, userId);
+        recurringPlanEntryService.createRecurringPlanEntry(TestDataCreator.createRecurringPlanEntryDtoA(), teamId, userId);
+
+        assertThat(underTest.retrieveWeeklyHours(teamId, null, WEEK, WEEK.plusWeeks(1)))
+                .containsExactly(new WeeklyHoursDto(userId, WEEK, 1020, 3));
+    }
+
+    @Test
+    public void testThatRollupsAreRebuiltWhenEmpty() {
+        createWorkdayAndNightShift();
+        List<WeeklyHoursDto> maintained = underTest.retrieveWeeklyHours(teamId, null, WEEK, WEEK.plusWeeks(2));
+
+        weeklyHoursRollupRepository.deleteAll();
+        underTest.rebuildIfEmpty();
+
+        assertThat(underTest.retrieveWeeklyHours(teamId, null, WEEK, WEEK.plusWeeks(2)))
+                .isEqualTo(maintained);
+    }
+
+    @Test
+    public void testThatRollupsAreDeletedWithTeam() {
+        createWorkdayAndNightShift();
+        entityManager.flush();
+        entityManager.clear();
+
+        teamService.deleteTeam(teamId);
+
+        assertThat(weeklyHoursRollupRepository.count()).isZero();
+    }
+
+    @Test
+    public void testThatInvalidReportRequestIsRejected() {
+        final int ID_OF_NON_EXISTING_TEAM = 9999;
+
+        assertThatThrownBy(() -> underTest.retrieveWeeklyHours(teamId, null, WEEK, WEEK))
+                .isInstanceOf(InvalidTimeWindowException.class);
+        assertThatThrownBy(() -> underTest.retrieveWeeklyHours(teamId, null, WEEK, WEEK.plusYears(2)))
+                .isInstanceOf(InvalidTimeWindowException.class);
+        assertThatThrownBy(() -> underTest.retrieveWeeklyHours(ID_OF_NON_EXISTING_TEAM, null, WEEK, WEEK.plusWeeks(1)))
+                .isInstanceOf(TeamNotFoundException.class);
+    }
+
+    /**
+     * Creates a plan entry on Monday from 8:00 to 16:00 and one from Sunday 20:00 to the next Monday 4:00.
+     */
+    private void createWorkdayAndNightShift() {
+        planEntryService.createPlanEntry(planEntryDto(WEEK.atTime(8, 0), WEEK.atTime(16, 0)), teamId, userId);
+        planEntryService.createPlanEntry(
+                planEntryDto(WEEK.plusDays(6).atTime(20, 0), WEEK.plusWeeks(1).atTime(4, 0)), teamId, userId);
+    }
+
+    private static PlanEntryDto planEntryDto(LocalDateTime startTime, LocalDateTime endTime) {
+        PlanEntryDto planEntryDto = TestDataCreator.createPlanEntryDtoA();
+        planEntryDto.setStartTime(startTime);
+        planEntryDto.setEndTime(endTime);
+        return planEntryDto;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ispydeer.WorkPlanner.services.availability;
+
+import com.ispydeer.WorkPlanner.entities.team.dto.AvailabilitySlotDto;
+import com.ispydeer.WorkPlanner.repositiories.BusyInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FreeSlotFinderTests {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 10, 7, 0, 0);
+
+    @Test
+    public void testThatSlotsOfPartOfTheMembersStartWhenTheLastOfThemBecameFree() {
+        List<BusyInterval> busyIntervals = List.of(
+                busy(1, 1, 3),
+                busy(2, 2, 5),
+                busy(3, 4, 6)
+        );
+
+        List<AvailabilitySlotDto> slots = FreeSlotFinder.findFreeSlots(
+                List.of(1, 2, 3), busyIntervals, FROM, hour(10), Duration.ofHours(1), 2);
+
+        assertThat(slots).containsExactly(
+                new AvailabilitySlotDto(hour(0), hour(1), List.of(1, 2, 3)),
+                new AvailabilitySlotDto(hour(0), hour(2), List.of(2, 3)),
+                new AvailabilitySlotDto(hour(3), hour(4), List.of(1, 3)),
+                new AvailabilitySlotDto(hour(5), hour(10), List.of(1, 2))
+        );
+    }
+
+    @Test
+    public void testThatSlotsShorterThanDurationAreOmitted() {
+        List<AvailabilitySlotDto> slots = FreeSlotFinder.findFreeSlots(
+                List.of(1, 2), List.of(busy(1, 1, 9), busy(2, 0, 2)), FROM, hour(10), Duration.ofHours(2), 2);
+
+        assertThat(slots).isEmpty();
+    }
+
+    private static BusyInterval busy(int userId, int startHour, int endHour) {
+        return new BusyInterval(userId, hour(startHour), hour(endHour));
+    }
+
+    private static LocalDateTime hour(int hour) {
+        return FROM.plusHours(hour);
+    }
+}
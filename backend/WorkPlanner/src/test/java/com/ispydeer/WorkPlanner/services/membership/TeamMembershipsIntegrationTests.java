@@ -0,0 +1,124 @@
+package com.ispydeer.WorkPlanner.services.membership;
+
+import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
+import com.ispydeer.WorkPlanner.entities.user.User;
+import com.ispydeer.WorkPlanner.repositiories.TeamRepository;
+import com.ispydeer.WorkPlanner.repositiories.UserRepository;
+import com.ispydeer.WorkPlanner.services.TeamService;
+import com.ispydeer.WorkPlanner.utilities.TestDataCreator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of set-based team membership changes. The tests are not transactional,
+ * as concurrent changes run in their own transactions.
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TeamMembershipsIntegrationTests {
+
+    private static final int USERS = 2 * TeamMemberships.BATCH_SIZE + 500;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private TeamMemberships underTest;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int teamId;
+    private List<Integer> userIds;
+
+    @BeforeEach
+    public void setUp() {
+        TeamDto teamDtoA = TestDataCreator.createTeamDtoA();
+        teamService.createTeam(teamDtoA);
+        teamId = teamService.retrieveTeamByName(teamDtoA.getName()).getId();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = TestDataCreator.createUserA();
+            user.setUsername("member" + i);
+            users.add(user);
+        }
+        userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @Test
+    public void testThatConcurrentAdditionsToSameTeamAreAllApplied() throws Exception {
+        int sliceSize = 200;
+        List<Future<Boolean>> additions = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int thread = 0; thread < THREADS; thread++) {
+                List<Integer> slice = userIds.subList(thread * sliceSize / 2, thread * sliceSize / 2 + sliceSize);
+                additions.add(executor.submit(() -> underTest.addUsers(teamId, slice)));
+            }
+            for (Future<Boolean> addition : additions) {
+                assertThat(addition.get()).isTrue();
+            }
+        }
+
+        int expectedMembers = (THREADS - 1) * sliceSize / 2 + sliceSize;
+        assertThat(teamRepository.findMemberIdsByTeamId(teamId))
+                .containsExactlyElementsOf(userIds.subList(0, expectedMembers));
+    }
+
+    @Test
+    public void testThatLargeAdditionIsBatchedAndRepeatable() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        assertThat(underTest.addUsers(teamId, userIds)).isTrue();
+
+        // the team lock and one insert per batch
+        assertThat(statistics.getPrepareStatementCount() - before).isEqualTo(4);
+        assertThat(teamRepository.findMemberIdsByTeamId(teamId)).containsExactlyElementsOf(userIds);
+
+        List<Integer> repeatedAndUnknownIds = new ArrayList<>(userIds.subList(0, 10));
+        repeatedAndUnknownIds.add(-1);
+        assertThat(underTest.addUsers(teamId, repeatedAndUnknownIds)).isTrue();
+        assertThat(teamRepository.findMemberIdsByTeamId(teamId)).hasSize(USERS);
+    }
+
+    @Test
+    public void testThatLargeRemovalDeletesMembershipsAndTeamLeader() {
+        underTest.addUsers(teamId, userIds);
+        int leaderId = userIds.getLast();
+        teamService.setTeamLeader(teamId, leaderId);
+        assertThat(teamService.retrieveTeamById(teamId).getTeamLeader().getId()).isEqualTo(leaderId);
+
+        List<Integer> removedIds = IntStream.range(1, USERS).mapToObj(userIds::get).toList();
+        assertThat(underTest.removeUsers(teamId, removedIds)).isTrue();
+        assertThat(underTest.removeUsers(teamId, removedIds)).isTrue();
+
+        assertThat(teamRepository.findMemberIdsByTeamId(teamId)).containsExactly(userIds.getFirst());
+        assertThat(teamService.retrieveTeamById(teamId).getTeamLeader()).isNull();
+        assertThat(underTest.removeUsers(-1, userIds)).isFalse();
+    }
+}
@@ -0,0 +1,85 @@
+package com.ispydeer.WorkPlanner.services.statements;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StatementStatisticsFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    public void setUp() throws NoSuchMethodException {
+        request = new MockHttpServletRequest("GET", "/budgeted");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/budgeted");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new BudgetedController(), BudgetedController.class.getMethod("budgeted")));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void testThatStatementsOfRequestAreReturnedInHeadersAndRecorded() throws Exception {
+        new StatementStatisticsFilter(meterRegistry, true, true).doFilter(request, response, executing(2));
+
+        assertThat(response.getHeader(StatementStatisticsFilter.STATEMENTS_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(StatementStatisticsFilter.TIME_HEADER)).isEqualTo("10");
+        assertThat(response.getHeader(StatementStatisticsFilter.SLOW_STATEMENTS_HEADER)).isEqualTo("0");
+        assertThat(response.getContentAsString()).isEqualTo("body");
+        assertThat(meterRegistry.get("workplanner.http.sql.statements").tag("uri", "/budgeted").summary().totalAmount())
+                .isEqualTo(2);
+        assertThat(StatementStatistics.current()).isNull();
+    }
+
+    @Test
+    public void testThatHeadersAreOmittedWhenDisabled() throws Exception {
+        new StatementStatisticsFilter(meterRegistry, false, true).doFilter(request, response, executing(1));
+
+        assertThat(response.getHeader(StatementStatisticsFilter.STATEMENTS_HEADER)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("body");
+    }
+
+    @Test
+    public void testThatRequestExceedingBudgetFailsWhenBudgetsAreEnforced() {
+        StatementStatisticsFilter underTest = new StatementStatisticsFilter(meterRegistry, false, true);
+
+        assertThatThrownBy(() -> underTest.doFilter(request, response, executing(3)))
+                .isInstanceOf(StatementBudgetExceededException.class)
+                .hasMessageContaining("executed 3 statements, exceeding its budget of 2");
+    }
+
+    @Test
+    public void testThatRequestExceedingBudgetIsCountedWhenBudgetsAreNotEnforced() throws Exception {
+        new StatementStatisticsFilter(meterRegistry, false, false).doFilter(request, response, executing(3));
+
+        assertThat(meterRegistry.get("workplanner.http.sql.budget.exceeded").counter().count()).isEqualTo(1);
+    }
+
+    /**
+     * Returns a filter chain executing the given number of statements of 5 ms each and writing a body.
+     */
+    private static FilterChain executing(int statements) {
+        return (request, response) -> {
+            for (int statement = 0; statement < statements; statement++) {
+                StatementStatistics.current().record(5, false);
+            }
+            response.getWriter().write("body");
+        };
+    }
+
+    public static class BudgetedController {
+
+        @StatementBudget(2)
+        public void budgeted() {
+        }
+    }
+}
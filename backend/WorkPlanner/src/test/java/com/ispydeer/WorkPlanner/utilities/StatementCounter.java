@@ -0,0 +1,36 @@
+package com.ispydeer.WorkPlanner.utilities;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * A utility class that counts the SQL statements issued by a piece of code,
+ * based on Hibernate statistics.
+ */
+public final class StatementCounter {
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Counts the SQL statements prepared while running the given action.
+     * Pending changes are flushed and the persistence context is cleared first,
+     * so that entities created during test setup are not served from the first-level cache.
+     *
+     * @param entityManager the entity manager of the running test
+     * @param action        the action to measure
+     * @return the number of SQL statements prepared by the action
+     */
+    public static long countStatements(EntityManager entityManager, Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
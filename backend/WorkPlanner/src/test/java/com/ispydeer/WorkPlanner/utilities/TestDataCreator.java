@@ -2,7 +2,9 @@ package com.ispydeer.WorkPlanner.utilities;
 
 import com.ispydeer.WorkPlanner.entities.planEntry.PlanEntry;
 import com.ispydeer.WorkPlanner.entities.planEntry.dto.PlanEntryDto;
+import com.ispydeer.WorkPlanner.entities.planEntry.dto.RecurringPlanEntryDto;
 import com.ispydeer.WorkPlanner.entities.planEntry.planEntryColor.PlanEntryColor;
+import com.ispydeer.WorkPlanner.entities.planEntry.recurrenceFrequency.RecurrenceFrequency;
 import com.ispydeer.WorkPlanner.entities.team.Team;
 import com.ispydeer.WorkPlanner.entities.team.dto.TeamDto;
 import com.ispydeer.WorkPlanner.entities.user.User;
@@ -10,7 +12,10 @@ import com.ispydeer.WorkPlanner.entities.user.dto.UserDto;
 import com.ispydeer.WorkPlanner.entities.user.dto.UserRegistrationDto;
 import com.ispydeer.WorkPlanner.entities.user.role.Role;
 
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
 
 /**
  * A utility class that provides static methods to create test data instances
@@ -18,6 +23,11 @@ import java.time.LocalDateTime;
  */
 public final class TestDataCreator {
 
+    /**
+     * The boundary between plan entries B and A, shared so that they are adjacent without overlapping.
+     */
+    private static final LocalDateTime PLAN_ENTRY_BOUNDARY = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
     private TestDataCreator() {
     }
 
@@ -121,8 +131,8 @@ public final class TestDataCreator {
     public static PlanEntry createPlanEntryA() {
         PlanEntry planEntry = new PlanEntry();
         planEntry.setTitle("PlanEntryA");
-        planEntry.setStartTime(LocalDateTime.now());
-        planEntry.setEndTime(LocalDateTime.now().plusHours(8));
+        planEntry.setStartTime(PLAN_ENTRY_BOUNDARY);
+        planEntry.setEndTime(PLAN_ENTRY_BOUNDARY.plusHours(8));
         planEntry.setPlanEntryColor(PlanEntryColor.BLUE);
         return planEntry;
     }
@@ -130,8 +140,8 @@ public final class TestDataCreator {
     public static PlanEntry createPlanEntryB() {
         PlanEntry planEntry = new PlanEntry();
         planEntry.setTitle("PlanEntryB");
-        planEntry.setStartTime(LocalDateTime.now().minusHours(8));
-        planEntry.setEndTime(LocalDateTime.now());
+        planEntry.setStartTime(PLAN_ENTRY_BOUNDARY.minusHours(8));
+        planEntry.setEndTime(PLAN_ENTRY_BOUNDARY);
         planEntry.setPlanEntryColor(PlanEntryColor.GREEN);
         return planEntry;
     }
@@ -139,8 +149,8 @@ public final class TestDataCreator {
     public static PlanEntryDto createPlanEntryDtoA() {
         PlanEntryDto planEntryDto = new PlanEntryDto();
         planEntryDto.setTitle("PlanEntryDtoA");
-        planEntryDto.setStartTime(LocalDateTime.now());
-        planEntryDto.setEndTime(LocalDateTime.now().plusHours(8));
+        planEntryDto.setStartTime(PLAN_ENTRY_BOUNDARY);
+        planEntryDto.setEndTime(PLAN_ENTRY_BOUNDARY.plusHours(8));
         planEntryDto.setPlanEntryColor(PlanEntryColor.BLUE);
         return planEntryDto;
     }
@@ -148,9 +158,24 @@ public final class TestDataCreator {
     public static PlanEntryDto createPlanEntryDtoB() {
         PlanEntryDto planEntryDto = new PlanEntryDto();
         planEntryDto.setTitle("PlanEntryDtoB");
-        planEntryDto.setStartTime(LocalDateTime.now().minusHours(8));
-        planEntryDto.setEndTime(LocalDateTime.now());
+        planEntryDto.setStartTime(PLAN_ENTRY_BOUNDARY.minusHours(8));
+        planEntryDto.setEndTime(PLAN_ENTRY_BOUNDARY);
         planEntryDto.setPlanEntryColor(PlanEntryColor.GREEN);
         return planEntryDto;
     }
+
+    /**
+     * Creates a weekly recurring plan entry on Mondays and Wednesdays from 8:00 to 16:00,
+     * starting on Monday, 1 January 2024, without end.
+     */
+    public static RecurringPlanEntryDto createRecurringPlanEntryDtoA() {
+        RecurringPlanEntryDto recurringPlanEntryDto = new RecurringPlanEntryDto();
+        recurringPlanEntryDto.setTitle("RecurringDtoA");
+        recurringPlanEntryDto.setStartTime(LocalDateTime.of(2024, 1, 1, 8, 0));
+        recurringPlanEntryDto.setEndTime(LocalDateTime.of(2024, 1, 1, 16, 0));
+        recurringPlanEntryDto.setPlanEntryColor(PlanEntryColor.RED);
+        recurringPlanEntryDto.setFrequency(RecurrenceFrequency.WEEKLY);
+        recurringPlanEntryDto.setWeekdays(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY));
+        return recurringPlanEntryDto;
+    }
 }
@@ -4,3 +4,21 @@ const apiUrl = process.env.REACT_APP_BASE_URL;
 
 // Creating a reusable Axios instance with a Backend API base URL
 export const apiClient = axios.create({ baseURL: apiUrl });
+
+/**
+ * Retrieves every page of a paginated list endpoint by following
+ * the next page token returned in the response headers.
+ *
+ * @param {string} url - The URL of the list endpoint.
+ * @returns {Promise} A promise that resolves to an object whose data holds all listed items.
+ */
+export const retrieveAllPages = async (url) => {
+	const items = [];
+	let pageToken;
+	do {
+		const response = await apiClient.get(url, { params: { pageToken } });
+		items.push(...response.data);
+		pageToken = response.headers["x-next-page-token"];
+	} while (pageToken);
+	return { data: items };
+};
@@ -1,4 +1,4 @@
-import { apiClient } from "./ApiClients";
+import { apiClient, retrieveAllPages } from "./ApiClients";
 
 /**
  * Creates a new team.
@@ -13,7 +13,7 @@ export const createTeam = (teamDto) => apiClient.post("/teams", teamDto);
  *
  * @returns {Promise} A promise that resolves to the response from the API.
  */
-export const retrieveAllTeams = () => apiClient.get("/teams");
+export const retrieveAllTeams = () => retrieveAllPages("/teams");
 
 /**
  * Retrieves a specific team by ID.
@@ -112,7 +112,7 @@ export const createUser = (userRegistrationDto) =>
  *
  * @returns {Promise} A promise that resolves to the response from the API.
  */
-export const retrieveAllUsers = () => apiClient.get("/users");
+export const retrieveAllUsers = () => retrieveAllPages("/users");
 
 /**
  * Retrieves a specific user by ID.
@@ -266,7 +266,11 @@ export default function TeamComponent() {
 					refreshPlan();
 				})
 				.catch((error) => {
-					setErrorMessage("Creation failed");
+					setErrorMessage(
+						error.response?.status === 409
+							? "User is already planned at that time"
+							: "Creation failed"
+					);
 					setCreationFailed(true);
 				});
 		}